@@ -0,0 +1,41 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * main class of benchmarks.jar
+ * takes the usual JMH command line options and always adds the gc profiler,
+ * so every benchmark reports its allocation rate (gc.alloc.rate.norm is bytes per operation) next to its throughput
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        if (commandLineOptions.shouldList()) {
+            new Runner(options).list();
+            return;
+        }
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,106 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLoggerDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.GlobalExceptionHandler;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentAgeNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.ExceptionLoggerMapperImpl;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.ExceptionLoggerJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.IdAllocationJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.service.ExceptionLogWriter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * error responses of GlobalExceptionHandler, from creating the exception to the ResponseEntity
+ * the error logs are submitted to a running ExceptionLogWriter whose JDBC repositories are stubs, so the request thread's
+ * part (mapping and the buffer) is measured while the writer thread drains the buffer, not the database write
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler exceptionHandler;
+
+    private ExceptionLogWriter exceptionLogWriter;
+
+    @Setup
+    public void setUp() {
+        exceptionLogWriter = stubbedWriter();
+        exceptionLogWriter.startWriter();
+
+        exceptionHandler = new GlobalExceptionHandler();
+        Fixtures.inject(exceptionHandler, "exceptionLogWriter", exceptionLogWriter);
+        Fixtures.inject(exceptionHandler, "exceptionLoggerMapper", new ExceptionLoggerMapperImpl());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        exceptionLogWriter.stopWriter();
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionLoggerDTO> studentAgeNotValid() {
+        return exceptionHandler.handleBadRequest(new StudentAgeNotValidException("Student age must be between 18 and 40!"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionLoggerDTO> entityNotFound() {
+        return exceptionHandler.handleException(new EntityNotFoundException("Student with id: 1 can not be found!"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionLoggerDTO> duplicateCourseCode() {
+        SQLException sqlException = new SQLException("Duplicate entry 'CSE1' for key '" + Course.COURSE_CODE_CONSTRAINT + "'", "23000", 1062);
+        ConstraintViolationException violation = new ConstraintViolationException("could not execute statement", sqlException,
+                Course.COURSE_CODE_CONSTRAINT);
+        return exceptionHandler.handleException(new DataIntegrityViolationException("could not execute statement", violation));
+    }
+
+    // default configuration of application.yml, ids are not reserved and batches are not written
+    private static ExceptionLogWriter stubbedWriter() {
+        IdAllocationJdbcRepository idAllocationStub = new IdAllocationJdbcRepository(null) {
+            @Override
+            public long allocate(String table, int count) {
+                return 1;
+            }
+        };
+        ExceptionLoggerJdbcRepository insertStub = new ExceptionLoggerJdbcRepository(null) {
+            @Override
+            public void insertAll(List<ExceptionLogger> exceptionLoggers) {
+            }
+        };
+        TransactionTemplate transactionStub = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+        return new ExceptionLogWriter(idAllocationStub, insertStub, transactionStub, "drop-oldest", 10000, 500, 200, 50, 10, 10000);
+    }
+
+}
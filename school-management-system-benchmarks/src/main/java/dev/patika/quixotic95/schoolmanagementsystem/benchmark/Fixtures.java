@@ -0,0 +1,106 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+
+/**
+ * Fixtures class for:
+ * building the DTOs and entities used by the benchmarks, Courses are full (MAX_STUDENTS_PER_COURSE Students)
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static StudentDTO studentDTO(long id) {
+        return new StudentDTO(id, "Ahmet Emre", "Oğuz", "2 Kiptaş Street", LocalDate.of(1995, 7, 26), Gender.MALE, 24);
+    }
+
+    static Student student(long id) {
+        Student student = new Student();
+        student.setId(id);
+        student.setFirstName("Ahmet Emre");
+        student.setLastName("Oğuz");
+        student.setAddress("2 Kiptaş Street");
+        student.setBirthDate(LocalDate.of(1995, 7, 26));
+        student.setGender(Gender.MALE);
+        student.setTotalCredits(24);
+        return student;
+    }
+
+    static CourseDTO courseDTO(long id) {
+        List<Long> studentIds = new ArrayList<>();
+        for (long studentId = 1; studentId <= MAX_STUDENTS_PER_COURSE; studentId++) {
+            studentIds.add(studentId);
+        }
+        return new CourseDTO(id, "Object Oriented Programming", "CSE" + id, 6, 1, studentIds, MAX_STUDENTS_PER_COURSE);
+    }
+
+    static Course course(long id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseName("Object Oriented Programming");
+        course.setCourseCode("CSE" + id);
+        course.setCreditScore(6);
+        course.setEnrollmentCount(MAX_STUDENTS_PER_COURSE);
+        course.setCourseInstructor(permanentInstructor(1));
+        for (long studentId = 1; studentId <= MAX_STUDENTS_PER_COURSE; studentId++) {
+            course.getCourseStudents().add(student(studentId));
+        }
+        return course;
+    }
+
+    static PermanentInstructorDTO permanentInstructorDTO(long id) {
+        PermanentInstructorDTO instructorDTO = new PermanentInstructorDTO();
+        instructorDTO.setId(id);
+        instructorDTO.setFirstName("Koray");
+        instructorDTO.setLastName("Güney");
+        instructorDTO.setAddress("8 Hazine Street");
+        instructorDTO.setPhoneNumber("5554443322");
+        instructorDTO.setFixedSalary(6000);
+        return instructorDTO;
+    }
+
+    static PermanentInstructor permanentInstructor(long id) {
+        PermanentInstructor instructor = new PermanentInstructor();
+        instructor.setId(id);
+        instructor.setFirstName("Koray");
+        instructor.setLastName("Güney");
+        instructor.setAddress("8 Hazine Street");
+        instructor.setPhoneNumber("5554443322");
+        instructor.setFixedSalary(6000);
+        return instructor;
+    }
+
+    /**
+     * sets a field which Spring would inject, so generated mappers and the exception handler can be used without a context
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException exc) {
+                // declared by a superclass
+            } catch (IllegalAccessException exc) {
+                throw new IllegalStateException(exc);
+            }
+        }
+        throw new IllegalArgumentException("no field " + fieldName + " in " + target.getClass());
+    }
+
+}
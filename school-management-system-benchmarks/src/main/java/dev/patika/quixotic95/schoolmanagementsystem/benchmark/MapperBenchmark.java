@@ -0,0 +1,111 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.CourseMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.CourseMapperImpl;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.InstructorMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.InstructorMapperImpl;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.StudentMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.StudentMapperImpl;
+import dev.patika.quixotic95.schoolmanagementsystem.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generated MapStruct mappers, in both directions and for the in-place updates of the PUT and PATCH endpoints
+ * mappings calling InstructorService (Course from CourseDTO) read the database and are left to the load tests
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private StudentMapper studentMapper;
+    private CourseMapper courseMapper;
+    private InstructorMapper instructorMapper;
+
+    private Student student;
+    private StudentDTO studentDTO;
+    private Course course;
+    private List<Long> courseStudentIds;
+    private PermanentInstructor permanentInstructor;
+    private PermanentInstructorDTO permanentInstructorDTO;
+
+    @Setup
+    public void setUp() {
+        studentMapper = new StudentMapperImpl();
+        courseMapper = new CourseMapperImpl();
+        // findAllCourseStudentIdsByList() only reads the given Students
+        Fixtures.inject(courseMapper, "studentService", new StudentService(null, null, null, null));
+        instructorMapper = new InstructorMapperImpl();
+
+        student = Fixtures.student(1);
+        studentDTO = Fixtures.studentDTO(1);
+        course = Fixtures.course(1);
+        courseStudentIds = Fixtures.courseDTO(1).getStudentIds();
+        permanentInstructor = Fixtures.permanentInstructor(1);
+        permanentInstructorDTO = Fixtures.permanentInstructorDTO(1);
+    }
+
+    @Benchmark
+    public StudentDTO studentToDTO() {
+        return studentMapper.mapFromStudentToStudentDTO(student);
+    }
+
+    @Benchmark
+    public Student studentFromDTO() {
+        return studentMapper.mapFromStudentDTOtoStudent(studentDTO);
+    }
+
+    @Benchmark
+    public Student updateStudentFromDTO() {
+        studentMapper.updateStudentFromStudentDTO(studentDTO, student);
+        return student;
+    }
+
+    @Benchmark
+    public CourseDTO courseToDTO() {
+        return courseMapper.mapFromCourseToCourseDTO(course);
+    }
+
+    @Benchmark
+    public CourseDTO courseToDTOWithStudentIds() {
+        return courseMapper.mapFromCourseToCourseDTO(course, courseStudentIds);
+    }
+
+    @Benchmark
+    public PermanentInstructorDTO permanentInstructorToDTO() {
+        return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(permanentInstructor);
+    }
+
+    @Benchmark
+    public PermanentInstructor permanentInstructorFromDTO() {
+        return instructorMapper.mapFromPermanentInstructorDTOToPermanentInstructor(permanentInstructorDTO);
+    }
+
+    @Benchmark
+    public PermanentInstructor updatePermanentInstructorFromDTO() {
+        instructorMapper.updatePermanentInstructorFromPermanentInstructorDTO(permanentInstructorDTO, permanentInstructor);
+        return permanentInstructor;
+    }
+
+}
@@ -0,0 +1,167 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import dev.patika.quixotic95.schoolmanagementsystem.SchoolManagementSystemApplication;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.CourseMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.StudentMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.service.CourseService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.DatasetGeneratorService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * list and by-id reads of Students and Courses: the DTO projection queries of the services against the entity path they
+ * replaced (load managed entities, then map them with MapStruct)
+ * the entity path is rebuilt here with the queries the services used before, each call runs in its own read-only transaction
+ * <p>
+ * the application runs without web server on an in-memory H2 database with a small generated dataset (full Courses included),
+ * so the numbers contain the JDBC and Hibernate work of each path but no network round trips
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    // default limit of the list endpoints
+    private static final int PAGE_SIZE = 20;
+
+    // 2k Students, 20 Instructors, 100 Courses
+    private static final double DATASET_SCALE = 0.02;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService studentService;
+    private CourseService courseService;
+    private StudentMapper studentMapper;
+    private CourseMapper courseMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    private long studentId;
+    private long courseId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SchoolManagementSystemApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:readpathbenchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.format_sql=false");
+
+        context.getBean(DatasetGeneratorService.class).generate(42, DATASET_SCALE, LocalDate.of(2021, 9, 1));
+
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        studentMapper = context.getBean(StudentMapper.class);
+        courseMapper = context.getBean(CourseMapper.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        studentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM student", Long.class);
+        courseId = jdbcTemplate.queryForObject("SELECT MIN(course_id) FROM student_course", Long.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public KeysetPageDTO<StudentDTO> studentPageProjection() {
+        return studentService.findAllStudents(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentPageFindAllAndMap() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select s from Student s where s.id > :after order by s.id", Student.class)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(studentMapper::mapFromStudentToStudentDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public StudentDTO studentByIdProjection() {
+        return studentService.findStudentById(studentId);
+    }
+
+    @Benchmark
+    public StudentDTO studentByIdFindAndMap() {
+        return readOnlyTransaction.execute(status -> studentMapper.mapFromStudentToStudentDTO(entityManager.find(Student.class, studentId)));
+    }
+
+    @Benchmark
+    public KeysetPageDTO<CourseDTO> coursePageProjection() {
+        return courseService.findAllCourses(0, PAGE_SIZE);
+    }
+
+    // Instructors are fetched with the page, the Students of the page are batch loaded (@BatchSize) by the mapper
+    @Benchmark
+    public List<CourseDTO> coursePageFindAllAndMap() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select c from Course c join fetch c.courseInstructor where c.id > :after order by c.id", Course.class)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(courseMapper::mapFromCourseToCourseDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public CourseDTO courseByIdProjection() {
+        return courseService.findCourseById(courseId);
+    }
+
+    // Course is loaded together with its Instructor and Students in one query
+    @Benchmark
+    public CourseDTO courseByIdFindAndMap() {
+        return readOnlyTransaction.execute(status -> courseMapper.mapFromCourseToCourseDTO(entityManager
+                .createQuery("select distinct c from Course c join fetch c.courseInstructor left join fetch c.courseStudents where c.id = :courseId",
+                        Course.class)
+                .setParameter("courseId", courseId)
+                .getSingleResult()));
+    }
+
+}
@@ -0,0 +1,71 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of DTO lists, as written by the list endpoints
+ * the ObjectMapper is built like Spring's (Jackson2ObjectMapperBuilder), so dates are written as ISO strings
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    // default and maximum page size of the keyset list endpoints
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter studentListWriter;
+    private ObjectWriter courseListWriter;
+
+    private List<StudentDTO> students;
+    private List<CourseDTO> courses;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        studentListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, StudentDTO.class));
+        courseListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, CourseDTO.class));
+
+        students = new ArrayList<>();
+        courses = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            students.add(Fixtures.studentDTO(id));
+            courses.add(Fixtures.courseDTO(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] studentList() throws JsonProcessingException {
+        return studentListWriter.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] courseList() throws JsonProcessingException {
+        return courseListWriter.writeValueAsBytes(courses);
+    }
+
+}
@@ -0,0 +1,99 @@
+package dev.patika.quixotic95.schoolmanagementsystem.benchmark;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentAgeNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.service.SchoolRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * request validation: SchoolRules.checkStudentAge() and Bean Validation of the request DTOs (@Valid)
+ * invalid inputs are measured separately, their cost is in the exception and the message interpolation
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private LocalDate validBirthDate;
+    private LocalDate invalidBirthDate;
+    private StudentDTO validStudentDTO;
+    private StudentDTO invalidStudentDTO;
+    private CourseDTO validCourseDTO;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validBirthDate = LocalDate.now().minusYears(25);
+        invalidBirthDate = LocalDate.now().minusYears(50);
+
+        validStudentDTO = Fixtures.studentDTO(1);
+        invalidStudentDTO = Fixtures.studentDTO(1);
+        invalidStudentDTO.setFirstName("");
+        invalidStudentDTO.setBirthDate(null);
+        validCourseDTO = Fixtures.courseDTO(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public LocalDate checkValidStudentAge() {
+        SchoolRules.checkStudentAge(validBirthDate);
+        return validBirthDate;
+    }
+
+    @Benchmark
+    public StudentAgeNotValidException checkInvalidStudentAge() {
+        try {
+            SchoolRules.checkStudentAge(invalidBirthDate);
+            throw new IllegalStateException("age must not be valid");
+        } catch (StudentAgeNotValidException exc) {
+            return exc;
+        }
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentDTO>> validateValidStudentDTO() {
+        return validator.validate(validStudentDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentDTO>> validateInvalidStudentDTO() {
+        return validator.validate(invalidStudentDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseDTO>> validateValidCourseDTO() {
+        return validator.validate(validCourseDTO);
+    }
+
+}
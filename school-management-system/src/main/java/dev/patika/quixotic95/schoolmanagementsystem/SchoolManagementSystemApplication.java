@@ -2,10 +2,16 @@ package dev.patika.quixotic95.schoolmanagementsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 @SpringBootApplication
 @EnableSwagger2
+@EnableScheduling
+@EnableJpaAuditing
+@EnableCaching
 public class SchoolManagementSystemApplication {
 
     public static void main(String[] args) {
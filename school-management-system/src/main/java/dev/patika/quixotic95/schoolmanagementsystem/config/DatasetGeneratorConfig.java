@@ -0,0 +1,36 @@
+package dev.patika.quixotic95.schoolmanagementsystem.config;
+
+import dev.patika.quixotic95.schoolmanagementsystem.service.DatasetGeneratorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.LocalDate;
+
+/**
+ * generates the synthetic dataset when the application is started with the "datagen" profile (see application-datagen.yml)
+ * java -jar school-management-system-0.0.1-exec.jar --spring.profiles.active=datagen --datagen.scale=2 --datagen.seed=7
+ */
+@Configuration
+@Profile("datagen")
+public class DatasetGeneratorConfig {
+
+    @Bean
+    public CommandLineRunner datasetGeneratorRunner(DatasetGeneratorService datasetGeneratorService,
+                                                    ConfigurableApplicationContext context,
+                                                    @Value("${datagen.seed:42}") long seed,
+                                                    @Value("${datagen.scale:1.0}") double scale,
+                                                    @Value("${datagen.reference-date:}") String referenceDate,
+                                                    @Value("${datagen.exit-when-done:true}") boolean exitWhenDone) {
+        return args -> {
+            datasetGeneratorService.generate(seed, scale, referenceDate.isEmpty() ? LocalDate.now() : LocalDate.parse(referenceDate));
+            if (exitWhenDone) {
+                System.exit(SpringApplication.exit(context));
+            }
+        };
+    }
+}
@@ -1,13 +1,28 @@
 package dev.patika.quixotic95.schoolmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentSummaryDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.service.CourseService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.EnrollmentImportService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.EnrollmentQueueService;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -15,17 +30,30 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final EnrollmentImportService enrollmentImportService;
+    private final EnrollmentQueueService enrollmentQueueService;
 
     // dependency injection with @Autowired annotation (not necessary to write, injects automatically; but placed for better-reading)
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, EnrollmentImportService enrollmentImportService,
+                            EnrollmentQueueService enrollmentQueueService) {
         this.courseService = courseService;
+        this.enrollmentImportService = enrollmentImportService;
+        this.enrollmentQueueService = enrollmentQueueService;
     }
 
-    // expose "/courses" and return list of courses
+    // expose "/courses?after={courseId}&limit={limit}" and return a page of courses ordered by id
     @GetMapping("/courses")
-    public ResponseEntity<?> findAllCourses() {
-        List<CourseDTO> foundCourses = courseService.findAllCourses();
+    public ResponseEntity<?> findAllCourses(@RequestParam(defaultValue = "0") long after,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        KeysetPageDTO<CourseDTO> foundCourses = courseService.findAllCourses(after, limit);
+        return new ResponseEntity<>(foundCourses, HttpStatus.OK);
+    }
+
+    // mapping for GET /courses?ids={id},{id},... to get up to 100 courses by id with one query, unknown ids are listed as missing
+    @GetMapping(value = "/courses", params = "ids")
+    public ResponseEntity<?> findCoursesByIds(@RequestParam List<Long> ids) {
+        MultiGetDTO<CourseDTO> foundCourses = courseService.findCoursesByIds(ids);
         return new ResponseEntity<>(foundCourses, HttpStatus.OK);
     }
 
@@ -36,6 +64,15 @@ public class CourseController {
         return new ResponseEntity<>(foundCourse, HttpStatus.OK);
     }
 
+    // mapping for GET /courses/{courseId}/students?after={studentId}&limit={limit} to get a page of the students of a course
+    @GetMapping("/courses/{courseId}/students")
+    public ResponseEntity<?> findCourseStudents(@PathVariable long courseId,
+                                                @RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        CountedKeysetPageDTO<StudentSummaryDTO> courseStudents = courseService.findCourseStudents(courseId, after, limit);
+        return new ResponseEntity<>(courseStudents, HttpStatus.OK);
+    }
+
     // mapping for POST /courses - add a new course
     @PostMapping("/courses")
     public ResponseEntity<?> saveCourse(@RequestBody @Valid CourseDTO courseDTO) {
@@ -43,6 +80,15 @@ public class CourseController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for POST /courses/enrollments/import - enroll students in bulk from a CSV file (courseCode,studentId)
+    @PostMapping(value = "/courses/enrollments/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importEnrollments(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            ImportReportDTO result = enrollmentImportService.importEnrollments(in);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
+
     // mapping for PUT /courses - update existing course
     @PutMapping("/courses/{courseId}")
     public ResponseEntity<?> updateCourse(@PathVariable long courseId, @RequestBody @Valid CourseDTO courseDTO) {
@@ -50,6 +96,55 @@ public class CourseController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for PATCH /courses/{courseId} - update only the fields of a course given in a JSON merge patch
+    @PatchMapping(value = "/courses/{courseId}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchCourse(@PathVariable long courseId, @RequestBody JsonNode patch) {
+        CourseDTO result = courseService.patchCourse(patch, courseId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for GET /courses/enrollments/tickets/{ticketId} - get the outcome of a queued enrollment (surge mode)
+    @GetMapping("/courses/enrollments/tickets/{ticketId}")
+    public ResponseEntity<?> findEnrollmentTicketById(@PathVariable String ticketId) {
+        EnrollmentTicketDTO result = enrollmentQueueService.findTicketById(ticketId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for POST /courses/{courseId}/students/{studentId} - enroll a student to a course
+    // in surge mode the request is queued and 202 is returned with a ticket to poll the outcome
+    @PostMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<?> enrollStudent(@PathVariable long courseId, @PathVariable long studentId) {
+        if (enrollmentQueueService.isSurgeMode()) {
+            EnrollmentTicketDTO ticket = enrollmentQueueService.submit(courseId, studentId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/courses/enrollments/tickets/" + ticket.getTicketId()))
+                    .body(ticket);
+        }
+        CourseDTO result = courseService.enrollStudent(courseId, studentId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for POST /courses/{courseId}/students - enroll a list of students to a course
+    @PostMapping("/courses/{courseId}/students")
+    public ResponseEntity<?> enrollStudents(@PathVariable long courseId, @RequestBody List<Long> studentIds) {
+        CourseDTO result = courseService.enrollStudents(courseId, studentIds);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for DELETE /courses/{courseId}/students/{studentId} - remove a student from a course
+    @DeleteMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<?> unenrollStudent(@PathVariable long courseId, @PathVariable long studentId) {
+        CourseDTO result = courseService.unenrollStudent(courseId, studentId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for DELETE /courses/{courseId}/students - remove a list of students from a course
+    @DeleteMapping("/courses/{courseId}/students")
+    public ResponseEntity<?> unenrollStudents(@PathVariable long courseId, @RequestBody List<Long> studentIds) {
+        CourseDTO result = courseService.unenrollStudents(courseId, studentIds);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // mapping for DELETE /courses - delete course
     @DeleteMapping("/courses")
     public ResponseEntity<?> deleteCourse(@RequestBody @Valid CourseDTO courseDTO) {
@@ -1,6 +1,8 @@
 package dev.patika.quixotic95.schoolmanagementsystem.controller;
 
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLogWriterStatsDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLoggerDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.service.ExceptionLogWriter;
 import dev.patika.quixotic95.schoolmanagementsystem.service.ExceptionLoggerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -19,10 +21,12 @@ import java.util.List;
 public class ExceptionLoggerController {
 
     private final ExceptionLoggerService exceptionLoggerService;
+    private final ExceptionLogWriter exceptionLogWriter;
 
     @Autowired
-    public ExceptionLoggerController(ExceptionLoggerService exceptionLoggerService) {
+    public ExceptionLoggerController(ExceptionLoggerService exceptionLoggerService, ExceptionLogWriter exceptionLogWriter) {
         this.exceptionLoggerService = exceptionLoggerService;
+        this.exceptionLogWriter = exceptionLogWriter;
     }
 
     @GetMapping("/exceptionLogs")
@@ -31,4 +35,11 @@ public class ExceptionLoggerController {
         List<ExceptionLoggerDTO> result = exceptionLoggerService.findByTypeAndOrDate(type, date);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
+
+    // mapping for GET /exceptionLogs/writerStats - buffered, flushed and dropped exception logs of the background writer
+    @GetMapping("/exceptionLogs/writerStats")
+    public ResponseEntity<?> getExceptionLogWriterStats() {
+        ExceptionLogWriterStatsDTO result = exceptionLogWriter.getStats();
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
 }
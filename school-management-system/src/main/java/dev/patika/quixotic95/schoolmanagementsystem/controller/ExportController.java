@@ -0,0 +1,51 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import dev.patika.quixotic95.schoolmanagementsystem.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // mapping for GET /export/students?after={studentId} - stream all students after given id, one JSON per line
+    @GetMapping(value = "/students", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "0") long after) {
+        return new ResponseEntity<>(out -> exportService.exportStudents(after, out), ndjsonHeaders(), HttpStatus.OK);
+    }
+
+    // mapping for GET /export/courses?after={courseId} - stream all courses after given id, one JSON per line
+    @GetMapping(value = "/courses", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(defaultValue = "0") long after) {
+        return new ResponseEntity<>(out -> exportService.exportCourses(after, out), ndjsonHeaders(), HttpStatus.OK);
+    }
+
+    // mapping for GET /export/instructors?after={instructorId} - stream all instructors after given id, one JSON per line
+    @GetMapping(value = "/instructors", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportInstructors(@RequestParam(defaultValue = "0") long after) {
+        return new ResponseEntity<>(out -> exportService.exportInstructors(after, out), ndjsonHeaders(), HttpStatus.OK);
+    }
+
+    private HttpHeaders ndjsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(NDJSON));
+        return headers;
+    }
+}
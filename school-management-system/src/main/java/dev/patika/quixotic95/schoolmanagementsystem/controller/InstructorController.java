@@ -1,11 +1,18 @@
 package dev.patika.quixotic95.schoolmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.service.InstructorService;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,10 +31,48 @@ public class InstructorController {
         this.instructorService = instructorService;
     }
 
-    // expose "/instructors" and return list of instructors
+    // expose "/instructors?after={instructorId}&limit={limit}" and return a page of instructors ordered by id
     @GetMapping("/instructors")
-    public ResponseEntity<?> findAllInstructors() {
-        List<InstructorDTO> result = instructorService.findAllInstructors();
+    public ResponseEntity<?> findAllInstructors(@RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        KeysetPageDTO<InstructorDTO> result = instructorService.findAllInstructors(after, limit);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for GET /instructors?ids={id},{id},... to get up to 100 instructors of both types by id, unknown ids are listed as missing
+    @GetMapping(value = "/instructors", params = "ids")
+    public ResponseEntity<?> findInstructorsByIds(@RequestParam List<Long> ids) {
+        MultiGetDTO<InstructorDTO> result = instructorService.findInstructorsByIds(ids);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // expose "/instructors/permanent?after={instructorId}&limit={limit}" and return a page of permanent instructors ordered by id
+    @GetMapping("/instructors/permanent")
+    public ResponseEntity<?> findAllPermanentInstructors(@RequestParam(defaultValue = "0") long after,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        KeysetPageDTO<PermanentInstructorDTO> result = instructorService.findAllPermanentInstructors(after, limit);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for GET /instructors/permanent/{instructorId} to get a permanent instructor by id
+    @GetMapping("/instructors/permanent/{instructorId}")
+    public ResponseEntity<?> findPermanentInstructorById(@PathVariable long instructorId) {
+        PermanentInstructorDTO result = instructorService.findPermanentInstructorById(instructorId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // expose "/instructors/visiting?after={instructorId}&limit={limit}" and return a page of visiting researchers ordered by id
+    @GetMapping("/instructors/visiting")
+    public ResponseEntity<?> findAllVisitingResearchers(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        KeysetPageDTO<VisitingResearcherDTO> result = instructorService.findAllVisitingResearchers(after, limit);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // mapping for GET /instructors/visiting/{instructorId} to get a visiting researcher by id
+    @GetMapping("/instructors/visiting/{instructorId}")
+    public ResponseEntity<?> findVisitingResearcherById(@PathVariable long instructorId) {
+        VisitingResearcherDTO result = instructorService.findVisitingResearcherById(instructorId);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
@@ -38,6 +83,15 @@ public class InstructorController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for GET /instructors/{instructorId}/courses?after={courseId}&limit={limit} to get a page of the courses of an instructor
+    @GetMapping("/instructors/{instructorId}/courses")
+    public ResponseEntity<?> findInstructorCourses(@PathVariable long instructorId,
+                                                   @RequestParam(defaultValue = "0") long after,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+        CountedKeysetPageDTO<CourseSummaryDTO> result = instructorService.findInstructorCourses(instructorId, after, limit);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // mapping for POST /instructors/permanentInstructor - add new permanent instructor
     @PostMapping("/instructors/permanentInstructor")
     public ResponseEntity<?> savePermanentInstructor(@RequestBody @Valid PermanentInstructorDTO permanentInstructorDTO) {
@@ -66,6 +120,13 @@ public class InstructorController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for PATCH /instructors/{instructorId} - update only the fields of an instructor given in a JSON merge patch
+    @PatchMapping(value = "/instructors/{instructorId}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchInstructor(@PathVariable long instructorId, @RequestBody JsonNode patch) {
+        InstructorDTO result = instructorService.patchInstructor(patch, instructorId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // mapping for DELETE /instructors - delete instructor
     @DeleteMapping("/instructors/permanentInstructor")
     public ResponseEntity<?> deletePermanentInstructor(@RequestBody @Valid PermanentInstructorDTO permanentInstructorDTO) {
@@ -0,0 +1,58 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseAgeGroupReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseEnrollmentReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseGenderReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorCourseReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentCreditReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @Autowired
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    // mapping for GET /reports/course-enrollments - number of students of every course
+    @GetMapping("/course-enrollments")
+    public ResponseEntity<List<CourseEnrollmentReportDTO>> findCourseEnrollments() {
+        return new ResponseEntity<>(reportService.findCourseEnrollments(), HttpStatus.OK);
+    }
+
+    // mapping for GET /reports/student-credits - number of courses and total credits of every student
+    @GetMapping("/student-credits")
+    public ResponseEntity<List<StudentCreditReportDTO>> findStudentCredits() {
+        return new ResponseEntity<>(reportService.findStudentCredits(), HttpStatus.OK);
+    }
+
+    // mapping for GET /reports/instructor-courses - number of courses and total credits of every instructor
+    @GetMapping("/instructor-courses")
+    public ResponseEntity<List<InstructorCourseReportDTO>> findInstructorCourses() {
+        return new ResponseEntity<>(reportService.findInstructorCourses(), HttpStatus.OK);
+    }
+
+    // mapping for GET /reports/course-genders - gender distribution of the students of every course
+    @GetMapping("/course-genders")
+    public ResponseEntity<List<CourseGenderReportDTO>> findCourseGenders() {
+        return new ResponseEntity<>(reportService.findCourseGenders(), HttpStatus.OK);
+    }
+
+    // mapping for GET /reports/course-age-groups - age distribution of the students of every course
+    @GetMapping("/course-age-groups")
+    public ResponseEntity<List<CourseAgeGroupReportDTO>> findCourseAgeGroups() {
+        return new ResponseEntity<>(reportService.findCourseAgeGroups(), HttpStatus.OK);
+    }
+}
@@ -1,30 +1,48 @@
 package dev.patika.quixotic95.schoolmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.service.StudentImportService;
 import dev.patika.quixotic95.schoolmanagementsystem.service.StudentService;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
 
     // dependency injection with @Autowired annotation (not necessary to write, injects automatically; but placed for better-reading)
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentImportService studentImportService) {
         this.studentService = studentService;
+        this.studentImportService = studentImportService;
     }
 
-    // expose "/students" and return list of students
+    // expose "/students?after={studentId}&limit={limit}" and return a page of students ordered by id
     @GetMapping("/students")
-    public ResponseEntity<?> findAllStudents() {
-        return new ResponseEntity<>(studentService.findAllStudents(), HttpStatus.OK);
+    public ResponseEntity<?> findAllStudents(@RequestParam(defaultValue = "0") long after,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(studentService.findAllStudents(after, limit), HttpStatus.OK);
+    }
+
+    // mapping for GET /students?ids={id},{id},... to get up to 100 students by id with one query, unknown ids are listed as missing
+    @GetMapping(value = "/students", params = "ids")
+    public ResponseEntity<?> findStudentsByIds(@RequestParam List<Long> ids) {
+        return new ResponseEntity<>(studentService.findStudentsByIds(ids), HttpStatus.OK);
     }
 
     // mapping for GET /students/{studentId} to get a student by id
@@ -33,6 +51,14 @@ public class StudentController {
         return new ResponseEntity<>(studentService.findStudentById(studentId), HttpStatus.OK);
     }
 
+    // mapping for GET /students/{studentId}/courses?after={courseId}&limit={limit} to get a page of the courses of a student
+    @GetMapping("/students/{studentId}/courses")
+    public ResponseEntity<?> findStudentCourses(@PathVariable long studentId,
+                                                @RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(studentService.findStudentCourses(studentId, after, limit), HttpStatus.OK);
+    }
+
     // mapping for POST /students - add a new student
     @PostMapping("/students")
     public ResponseEntity<?> saveStudent(@RequestBody @Valid StudentDTO studentDTO) {
@@ -40,6 +66,15 @@ public class StudentController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for POST /students/import - add students in bulk from a CSV file (firstName,lastName,address,birthDate,gender)
+    @PostMapping(value = "/students/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStudents(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            ImportReportDTO result = studentImportService.importStudents(in);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
+
     // mapping for PUT /students/{studentId} - update an existing student
     @PutMapping("/students/{studentId}")
     public ResponseEntity<?> updateStudent(@PathVariable long studentId, @RequestBody @Valid StudentDTO studentDTO) {
@@ -47,6 +82,13 @@ public class StudentController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // mapping for PATCH /students/{studentId} - update only the fields of a student given in a JSON merge patch
+    @PatchMapping(value = "/students/{studentId}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchStudent(@PathVariable long studentId, @RequestBody JsonNode patch) {
+        StudentDTO result = studentService.patchStudent(patch, studentId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // mapping for DELETE /students - delete student
     @DeleteMapping("/students")
     public ResponseEntity<?> deleteStudent(@RequestBody @Valid StudentDTO studentDTO) {
@@ -0,0 +1,22 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CountedKeysetPageDTO<T> {
+
+    private List<T> content;
+
+    // id of the last element on this page, to be sent back as "after" for the next page. null on the last page
+    private Long nextCursor;
+
+    // number of elements on all pages
+    private long totalCount;
+
+}
@@ -0,0 +1,19 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseAgeGroupReportDTO {
+
+    private long courseId;
+
+    // age range of the Students, e.g. "21-25"
+    private String ageGroup;
+
+    private long studentCount;
+
+}
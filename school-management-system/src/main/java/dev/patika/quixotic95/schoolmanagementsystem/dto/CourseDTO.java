@@ -8,6 +8,7 @@ import org.springframework.format.annotation.NumberFormat;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -39,4 +40,12 @@ public class CourseDTO {
     @ApiModelProperty(example = "[2, 9, 12]")
     private List<Long> studentIds;
 
+    @ApiModelProperty(readOnly = true)
+    private int enrollmentCount;
+
+    // used by projection queries, studentIds are filled afterwards
+    public CourseDTO(long id, String courseName, String courseCode, double creditScore, long instructorId, int enrollmentCount) {
+        this(id, courseName, courseCode, creditScore, instructorId, new ArrayList<>(), enrollmentCount);
+    }
+
 }
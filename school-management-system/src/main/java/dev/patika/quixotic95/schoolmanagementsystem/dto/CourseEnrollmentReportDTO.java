@@ -0,0 +1,21 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseEnrollmentReportDTO {
+
+    private long courseId;
+
+    private String courseCode;
+
+    private String courseName;
+
+    // counted from student_course, not read from the enrollment_count column
+    private long studentCount;
+
+}
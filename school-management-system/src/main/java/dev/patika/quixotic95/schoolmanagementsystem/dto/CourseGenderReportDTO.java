@@ -0,0 +1,19 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseGenderReportDTO {
+
+    private long courseId;
+
+    private Gender gender;
+
+    private long studentCount;
+
+}
@@ -0,0 +1,20 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseSummaryDTO {
+
+    private long id;
+
+    private String courseCode;
+
+    private String courseName;
+
+    private double creditScore;
+
+}
@@ -0,0 +1,28 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class DatasetReportDTO {
+
+    private long seed;
+
+    private double scale;
+
+    private long students;
+
+    private long permanentInstructors;
+
+    private long visitingResearchers;
+
+    private long courses;
+
+    private long enrollments;
+
+    private long exceptionLogs;
+
+    private long elapsedMillis;
+
+}
@@ -0,0 +1,26 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * outcome of a queued enrollment request (surge mode)
+ * status is PENDING until a worker applies the request, then ENROLLED or REJECTED with the reason in message
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentTicketDTO {
+
+    private String ticketId;
+    private long courseId;
+    private long studentId;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        PENDING, ENROLLED, REJECTED
+    }
+
+}
@@ -0,0 +1,28 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExceptionLogWriterStatsDTO {
+
+    private String overflowPolicy;
+
+    private int capacity;
+
+    // events waiting in the buffer
+    private int buffered;
+
+    // counters since application start: every submitted event is eventually flushed, dropped or failed
+    private long submitted;
+
+    private long flushed;
+
+    private long dropped;
+
+    private long failed;
+
+}
@@ -0,0 +1,31 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    // only the first MAX_REPORTED_ERRORS errors are listed, failedRows keeps the full count
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+    public void addError(long line, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportRowErrorDTO(line, message));
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InstructorCourseReportDTO {
+
+    private long instructorId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private long courseCount;
+
+    private double totalCredits;
+
+}
@@ -0,0 +1,20 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiGetDTO<T> {
+
+    // found elements in the order of the requested ids (a repeated id is returned once)
+    private List<T> content;
+
+    // requested ids without an element, in request order
+    private List<Long> missingIds;
+
+}
@@ -21,4 +21,10 @@ public class PermanentInstructorDTO extends InstructorDTO {
     @NotNull
     private double fixedSalary;
 
+    // used by projection queries
+    public PermanentInstructorDTO(long id, String firstName, String lastName, String address, String phoneNumber, double fixedSalary) {
+        super(id, firstName, lastName, address, phoneNumber);
+        this.fixedSalary = fixedSalary;
+    }
+
 }
@@ -0,0 +1,23 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentCreditReportDTO {
+
+    private long studentId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private long courseCount;
+
+    // summed from the Student's Courses, not read from the total_credits column
+    private double totalCredits;
+
+}
@@ -40,4 +40,7 @@ public class StudentDTO {
     @NotNull(message = "gender must be specified!")
     private Gender gender;
 
+    @ApiModelProperty(readOnly = true)
+    private double totalCredits;
+
 }
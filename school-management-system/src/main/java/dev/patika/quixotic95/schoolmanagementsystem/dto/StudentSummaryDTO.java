@@ -0,0 +1,18 @@
+package dev.patika.quixotic95.schoolmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSummaryDTO {
+
+    private long id;
+
+    private String firstName;
+
+    private String lastName;
+
+}
@@ -21,4 +21,10 @@ public class VisitingResearcherDTO extends InstructorDTO {
     @NotNull
     private double hourlySalary;
 
+    // used by projection queries
+    public VisitingResearcherDTO(long id, String firstName, String lastName, String address, String phoneNumber, double hourlySalary) {
+        super(id, firstName, lastName, address, phoneNumber);
+        this.hourlySalary = hourlySalary;
+    }
+
 }
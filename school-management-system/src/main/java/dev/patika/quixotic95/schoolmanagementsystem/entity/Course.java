@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -15,24 +18,37 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
+@Table(uniqueConstraints = @UniqueConstraint(name = Course.COURSE_CODE_CONSTRAINT, columnNames = "course_code"))
 public class Course extends GenericEntity {
 
+    public static final String COURSE_CODE_CONSTRAINT = "uk_course_course_code";
+
     private String courseName;
     @EqualsAndHashCode.Include
+    @Column(name = "course_code")
     private String courseCode;
     private double creditScore;
 
-    @ManyToOne
+    // number of Students, maintained with SQL whenever enrollments change (never written by entity updates)
+    @Column(name = "enrollment_count", nullable = false, updatable = false)
+    private int enrollmentCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonBackReference
+    @ToString.Exclude
     @JoinColumn(name = "instructor_id")
     private Instructor courseInstructor;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // students of several loaded courses are initialized with one IN (...) query instead of one query per course
+    @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "student_course",
             joinColumns = {@JoinColumn(name = "course_id")},
             inverseJoinColumns = {@JoinColumn(name = "student_id")}
     )
+    @ToString.Exclude
     private Set<Student> courseStudents = new HashSet<>();
 
 }
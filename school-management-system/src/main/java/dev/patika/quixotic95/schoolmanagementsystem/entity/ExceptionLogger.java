@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 public class ExceptionLogger {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdAllocation.GENERATOR)
     private long id;
 
     private LocalDateTime timestamp;
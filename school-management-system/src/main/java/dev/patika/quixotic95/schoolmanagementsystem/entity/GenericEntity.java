@@ -15,7 +15,7 @@ import java.time.Instant;
 public abstract class GenericEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdAllocation.GENERATOR)
     private long id;
 
     @CreatedDate
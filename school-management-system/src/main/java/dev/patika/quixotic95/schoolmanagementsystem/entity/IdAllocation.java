@@ -0,0 +1,20 @@
+package dev.patika.quixotic95.schoolmanagementsystem.entity;
+
+/**
+ * id generation of the entities (generator defined in package-info.java)
+ * every entity table has a row in the id_allocation table with the last id handed out for it,
+ * Hibernate reserves ALLOCATION_SIZE ids with one update of that row and hands them out from memory (pooled-lo),
+ * so inserts can be sent as JDBC batches and every application node uses its own ranges
+ * rows inserted with plain JDBC reserve their ids from the same rows (see IdAllocationJdbcRepository)
+ */
+public final class IdAllocation {
+
+    public static final String GENERATOR = "pooled_lo_ids";
+    public static final String TABLE = "id_allocation";
+    public static final String SEGMENT_COLUMN = "entity_table";
+    public static final String VALUE_COLUMN = "last_id";
+    public static final String ALLOCATION_SIZE = "50";
+
+    private IdAllocation() {
+    }
+}
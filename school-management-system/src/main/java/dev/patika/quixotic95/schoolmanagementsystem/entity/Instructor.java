@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -15,12 +16,18 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
+@Table(uniqueConstraints = @UniqueConstraint(name = Instructor.PHONE_NUMBER_CONSTRAINT, columnNames = "phone_number"))
 @Inheritance(strategy = InheritanceType.JOINED)
 public class Instructor extends Person {
 
+    public static final String PHONE_NUMBER_CONSTRAINT = "uk_instructor_phone_number";
+
+    @Column(name = "phone_number")
     private String phoneNumber;
 
-    @OneToMany(mappedBy = "courseInstructor", cascade = CascadeType.ALL)
+    // not cascaded, Courses of a deleted Instructor are removed with set-based statements (see InstructorService)
+    @OneToMany(mappedBy = "courseInstructor")
     @JsonManagedReference
     @EqualsAndHashCode.Exclude
     private Set<Course> instructorCourses = new HashSet<>();
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -17,6 +19,7 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
 public class Student extends Person {
 
     private LocalDate birthDate;
@@ -24,13 +27,18 @@ public class Student extends Person {
     @Enumerated(EnumType.STRING)
     private Gender gender;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // sum of the creditScores of the Student's Courses, maintained with SQL like Course.enrollmentCount
+    @Column(name = "total_credits", nullable = false, updatable = false)
+    private double totalCredits;
+
+    @ManyToMany
     @JoinTable(
             name = "student_course",
             joinColumns = {@JoinColumn(name = "student_id")},
             inverseJoinColumns = {@JoinColumn(name = "course_id")}
     )
     @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Course> studentCourses = new HashSet<>();
 
 }
@@ -0,0 +1,16 @@
+/**
+ * ids of all entities are generated from the id_allocation table, see IdAllocation
+ */
+@GenericGenerator(name = IdAllocation.GENERATOR, strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = TableGenerator.TABLE_PARAM, value = IdAllocation.TABLE),
+        @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = IdAllocation.SEGMENT_COLUMN),
+        @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = IdAllocation.VALUE_COLUMN),
+        @Parameter(name = TableGenerator.CONFIG_PREFER_SEGMENT_PER_ENTITY, value = "true"),
+        @Parameter(name = TableGenerator.INCREMENT_PARAM, value = IdAllocation.ALLOCATION_SIZE),
+        @Parameter(name = TableGenerator.OPT_PARAM, value = "pooled-lo")
+})
+package dev.patika.quixotic95.schoolmanagementsystem.entity;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class EnrollmentQueueFullException extends RuntimeException {
+
+    public EnrollmentQueueFullException(String message) {
+        super(message);
+    }
+
+}
@@ -1,70 +1,93 @@
 package dev.patika.quixotic95.schoolmanagementsystem.exception;
 
 import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLoggerDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
 import dev.patika.quixotic95.schoolmanagementsystem.mapper.ExceptionLoggerMapper;
-import dev.patika.quixotic95.schoolmanagementsystem.repository.ExceptionLoggerRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.service.ExceptionLogWriter;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.Locale;
 
+// error logs are handed to ExceptionLogWriter and written in batches off the request thread
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     @Autowired
-    private ExceptionLoggerRepository exceptionLoggerRepository;
+    private ExceptionLogWriter exceptionLogWriter;
 
     @Autowired
     private ExceptionLoggerMapper exceptionLoggerMapper;
 
-    @ExceptionHandler({CourseIsAlreadyExistException.class})
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<ExceptionLoggerDTO> handleException(CourseIsAlreadyExistException exc) {
-        ExceptionLogger exception = new ExceptionLogger(exc.getMessage(), HttpStatus.BAD_REQUEST);
-        exceptionLoggerRepository.save(exception);
-        ExceptionLoggerDTO response = exceptionLoggerMapper.toDto(exception);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler({CourseIsAlreadyExistException.class, InstructorIsAlreadyExistException.class, StudentAgeNotValidException.class,
+            StudentNumberForOneCourseExceededException.class, StudentIsAlreadyEnrolledException.class, StudentIdsNotValidException.class,
+            ImportFileNotValidException.class, PatchNotValidException.class, TooManyIdsRequestedException.class})
+    public ResponseEntity<ExceptionLoggerDTO> handleBadRequest(RuntimeException exc) {
+        return respond(exc.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler({InstructorIsAlreadyExistException.class})
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<ExceptionLoggerDTO> handleException(InstructorIsAlreadyExistException exc) {
-        ExceptionLogger exception = new ExceptionLogger(exc.getMessage(), HttpStatus.BAD_REQUEST);
-        exceptionLoggerRepository.save(exception);
-        ExceptionLoggerDTO response = exceptionLoggerMapper.toDto(exception);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler({EnrollmentQueueFullException.class})
+    public ResponseEntity<ExceptionLoggerDTO> handleException(EnrollmentQueueFullException exc) {
+        return respond(exc.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
     }
 
-    @ExceptionHandler({StudentAgeNotValidException.class})
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<ExceptionLoggerDTO> handleException(StudentAgeNotValidException exc) {
-        ExceptionLogger exception = new ExceptionLogger(exc.getMessage(), HttpStatus.BAD_REQUEST);
-        exceptionLoggerRepository.save(exception);
-        ExceptionLoggerDTO response = exceptionLoggerMapper.toDto(exception);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler({EntityNotFoundException.class})
+    public ResponseEntity<ExceptionLoggerDTO> handleException(EntityNotFoundException exc) {
+        return respond(exc.getMessage(), HttpStatus.NOT_FOUND);
     }
 
-    @ExceptionHandler({StudentNumberForOneCourseExceededException.class})
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<ExceptionLoggerDTO> handleException(StudentNumberForOneCourseExceededException exc) {
-        ExceptionLogger exception = new ExceptionLogger(exc.getMessage(), HttpStatus.BAD_REQUEST);
-        exceptionLoggerRepository.save(exception);
-        ExceptionLoggerDTO response = exceptionLoggerMapper.toDto(exception);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    // unique constraints of course_code and phone_number are reported as the exceptions the old existence checks threw
+    @ExceptionHandler({DataIntegrityViolationException.class})
+    public ResponseEntity<ExceptionLoggerDTO> handleException(DataIntegrityViolationException exc) {
+        String constraintName = violatedConstraintName(exc);
+        if (constraintName.contains(Course.COURSE_CODE_CONSTRAINT)) {
+            return respond("A course with this course code already exists!", HttpStatus.BAD_REQUEST);
+        }
+        if (constraintName.contains(Instructor.PHONE_NUMBER_CONSTRAINT)) {
+            return respond("An instructor with this phone number already exists!", HttpStatus.BAD_REQUEST);
+        }
+        return respond("Request conflicts with existing data!", HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler({EntityNotFoundException.class})
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ResponseEntity<ExceptionLoggerDTO> handleException(EntityNotFoundException exc) {
-        ExceptionLogger exception = new ExceptionLogger(exc.getMessage(), HttpStatus.NOT_FOUND);
-        exceptionLoggerRepository.save(exception);
+    /**
+     * helper method for building the error response and logging it
+     * the response is mapped before the ExceptionLogger is submitted, because the writer sets its id
+     *
+     * @param message - message of the error
+     * @param status  - status of the response
+     * @return ResponseEntity<ExceptionLoggerDTO> - logged error with given status
+     */
+    private ResponseEntity<ExceptionLoggerDTO> respond(String message, HttpStatus status) {
+        ExceptionLogger exception = new ExceptionLogger(message, status);
         ExceptionLoggerDTO response = exceptionLoggerMapper.toDto(exception);
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        exceptionLogWriter.submit(exception);
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * helper method for finding the name of the violated constraint of a DataIntegrityViolationException
+     * uses the name Hibernate extracted, falls back to the database message (drivers differ in what they report)
+     *
+     * @param exc - DataIntegrityViolationException thrown by a repository or on commit
+     * @return String - lower case constraint name or message, empty if neither is known
+     */
+    private static String violatedConstraintName(DataIntegrityViolationException exc) {
+        String constraintName = null;
+        if (exc.getCause() instanceof ConstraintViolationException) {
+            constraintName = ((ConstraintViolationException) exc.getCause()).getConstraintName();
+        }
+        if (constraintName == null) {
+            constraintName = exc.getMostSpecificCause().getMessage();
+        }
+        return constraintName == null ? "" : constraintName.toLowerCase(Locale.ROOT);
     }
 
 }
@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class ImportFileNotValidException extends RuntimeException {
+
+    public ImportFileNotValidException(String message) {
+        super(message);
+    }
+
+}
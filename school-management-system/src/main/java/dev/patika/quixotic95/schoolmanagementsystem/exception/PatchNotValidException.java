@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class PatchNotValidException extends RuntimeException {
+
+    public PatchNotValidException(String message) {
+        super(message);
+    }
+
+}
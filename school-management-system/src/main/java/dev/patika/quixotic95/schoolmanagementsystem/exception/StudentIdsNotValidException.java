@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class StudentIdsNotValidException extends RuntimeException {
+
+    public StudentIdsNotValidException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class StudentIsAlreadyEnrolledException extends RuntimeException {
+
+    public StudentIsAlreadyEnrolledException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package dev.patika.quixotic95.schoolmanagementsystem.exception;
+
+public class TooManyIdsRequestedException extends RuntimeException {
+
+    public TooManyIdsRequestedException(String message) {
+        super(message);
+    }
+
+}
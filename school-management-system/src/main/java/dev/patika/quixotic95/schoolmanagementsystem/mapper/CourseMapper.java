@@ -6,8 +6,11 @@ import dev.patika.quixotic95.schoolmanagementsystem.service.InstructorService;
 import dev.patika.quixotic95.schoolmanagementsystem.service.StudentService;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public abstract class CourseMapper {
 
@@ -18,11 +21,27 @@ public abstract class CourseMapper {
     StudentService studentService;
 
     @Mapping(target = "courseInstructor", expression = "java((instructorService.getCourseInstructorById(courseDTO.getInstructorId())))")
-    @Mapping(target = "courseStudents",expression = "java(studentService.findAllCourseStudentsById(courseDTO.getStudentIds()))")
+    @Mapping(target = "courseStudents", ignore = true)
+    @Mapping(target = "enrollmentCount", ignore = true)
     public abstract Course mapFromCourseDTOtoCourse(CourseDTO courseDTO);
 
+    // updates a managed Course in place, Students are written separately as student_course rows
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "courseInstructor", expression = "java((instructorService.getCourseInstructorById(courseDTO.getInstructorId())))")
+    @Mapping(target = "courseStudents", ignore = true)
+    @Mapping(target = "enrollmentCount", ignore = true)
+    public abstract void updateCourseFromCourseDTO(CourseDTO courseDTO, @MappingTarget Course course);
+
     @Mapping(target = "instructorId", expression = "java(course.getCourseInstructor().getId())")
     @Mapping(target = "studentIds", expression = "java(studentService.findAllCourseStudentIdsByList(course.getCourseStudents()))")
     public abstract CourseDTO mapFromCourseToCourseDTO(Course course);
 
+    // used after writes, so the Course's Students are not loaded just to return their ids
+    @Mapping(target = "instructorId", expression = "java(course.getCourseInstructor().getId())")
+    @Mapping(target = "studentIds", source = "studentIds")
+    @Mapping(target = "enrollmentCount", expression = "java(studentIds.size())")
+    public abstract CourseDTO mapFromCourseToCourseDTO(Course course, List<Long> studentIds);
+
 }
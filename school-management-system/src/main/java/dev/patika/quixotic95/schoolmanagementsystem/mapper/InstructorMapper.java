@@ -7,6 +7,8 @@ import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public abstract class InstructorMapper {
@@ -23,4 +25,19 @@ public abstract class InstructorMapper {
 
     public abstract PermanentInstructorDTO mapFromPermanentInstructorToPermanentInstructorDTO(PermanentInstructor permanentInstructor);
 
+    // update managed Instructors in place
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "instructorCourses", ignore = true)
+    public abstract void updatePermanentInstructorFromPermanentInstructorDTO(PermanentInstructorDTO permanentInstructorDTO,
+                                                                             @MappingTarget PermanentInstructor permanentInstructor);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "instructorCourses", ignore = true)
+    public abstract void updateVisitingResearcherFromVisitingResearcherDTO(VisitingResearcherDTO visitingResearcherDTO,
+                                                                           @MappingTarget VisitingResearcher visitingResearcher);
+
 }
@@ -3,12 +3,23 @@ package dev.patika.quixotic95.schoolmanagementsystem.mapper;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public abstract class StudentMapper {
 
     public abstract StudentDTO mapFromStudentToStudentDTO(Student student);
 
+    @Mapping(target = "totalCredits", ignore = true)
     public abstract Student mapFromStudentDTOtoStudent(StudentDTO studentDTO);
 
+    // updates a managed Student in place
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "studentCourses", ignore = true)
+    @Mapping(target = "totalCredits", ignore = true)
+    public abstract void updateStudentFromStudentDTO(StudentDTO studentDTO, @MappingTarget Student student);
+
 }
@@ -1,15 +1,177 @@
 package dev.patika.quixotic95.schoolmanagementsystem.repository;
 
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseEnrollmentReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseGenderReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentSummaryDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseAgeGroupView;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseCodeIdView;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentIdView;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentRowView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.repository.ExportFetchSize.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
-    Optional<Course> findCourseByCourseCode(String courseCode);
-    Optional<Course> findCourseByCourseCodeAndIdIsNot(String courseCode, long courseId);
+    @Query("select c.id from Course c where c.courseCode = :courseCode")
+    Optional<Long> findCourseIdByCourseCode(@Param("courseCode") String courseCode);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO(c.id, c.courseName, c.courseCode, c.creditScore, c.courseInstructor.id, c.enrollmentCount) " +
+            "from Course c where c.id > :after order by c.id")
+    List<CourseDTO> findCourseDTOsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO(c.id, c.courseName, c.courseCode, c.creditScore, c.courseInstructor.id, c.enrollmentCount) " +
+            "from Course c where c.id = :courseId")
+    Optional<CourseDTO> findCourseDTOById(@Param("courseId") long courseId);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO(c.id, c.courseName, c.courseCode, c.creditScore, c.courseInstructor.id, c.enrollmentCount) " +
+            "from Course c where c.id in :courseIds")
+    List<CourseDTO> findCourseDTOsByIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentIdView(c.id, s.id) " +
+            "from Course c join c.courseStudents s " +
+            "where c.id in :courseIds order by c.id, s.id")
+    List<CourseStudentIdView> findCourseStudentIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select count(s) from Course c join c.courseStudents s where c.id = :courseId")
+    long countCourseStudents(@Param("courseId") long courseId);
+
+    // sub-resource pages: read from student_course (and the course table for the Courses of an Instructor) by keyset,
+    // the collections of the entities are never loaded
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentSummaryDTO(s.id, s.firstName, s.lastName) " +
+            "from Course c join c.courseStudents s where c.id = :courseId and s.id > :after order by s.id")
+    List<StudentSummaryDTO> findStudentSummariesOfCourseAfter(@Param("courseId") long courseId, @Param("after") long after, Pageable pageable);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO(c.id, c.courseCode, c.courseName, c.creditScore) " +
+            "from Course c join c.courseStudents s where s.id = :studentId and c.id > :after order by c.id")
+    List<CourseSummaryDTO> findCourseSummariesOfStudentAfter(@Param("studentId") long studentId, @Param("after") long after, Pageable pageable);
+
+    @Query("select count(c) from Course c join c.courseStudents s where s.id = :studentId")
+    long countCoursesOfStudent(@Param("studentId") long studentId);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO(c.id, c.courseCode, c.courseName, c.creditScore) " +
+            "from Course c where c.courseInstructor.id = :instructorId and c.id > :after order by c.id")
+    List<CourseSummaryDTO> findCourseSummariesOfInstructorAfter(@Param("instructorId") long instructorId, @Param("after") long after, Pageable pageable);
+
+    @Query("select count(c) from Course c where c.courseInstructor.id = :instructorId")
+    long countCoursesOfInstructor(@Param("instructorId") long instructorId);
+
+    @Query("select s.id from Course c join c.courseStudents s where c.id = :courseId and s.id in :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    // takes the row locks of the Courses (SELECT ... FOR UPDATE), so their Students can not change until commit,
+    // returns the ids of the locked Courses. used as the first statement of a transaction,
+    // so everything read afterwards is read after the locks are taken.
+    // rows are locked in id order, so two transactions locking the same Courses can not deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from Course c where c.id in :courseIds order by c.id")
+    List<Long> lockCourses(@Param("courseIds") Collection<Long> courseIds);
+
+    // conditional write on the Course row: adds the new Students to enrollment_count only if they fit its capacity.
+    // the condition is on the locked row itself, so concurrent enrollments are checked one after another
+    @Modifying
+    @Query(value = "UPDATE course SET enrollment_count = enrollment_count + :newStudents " +
+            "WHERE id = :courseId AND enrollment_count + :newStudents <= :capacity", nativeQuery = true)
+    int addEnrollmentCountIfSeatsAvailable(@Param("courseId") long courseId, @Param("newStudents") int newStudents, @Param("capacity") int capacity);
+
+    @Query("select c.enrollmentCount from Course c where c.id = :courseId")
+    int findEnrollmentCountById(@Param("courseId") long courseId);
+
+    @Query("select coalesce(max(c.id), 0) from Course c")
+    long findMaxId();
+
+    // enrollmentCount is maintained with the statements below, inside the transaction which changes the enrollments
+
+    @Modifying
+    @Query(value = "UPDATE course SET enrollment_count = enrollment_count + :delta WHERE id = :courseId", nativeQuery = true)
+    int addEnrollmentCount(@Param("courseId") long courseId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE course SET enrollment_count = enrollment_count - 1 " +
+            "WHERE id IN (SELECT sc.course_id FROM student_course sc WHERE sc.student_id = :studentId)", nativeQuery = true)
+    int decrementEnrollmentCountsOfStudent(@Param("studentId") long studentId);
+
+    // sets enrollment_count from student_course for the drifted Courses with ids in [fromId, toId]
+    @Modifying
+    @Query(value = "UPDATE course SET enrollment_count = (SELECT COUNT(*) FROM student_course sc WHERE sc.course_id = course.id) " +
+            "WHERE id BETWEEN :fromId AND :toId " +
+            "AND enrollment_count <> (SELECT COUNT(*) FROM student_course sc WHERE sc.course_id = course.id)", nativeQuery = true)
+    int reconcileEnrollmentCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_course WHERE course_id = :courseId AND student_id IN (:studentIds)", nativeQuery = true)
+    int deleteEnrollments(@Param("courseId") long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    // set-based deletion: Courses and their student_course rows are deleted without loading the Courses or their Students
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from Course c where c.courseInstructor.id = :instructorId")
+    List<Long> lockCoursesOfInstructor(@Param("instructorId") long instructorId);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_course WHERE course_id = :courseId", nativeQuery = true)
+    int deleteEnrollmentsOfCourse(@Param("courseId") long courseId);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_course WHERE course_id IN (SELECT c.id FROM course c WHERE c.instructor_id = :instructorId)", nativeQuery = true)
+    int deleteEnrollmentsOfInstructorCourses(@Param("instructorId") long instructorId);
+
+    @Modifying
+    @Query(value = "DELETE FROM course WHERE id = :courseId", nativeQuery = true)
+    int deleteCourseRow(@Param("courseId") long courseId);
+
+    @Modifying
+    @Query(value = "DELETE FROM course WHERE instructor_id = :instructorId", nativeQuery = true)
+    int deleteCoursesOfInstructor(@Param("instructorId") long instructorId);
+
+    @Query("select c.courseCode as courseCode, c.id as id from Course c where c.courseCode in :courseCodes")
+    List<CourseCodeIdView> findCourseIdsByCourseCodes(@Param("courseCodes") Collection<String> courseCodes);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select c.id as id, c.courseName as courseName, c.courseCode as courseCode, c.creditScore as creditScore, " +
+            "c.courseInstructor.id as instructorId, c.enrollmentCount as enrollmentCount, s.id as studentId " +
+            "from Course c left join c.courseStudents s where c.id > :after order by c.id, s.id")
+    Stream<CourseStudentRowView> streamCourseStudentRowsAfter(@Param("after") long after);
+
+    // reports: one GROUP BY query each, counted from student_course instead of the maintained counters
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseEnrollmentReportDTO(c.id, c.courseCode, c.courseName, count(s.id)) " +
+            "from Course c left join c.courseStudents s group by c.id, c.courseCode, c.courseName order by c.id")
+    List<CourseEnrollmentReportDTO> findCourseEnrollmentReports();
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.CourseGenderReportDTO(c.id, s.gender, count(s.id)) " +
+            "from Course c join c.courseStudents s group by c.id, s.gender order by c.id, s.gender")
+    List<CourseGenderReportDTO> findCourseGenderReports();
+
+    // a Student born after bornAfterN is younger than N, age groups are grouped in a derived table
+    // so the CASE expression does not have to be repeated in GROUP BY
+    @Query(value = "SELECT t.course_id AS courseId, t.age_group AS ageGroup, COUNT(*) AS studentCount FROM (" +
+            "SELECT sc.course_id, CASE WHEN s.birth_date > :bornAfter21 THEN '18-20' WHEN s.birth_date > :bornAfter26 THEN '21-25' " +
+            "WHEN s.birth_date > :bornAfter31 THEN '26-30' WHEN s.birth_date > :bornAfter36 THEN '31-35' ELSE '36+' END AS age_group " +
+            "FROM student_course sc JOIN student s ON s.id = sc.student_id) t " +
+            "GROUP BY t.course_id, t.age_group ORDER BY t.course_id, t.age_group", nativeQuery = true)
+    List<CourseAgeGroupView> findCourseAgeGroups(@Param("bornAfter21") LocalDate bornAfter21, @Param("bornAfter26") LocalDate bornAfter26,
+                                                 @Param("bornAfter31") LocalDate bornAfter31, @Param("bornAfter36") LocalDate bornAfter36);
 
 }
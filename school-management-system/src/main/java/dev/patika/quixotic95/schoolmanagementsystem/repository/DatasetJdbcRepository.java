@@ -0,0 +1,144 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DatasetJdbcRepository class for:
+ * bulk loading generated datasets (see DatasetGeneratorService) with plain JDBC batches, one batch per given list
+ * ids are written as given (reserved with IdAllocationJdbcRepository)
+ * the denormalized counters (total_credits, enrollment_count) are written as given, they are not maintained by these inserts
+ */
+@Repository
+@RequiredArgsConstructor
+public class DatasetJdbcRepository {
+
+    private static final String INSERT_STUDENT = "INSERT INTO student " +
+            "(id, first_name, last_name, address, birth_date, gender, total_credits, created_date, last_modified_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INSTRUCTOR = "INSERT INTO instructor " +
+            "(id, first_name, last_name, address, phone_number, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SINGLE_TABLE_INSTRUCTOR = "INSERT INTO instructor " +
+            "(id, first_name, last_name, address, phone_number, created_date, last_modified_date, instructor_type, fixed_salary, hourly_salary) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PERMANENT_INSTRUCTOR = "INSERT INTO permanent_instructor (id, fixed_salary) VALUES (?, ?)";
+
+    private static final String INSERT_VISITING_RESEARCHER = "INSERT INTO visiting_researcher (id, hourly_salary) VALUES (?, ?)";
+
+    private static final String INSERT_COURSE = "INSERT INTO course " +
+            "(id, course_name, course_code, credit_score, instructor_id, enrollment_count, created_date, last_modified_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_EXCEPTION_LOGGER = "INSERT INTO exception_logger (id, timestamp, status_code, message) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param table - one of the entity tables, never user input
+     * @return long - number of rows of the table
+     */
+    public long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    public void insertStudents(List<Student> students) {
+        jdbcTemplate.batchUpdate(INSERT_STUDENT, students, students.size(), (ps, s) -> {
+            ps.setLong(1, s.getId());
+            ps.setString(2, s.getFirstName());
+            ps.setString(3, s.getLastName());
+            ps.setString(4, s.getAddress());
+            ps.setDate(5, Date.valueOf(s.getBirthDate()));
+            ps.setString(6, s.getGender().name());
+            ps.setDouble(7, s.getTotalCredits());
+            ps.setTimestamp(8, Timestamp.from(s.getCreatedDate()));
+            ps.setTimestamp(9, Timestamp.from(s.getLastModifiedDate()));
+        });
+    }
+
+    /**
+     * inserts the instructor rows of given Instructors, PermanentInstructors and VisitingResearchers only
+     * with the JOINED mapping the subclass rows are inserted afterwards with insertInstructorSubclassRows()
+     *
+     * @param singleTable - true if the Instructor hierarchy is mapped to one table (single-table profile)
+     */
+    public void insertInstructors(List<Instructor> instructors, boolean singleTable) {
+        jdbcTemplate.batchUpdate(singleTable ? INSERT_SINGLE_TABLE_INSTRUCTOR : INSERT_INSTRUCTOR, instructors, instructors.size(), (ps, i) -> {
+            ps.setLong(1, i.getId());
+            ps.setString(2, i.getFirstName());
+            ps.setString(3, i.getLastName());
+            ps.setString(4, i.getAddress());
+            ps.setString(5, i.getPhoneNumber());
+            ps.setTimestamp(6, Timestamp.from(i.getCreatedDate()));
+            ps.setTimestamp(7, Timestamp.from(i.getLastModifiedDate()));
+            if (singleTable) {
+                ps.setString(8, i.getClass().getSimpleName());
+                ps.setObject(9, i instanceof PermanentInstructor ? ((PermanentInstructor) i).getFixedSalary() : null);
+                ps.setObject(10, i instanceof VisitingResearcher ? ((VisitingResearcher) i).getHourlySalary() : null);
+            }
+        });
+    }
+
+    /**
+     * inserts the permanent_instructor and visiting_researcher rows of given Instructors (JOINED mapping)
+     *
+     * @param instructors - Instructors inserted with insertInstructors()
+     */
+    public void insertInstructorSubclassRows(List<Instructor> instructors) {
+
+        List<PermanentInstructor> permanentInstructors = new ArrayList<>();
+        List<VisitingResearcher> visitingResearchers = new ArrayList<>();
+        for (Instructor instructor : instructors) {
+            if (instructor instanceof PermanentInstructor) {
+                permanentInstructors.add((PermanentInstructor) instructor);
+            } else if (instructor instanceof VisitingResearcher) {
+                visitingResearchers.add((VisitingResearcher) instructor);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PERMANENT_INSTRUCTOR, permanentInstructors, permanentInstructors.size(), (ps, p) -> {
+            ps.setLong(1, p.getId());
+            ps.setDouble(2, p.getFixedSalary());
+        });
+        jdbcTemplate.batchUpdate(INSERT_VISITING_RESEARCHER, visitingResearchers, visitingResearchers.size(), (ps, v) -> {
+            ps.setLong(1, v.getId());
+            ps.setDouble(2, v.getHourlySalary());
+        });
+    }
+
+    public void insertCourses(List<Course> courses) {
+        jdbcTemplate.batchUpdate(INSERT_COURSE, courses, courses.size(), (ps, c) -> {
+            ps.setLong(1, c.getId());
+            ps.setString(2, c.getCourseName());
+            ps.setString(3, c.getCourseCode());
+            ps.setDouble(4, c.getCreditScore());
+            ps.setLong(5, c.getCourseInstructor().getId());
+            ps.setInt(6, c.getEnrollmentCount());
+            ps.setTimestamp(7, Timestamp.from(c.getCreatedDate()));
+            ps.setTimestamp(8, Timestamp.from(c.getLastModifiedDate()));
+        });
+    }
+
+    public void insertExceptionLoggers(List<ExceptionLogger> exceptionLoggers) {
+        jdbcTemplate.batchUpdate(INSERT_EXCEPTION_LOGGER, exceptionLoggers, exceptionLoggers.size(), (ps, e) -> {
+            ps.setLong(1, e.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(e.getTimestamp()));
+            ps.setString(3, e.getStatusCode());
+            ps.setString(4, e.getMessage());
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * EnrollmentJdbcRepository class for:
+ * writing rows of the student_course join table directly, without loading Course or Student collections
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentJdbcRepository {
+
+    private static final String INSERT_ENROLLMENT = "INSERT INTO student_course (course_id, student_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * inserts given (courseId, studentId) pairs with one JDBC batch
+     *
+     * @param enrollments - pairs of courseId and studentId
+     */
+    public void insertAll(List<long[]> enrollments) {
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollments, enrollments.size(), (ps, e) -> {
+            ps.setLong(1, e[0]);
+            ps.setLong(2, e[1]);
+        });
+    }
+}
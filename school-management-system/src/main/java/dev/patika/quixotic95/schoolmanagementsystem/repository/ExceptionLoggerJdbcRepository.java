@@ -0,0 +1,36 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * ExceptionLoggerJdbcRepository class for:
+ * writing the ExceptionLoggers buffered by ExceptionLogWriter with plain JDBC batches instead of one entity at a time
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExceptionLoggerJdbcRepository {
+
+    private static final String INSERT_EXCEPTION_LOGGER = "INSERT INTO exception_logger (id, timestamp, status_code, message) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * inserts given ExceptionLoggers with one JDBC batch
+     *
+     * @param exceptionLoggers - new ExceptionLoggers with ids reserved by IdAllocationJdbcRepository
+     */
+    public void insertAll(List<ExceptionLogger> exceptionLoggers) {
+        jdbcTemplate.batchUpdate(INSERT_EXCEPTION_LOGGER, exceptionLoggers, exceptionLoggers.size(), (ps, e) -> {
+            ps.setLong(1, e.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(e.getTimestamp()));
+            ps.setString(3, e.getStatusCode());
+            ps.setString(4, e.getMessage());
+        });
+    }
+}
@@ -11,6 +11,11 @@ import java.util.Optional;
 @Repository
 public interface ExceptionLoggerRepository extends JpaRepository<ExceptionLogger, Long> {
 
+    // exact status codes ("404 NOT_FOUND") use the (status_code, timestamp) index, the Containing finders scan the table
+    Optional<List<ExceptionLogger>> findByStatusCodeAndTimestampBetween(String statusCode, LocalDateTime from, LocalDateTime to);
+
+    Optional<List<ExceptionLogger>> findByStatusCode(String statusCode);
+
     Optional<List<ExceptionLogger>> findByStatusCodeContainingAndTimestampBetween(String statusCode, LocalDateTime from, LocalDateTime to);
 
     Optional<List<ExceptionLogger>> findByStatusCodeContaining(String statusCode);
@@ -0,0 +1,14 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+/**
+ * fetch size of the stream (export) queries.
+ * with useCursorFetch=true on the MySQL connection, rows are read through a server side cursor
+ * EXPORT_FETCH_SIZE rows at a time instead of loading the whole result set into memory.
+ */
+final class ExportFetchSize {
+
+    static final int EXPORT_FETCH_SIZE = 1000;
+
+    private ExportFetchSize() {
+    }
+}
@@ -0,0 +1,54 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.IdAllocation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * IdAllocationJdbcRepository class for:
+ * reserving ids for rows inserted with plain JDBC from the rows the entity id generator uses (see IdAllocation)
+ * a reservation moves last_id of the table forward like the generator does, so JDBC inserts and entity inserts
+ * never get the same ids, on this or any other application node
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdAllocationJdbcRepository {
+
+    private static final String RESERVE = "UPDATE " + IdAllocation.TABLE + " SET " + IdAllocation.VALUE_COLUMN + " = " +
+            IdAllocation.VALUE_COLUMN + " + ? WHERE " + IdAllocation.SEGMENT_COLUMN + " = ?";
+
+    private static final String INSERT = "INSERT INTO " + IdAllocation.TABLE + " (" + IdAllocation.SEGMENT_COLUMN + ", " +
+            IdAllocation.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private static final String SELECT_LAST_ID = "SELECT " + IdAllocation.VALUE_COLUMN + " FROM " + IdAllocation.TABLE +
+            " WHERE " + IdAllocation.SEGMENT_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * reserves count consecutive ids of the table in its own transaction, so the row lock is released right away
+     * the row of the table is created if no id of it was generated yet
+     *
+     * @param table - one of the entity tables (root table of the Instructor hierarchy), never user input
+     * @param count - number of ids
+     * @return long - first reserved id, the ids are first to first + count - 1
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocate(String table, int count) {
+
+        if (jdbcTemplate.update(RESERVE, count, table) == 0) {
+            try {
+                jdbcTemplate.update(INSERT, table, count);
+                return 1;
+            } catch (DuplicateKeyException exc) {
+                // created by another transaction in the meantime
+                jdbcTemplate.update(RESERVE, count, table);
+            }
+        }
+        return jdbcTemplate.queryForObject(SELECT_LAST_ID, Long.class, table) - count + 1;
+    }
+}
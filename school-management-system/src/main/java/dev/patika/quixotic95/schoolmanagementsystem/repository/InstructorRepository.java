@@ -1,14 +1,29 @@
 package dev.patika.quixotic95.schoolmanagementsystem.repository;
 
+import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorCourseReportDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.repository.ExportFetchSize.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface InstructorRepository<T extends Instructor> extends JpaRepository<Instructor, Long> {
 
-    Optional<Instructor> findInstructorByPhoneNumberAndIdIsNot(String phoneNumber, long instructorId);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select i from Instructor i where i.id > :after order by i.id")
+    Stream<Instructor> streamInstructorsAfter(@Param("after") long after);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorCourseReportDTO(i.id, i.firstName, i.lastName, count(c.id), coalesce(sum(c.creditScore), 0.0)) " +
+            "from Instructor i left join i.instructorCourses c group by i.id, i.firstName, i.lastName order by i.id")
+    List<InstructorCourseReportDTO> findInstructorCourseReports();
 
 }
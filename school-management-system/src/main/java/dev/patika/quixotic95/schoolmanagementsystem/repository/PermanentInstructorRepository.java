@@ -0,0 +1,33 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// queries of this repository only read PermanentInstructors, the tables of the other Instructor types are not joined
+@Repository
+public interface PermanentInstructorRepository extends JpaRepository<PermanentInstructor, Long> {
+
+    Optional<PermanentInstructor> findPermanentInstructorByPhoneNumber(String phoneNumber);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO(p.id, p.firstName, p.lastName, p.address, p.phoneNumber, p.fixedSalary) " +
+            "from PermanentInstructor p where p.id > :after order by p.id")
+    List<PermanentInstructorDTO> findPermanentInstructorDTOsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO(p.id, p.firstName, p.lastName, p.address, p.phoneNumber, p.fixedSalary) " +
+            "from PermanentInstructor p where p.id = :instructorId")
+    Optional<PermanentInstructorDTO> findPermanentInstructorDTOById(@Param("instructorId") long instructorId);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO(p.id, p.firstName, p.lastName, p.address, p.phoneNumber, p.fixedSalary) " +
+            "from PermanentInstructor p where p.id in :instructorIds")
+    List<PermanentInstructorDTO> findPermanentInstructorDTOsByIds(@Param("instructorIds") Collection<Long> instructorIds);
+
+}
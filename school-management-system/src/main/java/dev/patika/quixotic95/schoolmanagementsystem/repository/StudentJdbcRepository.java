@@ -0,0 +1,43 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * StudentJdbcRepository class for:
+ * bulk operations on student table which are written with plain JDBC batches instead of one entity at a time
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentJdbcRepository {
+
+    private static final String INSERT_STUDENT = "INSERT INTO student " +
+            "(id, first_name, last_name, address, birth_date, gender, total_credits, created_date, last_modified_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * inserts given Students with one JDBC batch
+     *
+     * @param students - new Students with ids reserved by IdAllocationJdbcRepository
+     */
+    public void insertAll(List<Student> students) {
+        jdbcTemplate.batchUpdate(INSERT_STUDENT, students, students.size(), (ps, s) -> {
+            ps.setLong(1, s.getId());
+            ps.setString(2, s.getFirstName());
+            ps.setString(3, s.getLastName());
+            ps.setString(4, s.getAddress());
+            ps.setDate(5, Date.valueOf(s.getBirthDate()));
+            ps.setString(6, s.getGender().name());
+            ps.setTimestamp(7, Timestamp.from(s.getCreatedDate()));
+            ps.setTimestamp(8, Timestamp.from(s.getLastModifiedDate()));
+        });
+    }
+}
@@ -1,14 +1,92 @@
 package dev.patika.quixotic95.schoolmanagementsystem.repository;
 
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentCreditReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.repository.ExportFetchSize.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findStudentByFirstNameAndLastNameAndAddressAndGender(String firstName, String lastName, String address, Gender gender);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO(s.id, s.firstName, s.lastName, s.address, s.birthDate, s.gender, s.totalCredits) " +
+            "from Student s where s.id > :after order by s.id")
+    List<StudentDTO> findStudentDTOsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO(s.id, s.firstName, s.lastName, s.address, s.birthDate, s.gender, s.totalCredits) " +
+            "from Student s where s.id = :studentId")
+    Optional<StudentDTO> findStudentDTOById(@Param("studentId") long studentId);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO(s.id, s.firstName, s.lastName, s.address, s.birthDate, s.gender, s.totalCredits) " +
+            "from Student s where s.id in :studentIds")
+    List<StudentDTO> findStudentDTOsByIds(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("select s.id from Student s where s.id in :studentIds")
+    List<Long> findExistingIds(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("select coalesce(max(s.id), 0) from Student s")
+    long findMaxId();
+
+    // totalCredits is maintained with the statements below, inside the transaction which changes the enrollments
+
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = total_credits + :credits WHERE id IN (:studentIds)", nativeQuery = true)
+    int addCredits(@Param("studentIds") Collection<Long> studentIds, @Param("credits") double credits);
+
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = total_credits + (SELECT c.credit_score FROM course c WHERE c.id = :courseId) " +
+            "WHERE id IN (:studentIds)", nativeQuery = true)
+    int addCourseCredits(@Param("courseId") long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = total_credits - (SELECT c.credit_score FROM course c WHERE c.id = :courseId) " +
+            "WHERE id IN (:studentIds)", nativeQuery = true)
+    int subtractCourseCredits(@Param("courseId") long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = total_credits - (SELECT c.credit_score FROM course c WHERE c.id = :courseId) " +
+            "WHERE id IN (SELECT sc.student_id FROM student_course sc WHERE sc.course_id = :courseId)", nativeQuery = true)
+    int subtractCreditsOfCourse(@Param("courseId") long courseId);
+
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = total_credits - (SELECT COALESCE(SUM(c.credit_score), 0) " +
+            "FROM student_course sc JOIN course c ON c.id = sc.course_id WHERE sc.student_id = student.id AND c.instructor_id = :instructorId) " +
+            "WHERE id IN (SELECT sc.student_id FROM student_course sc JOIN course c ON c.id = sc.course_id WHERE c.instructor_id = :instructorId)",
+            nativeQuery = true)
+    int subtractCreditsOfInstructorCourses(@Param("instructorId") long instructorId);
+
+    // sets total_credits from student_course for the drifted Students with ids in [fromId, toId]
+    @Modifying
+    @Query(value = "UPDATE student SET total_credits = (SELECT COALESCE(SUM(c.credit_score), 0) " +
+            "FROM student_course sc JOIN course c ON c.id = sc.course_id WHERE sc.student_id = student.id) " +
+            "WHERE id BETWEEN :fromId AND :toId AND ABS(total_credits - (SELECT COALESCE(SUM(c.credit_score), 0) " +
+            "FROM student_course sc JOIN course c ON c.id = sc.course_id WHERE sc.student_id = student.id)) > 0.001",
+            nativeQuery = true)
+    int reconcileTotalCredits(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO(s.id, s.firstName, s.lastName, s.address, s.birthDate, s.gender, s.totalCredits) " +
+            "from Student s where s.id > :after order by s.id")
+    Stream<StudentDTO> streamStudentDTOsAfter(@Param("after") long after);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.StudentCreditReportDTO(s.id, s.firstName, s.lastName, count(c.id), coalesce(sum(c.creditScore), 0.0)) " +
+            "from Student s left join s.studentCourses c group by s.id, s.firstName, s.lastName order by s.id")
+    List<StudentCreditReportDTO> findStudentCreditReports();
 }
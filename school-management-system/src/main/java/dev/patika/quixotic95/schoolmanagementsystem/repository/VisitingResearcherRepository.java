@@ -0,0 +1,33 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// queries of this repository only read VisitingResearchers, the tables of the other Instructor types are not joined
+@Repository
+public interface VisitingResearcherRepository extends JpaRepository<VisitingResearcher, Long> {
+
+    Optional<VisitingResearcher> findVisitingResearcherByPhoneNumber(String phoneNumber);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO(v.id, v.firstName, v.lastName, v.address, v.phoneNumber, v.hourlySalary) " +
+            "from VisitingResearcher v where v.id > :after order by v.id")
+    List<VisitingResearcherDTO> findVisitingResearcherDTOsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO(v.id, v.firstName, v.lastName, v.address, v.phoneNumber, v.hourlySalary) " +
+            "from VisitingResearcher v where v.id = :instructorId")
+    Optional<VisitingResearcherDTO> findVisitingResearcherDTOById(@Param("instructorId") long instructorId);
+
+    @Query("select new dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO(v.id, v.firstName, v.lastName, v.address, v.phoneNumber, v.hourlySalary) " +
+            "from VisitingResearcher v where v.id in :instructorIds")
+    List<VisitingResearcherDTO> findVisitingResearcherDTOsByIds(@Param("instructorIds") Collection<Long> instructorIds);
+
+}
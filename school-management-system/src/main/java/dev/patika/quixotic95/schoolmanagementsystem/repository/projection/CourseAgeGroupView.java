@@ -0,0 +1,14 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository.projection;
+
+/**
+ * number of Students of a Course in one age group, read by a native GROUP BY query
+ */
+public interface CourseAgeGroupView {
+
+    long getCourseId();
+
+    String getAgeGroup();
+
+    long getStudentCount();
+
+}
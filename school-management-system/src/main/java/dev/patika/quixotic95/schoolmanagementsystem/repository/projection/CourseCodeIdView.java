@@ -0,0 +1,12 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository.projection;
+
+/**
+ * courseCode and id of a Course, used to resolve course codes without loading Courses
+ */
+public interface CourseCodeIdView {
+
+    String getCourseCode();
+
+    long getId();
+
+}
@@ -0,0 +1,19 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * one row of the student_course join table, used to fill CourseDTO's studentIds without loading Students
+ * a class created by the query's constructor expression instead of an interface view: pages of full Courses read
+ * hundreds of these rows, and an interface view is a proxy backed by a map for every row
+ */
+@Getter
+@AllArgsConstructor
+public class CourseStudentIdView {
+
+    private final long courseId;
+
+    private final long studentId;
+
+}
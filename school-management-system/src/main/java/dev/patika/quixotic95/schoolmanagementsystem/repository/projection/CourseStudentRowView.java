@@ -0,0 +1,24 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository.projection;
+
+/**
+ * one Course row joined with one of its Students, studentId is null for a Course without Students
+ * instructorId is null for a Course without Instructor: the column is nullable, only the services always set it
+ * rows of the same Course come one after another, so a stream of them can be grouped into CourseDTOs on the fly
+ */
+public interface CourseStudentRowView {
+
+    long getId();
+
+    String getCourseName();
+
+    String getCourseCode();
+
+    double getCreditScore();
+
+    Long getInstructorId();
+
+    int getEnrollmentCount();
+
+    Long getStudentId();
+
+}
@@ -0,0 +1,80 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * CounterReconciliationService class for:
+ * finding and repairing drift of the denormalized counters (Course.enrollmentCount and Student.totalCredits)
+ * against the student_course rows, e.g. after manual database changes or rows written before the counters existed
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterReconciliationService {
+
+    // number of ids checked in one transaction, so the job never locks a whole table
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * runs both reconciliations on the configured schedule (every night at 03:00 by default)
+     * logs the number of repaired rows if there is any drift
+     */
+    @Scheduled(cron = "${counters.reconciliation-cron:0 0 3 * * *}")
+    public void reconcileCounters() {
+
+        int courses = reconcileEnrollmentCounts();
+        int students = reconcileTotalCredits();
+
+        if (courses > 0 || students > 0) {
+            log.warn("Counter drift repaired: {} course enrollment counts, {} student total credits", courses, students);
+        }
+    }
+
+    /**
+     * sets enrollmentCount of every drifted Course to its number of student_course rows
+     *
+     * @return int - number of repaired Courses
+     */
+    public int reconcileEnrollmentCounts() {
+        return reconcileInChunks(courseRepository.findMaxId(), courseRepository::reconcileEnrollmentCounts);
+    }
+
+    /**
+     * sets totalCredits of every drifted Student to the sum of its Courses' creditScores
+     *
+     * @return int - number of repaired Students
+     */
+    public int reconcileTotalCredits() {
+        return reconcileInChunks(studentRepository.findMaxId(), studentRepository::reconcileTotalCredits);
+    }
+
+    /**
+     * helper method for running a reconciliation statement over id ranges of CHUNK_SIZE, each in its own transaction
+     *
+     * @param maxId     - largest id of the table
+     * @param reconcile - statement taking the first and last id of the range and returning the number of repaired rows
+     * @return int - total number of repaired rows
+     */
+    private int reconcileInChunks(long maxId, LongBinaryOperator reconcile) {
+
+        int repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += CHUNK_SIZE) {
+            long toId = fromId + CHUNK_SIZE - 1;
+            long fromIdOfChunk = fromId;
+            repaired += transactionTemplate.execute(status -> (int) reconcile.applyAsLong(fromIdOfChunk, toId));
+        }
+        return repaired;
+    }
+}
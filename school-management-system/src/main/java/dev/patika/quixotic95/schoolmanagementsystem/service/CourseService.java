@@ -1,18 +1,38 @@
 package dev.patika.quixotic95.schoolmanagementsystem.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentSummaryDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
-import dev.patika.quixotic95.schoolmanagementsystem.exception.CourseIsAlreadyExistException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentIdsNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentIsAlreadyEnrolledException;
 import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentNumberForOneCourseExceededException;
 import dev.patika.quixotic95.schoolmanagementsystem.mapper.CourseMapper;
 import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.EnrollmentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentIdView;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * CourseService class for:
@@ -24,40 +44,91 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CourseService {
 
+    public static final int MAX_STUDENTS_PER_COURSE = 20;
+
+    // an enrollment transaction which loses a deadlock or lock wait is retried this many times in total
+    private static final int MAX_ENROLLMENT_ATTEMPTS = 3;
+
     private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
     private final CourseMapper courseMapper;
+    private final JsonMergePatch jsonMergePatch;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * calls findAll() method from repository
-     * maps returned Courses to CourseDTOs
+     * calls findCourseDTOsAfter() method from repository to get the Courses after given id (keyset pagination)
+     * CourseDTOs are created directly by the query, studentIds of the whole page are filled with one more query
+     * sets the next cursor of the page if there are more Courses
      *
-     * @return List<CourseDTO> - CourseDTO list
+     * @param after - ID of the last Course of the previous page. 0 for the first page
+     * @param limit - maximum number of Courses in the page
+     * @return KeysetPageDTO<CourseDTO> - CourseDTO page with next cursor
      */
-    public List<CourseDTO> findAllCourses() {
-        return courseRepository.findAll()
-                .stream()
-                .map(courseMapper::mapFromCourseToCourseDTO)
-                .collect(Collectors.toList());
+    public KeysetPageDTO<CourseDTO> findAllCourses(long after, int limit) {
+        List<CourseDTO> rows = courseRepository.findCourseDTOsAfter(after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toPage(fillStudentIds(rows), limit, CourseDTO::getId);
     }
 
     /**
-     * calls findById() method from repository with given courseId
+     * calls findCourseDTOById() method from repository with given courseId
      * throws an exception if Course is not found,
-     * else maps returned Course to CourseDTO
+     * else fills the studentIds of the found CourseDTO
      *
      * @param courseId - ID of the Course
-     * @return CourseDTO - found Course mapped to CourseDTO
+     * @return CourseDTO - found Course as CourseDTO
      */
     public CourseDTO findCourseById(long courseId) {
-        return courseMapper.mapFromCourseToCourseDTO(courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException("Course with id: " + courseId + " can not be found!")));
+        CourseDTO foundCourse = courseRepository.findCourseDTOById(courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Course with id: " + courseId + " can not be found!"));
+
+        fillStudentIds(Collections.singletonList(foundCourse));
+        return foundCourse;
+    }
+
+    /**
+     * calls findCourseDTOsByIds() method from repository with the distinct given ids (at most MultiGet.MAX_IDS)
+     * all Courses are read with one query and their studentIds with one more, like a page of findAllCourses()
+     * ids without a Course are reported instead of failing the request
+     *
+     * @param ids - IDs of the Courses
+     * @return MultiGetDTO<CourseDTO> - found Courses in the order of the ids and the missing ids
+     */
+    public MultiGetDTO<CourseDTO> findCoursesByIds(List<Long> ids) {
+        List<Long> distinctIds = MultiGet.distinctIds(ids);
+        List<CourseDTO> rows = distinctIds.isEmpty() ? new ArrayList<>() : fillStudentIds(courseRepository.findCourseDTOsByIds(distinctIds));
+        return MultiGet.toResult(distinctIds, rows, CourseDTO::getId);
     }
 
     /**
-     * checks if Course already exists in database with given CourseDTO's courseCode
-     * if it doesn't exist, checks if given CourseDTO object has more than 20 Students
-     * if student count is not more than 20, maps CourseDTO to Course
-     * calls save() method from repository with Course object
+     * calls findStudentSummariesOfCourseAfter() method from repository to get the Students of the Course after given id
+     * (keyset pagination), Students are read from student_course without loading the Course or its Students
+     * total count is counted from student_course, throws an exception if it is 0 and the Course does not exist
+     *
+     * @param courseId - ID of the Course
+     * @param after    - ID of the last Student of the previous page. 0 for the first page
+     * @param limit    - maximum number of Students in the page
+     * @return CountedKeysetPageDTO<StudentSummaryDTO> - StudentSummaryDTO page with next cursor and number of Students of the Course
+     */
+    public CountedKeysetPageDTO<StudentSummaryDTO> findCourseStudents(long courseId, long after, int limit) {
+
+        long totalCount = courseRepository.countCourseStudents(courseId);
+        if (totalCount == 0 && !courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException("Course with id: " + courseId + " can not be found!");
+        }
+
+        List<StudentSummaryDTO> rows = courseRepository.findStudentSummariesOfCourseAfter(courseId, after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toCountedPage(rows, limit, StudentSummaryDTO::getId, totalCount);
+    }
+
+    /**
+     * checks if given CourseDTO object has more than 20 Students
+     * checks if all Students exist with one id query, without loading them
+     * maps CourseDTO to Course, the Instructor is set as a lazy reference
+     * calls saveAndFlush() method from repository with Course object, the course row must exist before the JDBC inserts
+     * a duplicate courseCode is rejected by the unique constraint on course_code (see GlobalExceptionHandler)
+     * inserts the student_course rows with one JDBC batch
+     * sets the Course's enrollmentCount and adds its creditScore to its Students' totalCredits
      *
      * @param courseDTO - CourseDTO request object
      * @return CourseDTO - saved Course mapped to CourseDTO
@@ -65,23 +136,28 @@ public class CourseService {
     @Transactional
     public CourseDTO saveCourse(CourseDTO courseDTO) {
 
-        checkIfCourseExists(courseDTO.getCourseCode(), 0);
+        SchoolRules.checkCourseCapacity(courseDTO.getStudentIds().size());
 
-        checkIfCourseHasMoreThanTwentyStudents(courseDTO.getStudentIds().size());
+        List<Long> studentIds = new ArrayList<>(new LinkedHashSet<>(courseDTO.getStudentIds()));
+        checkIfStudentsArePresent(studentIds);
 
         Course mappedCourse = courseMapper.mapFromCourseDTOtoCourse(courseDTO);
+        mappedCourse.setEnrollmentCount(studentIds.size());
 
-        return courseMapper.mapFromCourseToCourseDTO(courseRepository.save(mappedCourse));
+        Course savedCourse = courseRepository.saveAndFlush(mappedCourse);
+
+        if (!studentIds.isEmpty()) {
+            enrollmentJdbcRepository.insertAll(toEnrollments(savedCourse.getId(), studentIds));
+            studentRepository.addCredits(studentIds, savedCourse.getCreditScore());
+        }
+        return courseMapper.mapFromCourseToCourseDTO(savedCourse, studentIds);
     }
 
     /**
-     * checks if Course exists with given courseId
+     * checks if Course exists with given courseId by locking its row (lockCourses()),
+     * so no enrollment can change its Students until this update commits
      * if it doesn't exist, throws an exception
-     * if it exists, checks courseDTO request if any other Course has the same courseCode
-     * while checking courseCode, excludes the updated one.
-     * checks if given CourseDTO object has more than 20 Students
-     * maps CourseDTO to Course
-     * calls save() method from repository with Course object
+     * if it exists, copies the CourseDTO into the found Course (see applyCourseDTO())
      *
      * @param courseDTO - CourseDTO request object
      * @param courseId  - ID of the will updated Course
@@ -90,85 +166,387 @@ public class CourseService {
     @Transactional
     public CourseDTO updateCourse(CourseDTO courseDTO, long courseId) {
 
-        courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException("Course with id: " + courseId + " can not be found!"));
+        Course foundCourse = lockCourse(courseId);
 
-        checkIfCourseExists(courseDTO.getCourseCode(), courseId);
+        return applyCourseDTO(courseDTO, foundCourse, findStudentIdsOfCourse(courseId));
+    }
 
-        checkIfCourseHasMoreThanTwentyStudents(courseDTO.getStudentIds().size());
+    /**
+     * checks if Course exists with given courseId by locking its row (lockCourses()) like updateCourse()
+     * if it doesn't exist, throws an exception
+     * applies the merge patch to the found Course's CourseDTO and validates the result (see JsonMergePatch)
+     * copies the patched CourseDTO into the found Course (see applyCourseDTO()),
+     * the UPDATE of the course row only has the columns whose values changed
+     *
+     * @param patch    - JSON merge patch request body
+     * @param courseId - ID of the will patched Course
+     * @return CourseDTO - patched Course mapped to CourseDTO
+     */
+    @Transactional
+    public CourseDTO patchCourse(JsonNode patch, long courseId) {
 
-        Course mappedCourse = courseMapper.mapFromCourseDTOtoCourse(courseDTO);
-        mappedCourse.setId(courseId);
+        Course foundCourse = lockCourse(courseId);
+        Set<Long> oldIds = findStudentIdsOfCourse(courseId);
+
+        CourseDTO patchedCourse = jsonMergePatch.apply(courseMapper.mapFromCourseToCourseDTO(foundCourse, new ArrayList<>(oldIds)), patch, CourseDTO.class);
 
-        return courseMapper.mapFromCourseToCourseDTO(courseRepository.save(mappedCourse));
+        return applyCourseDTO(patchedCourse, foundCourse, oldIds);
     }
 
     /**
-     * checks if Course exists in database with given CourseDTOs' courseCode
+     * calls findCourseIdByCourseCode() method from repository with given CourseDTOs' courseCode
      * if it doesn't exist, throws an exception
-     * if it exists, maps the found Course to CourseDTO
-     * calls delete() method from repository with found Course object
+     * if it exists, deletes the Course with set-based statements (see removeCourse())
      *
      * @param courseDTO - CourseDTO request object
-     * @return CourseDTO - mapped CourseDTO from found Course object
+     * @return CourseDTO - deleted Course as CourseDTO
      */
     @Transactional
     public CourseDTO deleteCourse(CourseDTO courseDTO) {
 
-        Course foundCourse = courseRepository.findCourseByCourseCode(courseDTO.getCourseCode())
+        long courseId = courseRepository.findCourseIdByCourseCode(courseDTO.getCourseCode())
                 .orElseThrow(() -> new EntityNotFoundException("Course can not be found!"));
 
-        CourseDTO result = courseMapper.mapFromCourseToCourseDTO(foundCourse);
-        courseRepository.delete(foundCourse);
-        return result;
+        return removeCourse(courseId);
     }
 
     /**
-     * checks if Course exists with given courseId
+     * deletes the Course with given courseId with set-based statements (see removeCourse())
      * if it doesn't exist, throws an exception
-     * if it exists, maps the found Course to CourseDTO
-     * calls delete() method from repository with found Course object
      *
      * @param courseId - ID of the will deleted Course
-     * @return CourseDTO - mapped CourseDTO from found Course object
+     * @return CourseDTO - deleted Course as CourseDTO
      */
     @Transactional
     public CourseDTO deleteCourseById(long courseId) {
+        return removeCourse(courseId);
+    }
 
-        Course foundCourse = courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException("Course with id: " + courseId + " can not be found!"));
+    /**
+     * enrolls one Student to the Course without loading or rewriting the Course's Students
+     * see enrollStudents()
+     *
+     * @param courseId  - ID of the Course
+     * @param studentId - ID of the Student which will be enrolled
+     * @return CourseDTO - Course with its updated studentIds
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CourseDTO enrollStudent(long courseId, long studentId) {
+        return enrollStudents(courseId, Collections.singletonList(studentId));
+    }
 
-        CourseDTO result = courseMapper.mapFromCourseToCourseDTO(foundCourse);
-        courseRepository.delete(foundCourse);
-        return result;
+    /**
+     * enrolls the Students to the Course in its own transaction, see insertEnrollments()
+     * if no Student ids are given, throws an exception before any query (see distinctStudentIds())
+     * if the transaction loses a deadlock or lock wait on database, retries it up to MAX_ENROLLMENT_ATTEMPTS times
+     *
+     * @param courseId   - ID of the Course
+     * @param studentIds - IDs of the Students which will be enrolled
+     * @return CourseDTO - Course with its updated studentIds
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CourseDTO enrollStudents(long courseId, List<Long> studentIds) {
+
+        List<Long> distinctIds = distinctStudentIds(studentIds);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertEnrollments(courseId, distinctIds));
+            } catch (PessimisticLockingFailureException exc) {
+                if (attempt == MAX_ENROLLMENT_ATTEMPTS) {
+                    throw exc;
+                }
+            }
+        }
     }
 
     /**
-     * helper method for checking if a course already exists in database with given courseCode
-     * calls findCourseByCourseCodeAndIdIsNot(courseCode, courseId) method from repository
-     * if a course found with this given courseCode, throws an exception.
+     * removes one Student from the Course without loading or rewriting the Course's Students
+     * see unenrollStudents()
      *
-     * @param courseCode - courseCode to search in database
-     * @param courseId   - courseId to exclude from search. Used in update method to exclude updated Course's courseCode to prevent conflict.
+     * @param courseId  - ID of the Course
+     * @param studentId - ID of the Student which will be removed
+     * @return CourseDTO - Course with its updated studentIds
      */
-    private void checkIfCourseExists(String courseCode, long courseId) {
+    @Transactional
+    public CourseDTO unenrollStudent(long courseId, long studentId) {
+        return unenrollStudents(courseId, Collections.singletonList(studentId));
+    }
 
-        if (courseRepository.findCourseByCourseCodeAndIdIsNot(courseCode, courseId).isPresent()) {
-            throw new CourseIsAlreadyExistException("A course with this course code already exists!");
+    /**
+     * if no Student ids are given, throws an exception before any query (see distinctStudentIds())
+     * checks if Course exists by locking its row (lockCourses()), so the checks below can not race with other enrollments
+     * checks if all given Students are enrolled in the Course, if some of them are not throws an exception
+     * deletes only their student_course rows and updates the counters
+     *
+     * @param courseId   - ID of the Course
+     * @param studentIds - IDs of the Students which will be removed
+     * @return CourseDTO - Course with its updated studentIds
+     */
+    @Transactional
+    public CourseDTO unenrollStudents(long courseId, List<Long> studentIds) {
+
+        List<Long> distinctIds = distinctStudentIds(studentIds);
+
+        if (courseRepository.lockCourses(Collections.singleton(courseId)).isEmpty()) {
+            throw new EntityNotFoundException("Course with id: " + courseId + " can not be found!");
         }
+
+        List<Long> enrolledIds = courseRepository.findEnrolledStudentIds(courseId, distinctIds);
+        if (enrolledIds.size() < distinctIds.size()) {
+            distinctIds.removeAll(enrolledIds);
+            throw new EntityNotFoundException("Students with ids: " + distinctIds + " are not enrolled in course with id: " + courseId + "!");
+        }
+
+        courseRepository.deleteEnrollments(courseId, distinctIds);
+        courseRepository.addEnrollmentCount(courseId, -distinctIds.size());
+        studentRepository.subtractCourseCredits(courseId, distinctIds);
+
+        return findCourseById(courseId);
     }
 
     /**
-     * helper method for checking if a course has more than 20 students.
-     * checks received integer number if it's greater than 20.
-     * if it's, throws an exception.
+     * helper method for enrolling Students inside a transaction
+     * first reserves the seats by adding the Students to the Course's enrollmentCount with a conditional write
+     * (addEnrollmentCountIfSeatsAvailable()), database checks the capacity against the counter and keeps the row locked until commit,
+     * so concurrent enrollments of the same Course are checked one after another
+     * if nothing is reserved, throws an exception: Course is not found, Students are already enrolled or Course is full
+     * checks if all Students exist and none of them is already enrolled, if not throws an exception
+     * inserts only the new student_course rows and adds the creditScore to the Students' totalCredits
      *
-     * @param numberOfStudents - integer value of CourseDTOs' students' list size.
+     * @param courseId   - ID of the Course
+     * @param studentIds - distinct IDs of the Students
+     * @return CourseDTO - Course with its updated studentIds
      */
-    private void checkIfCourseHasMoreThanTwentyStudents(int numberOfStudents) {
-        if (numberOfStudents > 20) {
+    private CourseDTO insertEnrollments(long courseId, List<Long> studentIds) {
+
+        if (courseRepository.addEnrollmentCountIfSeatsAvailable(courseId, studentIds.size(), MAX_STUDENTS_PER_COURSE) == 0) {
+            checkIfCourseIsPresent(courseId);
+            checkIfStudentsAreNotEnrolled(courseId, studentIds);
             throw new StudentNumberForOneCourseExceededException("Course can maximum have 20 students!");
         }
+
+        checkIfStudentsArePresent(studentIds);
+        checkIfStudentsAreNotEnrolled(courseId, studentIds);
+
+        enrollmentJdbcRepository.insertAll(toEnrollments(courseId, studentIds));
+        studentRepository.addCourseCredits(courseId, studentIds);
+
+        return findCourseById(courseId);
     }
 
+    /**
+     * helper method for writing the new Students of a Course updated by applyCourseDTO()
+     * deletes the student_course rows of removed Students and inserts the rows of added Students
+     * enrollmentCount changes by the difference of the Student counts
+     * removed Students lose the old creditScore, added Students get the new one
+     * Students which stay get the difference of the creditScores
+     *
+     * @param course         - updated Course
+     * @param oldIds         - IDs of the Students before the update
+     * @param oldCreditScore - creditScore before the update
+     * @param newIds         - IDs of the Students after the update
+     */
+    private void updateStudents(Course course, Set<Long> oldIds, double oldCreditScore, Set<Long> newIds) {
+
+        Set<Long> removedIds = new HashSet<>(oldIds);
+        removedIds.removeAll(newIds);
+        Set<Long> addedIds = new HashSet<>(newIds);
+        addedIds.removeAll(oldIds);
+        Set<Long> keptIds = new HashSet<>(newIds);
+        keptIds.retainAll(oldIds);
+
+        if (!removedIds.isEmpty()) {
+            courseRepository.deleteEnrollments(course.getId(), removedIds);
+            studentRepository.addCredits(removedIds, -oldCreditScore);
+        }
+        if (!addedIds.isEmpty()) {
+            enrollmentJdbcRepository.insertAll(toEnrollments(course.getId(), addedIds));
+            studentRepository.addCredits(addedIds, course.getCreditScore());
+        }
+        if (newIds.size() != oldIds.size()) {
+            courseRepository.addEnrollmentCount(course.getId(), newIds.size() - oldIds.size());
+        }
+        double creditDifference = course.getCreditScore() - oldCreditScore;
+        if (!keptIds.isEmpty() && creditDifference != 0) {
+            studentRepository.addCredits(keptIds, creditDifference);
+        }
+    }
+
+    private List<long[]> toEnrollments(long courseId, Collection<Long> studentIds) {
+        List<long[]> enrollments = new ArrayList<>(studentIds.size());
+        for (long studentId : studentIds) {
+            enrollments.add(new long[]{courseId, studentId});
+        }
+        return enrollments;
+    }
+
+    /**
+     * helper method for deleting a Course without loading it or its Students
+     * locks the Course row (lockCourses()), throws an exception if it doesn't exist
+     * reads the Course as CourseDTO for the response (see findCourseById())
+     * subtracts the Course's creditScore from its Students' totalCredits,
+     * then deletes its student_course rows and the course row with one statement each
+     *
+     * @param courseId - ID of the will deleted Course
+     * @return CourseDTO - deleted Course as CourseDTO
+     */
+    private CourseDTO removeCourse(long courseId) {
+
+        if (courseRepository.lockCourses(Collections.singleton(courseId)).isEmpty()) {
+            throw new EntityNotFoundException("Course with id: " + courseId + " can not be found!");
+        }
+
+        CourseDTO result = findCourseById(courseId);
+
+        studentRepository.subtractCreditsOfCourse(courseId);
+        courseRepository.deleteEnrollmentsOfCourse(courseId);
+        courseRepository.deleteCourseRow(courseId);
+        return result;
+    }
+
+    /**
+     * helper method for checking if any of the Students is already enrolled in the Course
+     * if so, throws one exception with all of the enrolled ids
+     *
+     * @param courseId   - ID of the Course
+     * @param studentIds - distinct IDs of the Students
+     */
+    private void checkIfStudentsAreNotEnrolled(long courseId, List<Long> studentIds) {
+        List<Long> enrolledIds = courseRepository.findEnrolledStudentIds(courseId, studentIds);
+        if (!enrolledIds.isEmpty()) {
+            throw new StudentIsAlreadyEnrolledException("Students with ids: " + enrolledIds + " are already enrolled in course with id: " + courseId + "!");
+        }
+    }
+
+    /**
+     * helper method for checking if a Course exists without loading it
+     *
+     * @param courseId - ID of the Course
+     */
+    private void checkIfCourseIsPresent(long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException("Course with id: " + courseId + " can not be found!");
+        }
+    }
+
+    /**
+     * helper method for checking if all Students exist without loading them
+     * if some of them don't exist, throws one exception with all of the missing ids
+     *
+     * @param studentIds - distinct IDs of the Students
+     */
+    private void checkIfStudentsArePresent(List<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        List<Long> existingIds = studentRepository.findExistingIds(studentIds);
+        if (existingIds.size() < studentIds.size()) {
+            List<Long> missingIds = new ArrayList<>(studentIds);
+            missingIds.removeAll(existingIds);
+            throw new EntityNotFoundException("Students with ids: " + missingIds + " can not be found!");
+        }
+    }
+
+    /**
+     * helper method for filling studentIds of CourseDTOs created by projection queries
+     * reads the student_course rows of all given Courses with one query
+     *
+     * @param courses - CourseDTOs with empty studentIds
+     * @return List<CourseDTO> - same CourseDTOs with their studentIds
+     */
+    private List<CourseDTO> fillStudentIds(List<CourseDTO> courses) {
+
+        if (courses.isEmpty()) {
+            return courses;
+        }
+
+        Map<Long, CourseDTO> coursesById = new HashMap<>();
+        for (CourseDTO c : courses) {
+            coursesById.put(c.getId(), c);
+        }
+
+        for (CourseStudentIdView row : courseRepository.findCourseStudentIds(coursesById.keySet())) {
+            coursesById.get(row.getCourseId()).getStudentIds().add(row.getStudentId());
+        }
+        return courses;
+    }
+
+    /**
+     * helper method for updating a locked Course with a CourseDTO
+     * checks if given CourseDTO object has more than 20 Students and all of them exist
+     * copies the fields of CourseDTO into the found (managed) Course, written with one UPDATE on flush
+     * a courseCode of another Course is rejected by the unique constraint on course_code (see GlobalExceptionHandler)
+     * Students are compared with the current student_course rows, only removed and added rows are written
+     * updates the counters from the difference of the old and new Students (see updateStudents())
+     *
+     * @param courseDTO   - CourseDTO with the new state of the Course
+     * @param foundCourse - locked and managed Course
+     * @param oldIds      - IDs of the current Students of the Course
+     * @return CourseDTO - updated Course mapped to CourseDTO
+     */
+    private CourseDTO applyCourseDTO(CourseDTO courseDTO, Course foundCourse, Set<Long> oldIds) {
+
+        List<Long> requestedIds = courseDTO.getStudentIds() == null ? Collections.<Long>emptyList() : courseDTO.getStudentIds();
+        SchoolRules.checkCourseCapacity(requestedIds.size());
+
+        List<Long> studentIds = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        checkIfStudentsArePresent(studentIds);
+
+        double oldCreditScore = foundCourse.getCreditScore();
+
+        courseMapper.updateCourseFromCourseDTO(courseDTO, foundCourse);
+        foundCourse.setEnrollmentCount(studentIds.size());
+
+        updateStudents(foundCourse, oldIds, oldCreditScore, new HashSet<>(studentIds));
+
+        return courseMapper.mapFromCourseToCourseDTO(foundCourse, studentIds);
+    }
+
+    /**
+     * helper method for locking a Course row before it is updated
+     * calls lockCourses() method from repository, then findById() for the managed Course
+     * throws an exception if Course is not found
+     *
+     * @param courseId - ID of the Course
+     * @return Course - locked and managed Course
+     */
+    private Course lockCourse(long courseId) {
+
+        if (courseRepository.lockCourses(Collections.singleton(courseId)).isEmpty()) {
+            throw new EntityNotFoundException("Course with id: " + courseId + " can not be found!");
+        }
+        return courseRepository.findById(courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Course with id: " + courseId + " can not be found!"));
+    }
+
+    /**
+     * @param courseId - ID of the Course
+     * @return Set<Long> - IDs of the Course's Students, read from student_course without loading them
+     */
+    private Set<Long> findStudentIdsOfCourse(long courseId) {
+
+        Set<Long> studentIds = new HashSet<>();
+        for (CourseStudentIdView row : courseRepository.findCourseStudentIds(Collections.singleton(courseId))) {
+            studentIds.add(row.getStudentId());
+        }
+        return studentIds;
+    }
+
+    /**
+     * helper method for removing repeated Student ids of an enroll or unenroll request
+     * throws an exception if no id or a null id is given, the IN (...) queries of the request can not be run with them
+     *
+     * @param studentIds - IDs of the Students in the request body
+     * @return List<Long> - distinct ids in request order
+     */
+    private static List<Long> distinctStudentIds(List<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new StudentIdsNotValidException("At least one student id is required!");
+        }
+        if (studentIds.contains(null)) {
+            throw new StudentIdsNotValidException("Student ids can not be null!");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(studentIds));
+    }
 }
@@ -0,0 +1,375 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.DatasetReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.DatasetJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.EnrollmentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.IdAllocationJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+
+/**
+ * DatasetGeneratorService class for:
+ * bulk loading a synthetic dataset of Instructors, Courses, Students, enrollments and ExceptionLoggers with JDBC batches
+ * the same seed, scale and reference date always produce the same rows, so benchmarks and load tests start from identical data
+ * every entity type draws from its own Random, so changing the size of one type does not change the rows of the others
+ * <p>
+ * domain rules are kept: Students are between 18 and 40 years old at the reference date, course codes and phone numbers
+ * are unique, Courses have at most MAX_STUDENTS_PER_COURSE Students and the denormalized counters match student_course
+ */
+@Slf4j
+@Service
+public class DatasetGeneratorService {
+
+    // rows at scale 1.0
+    static final int STUDENTS = 100_000;
+    static final int INSTRUCTORS = 1_000;
+    static final int COURSES = 5_000;
+    static final int EXCEPTION_LOGS = 200_000;
+
+    private static final double PERMANENT_INSTRUCTOR_SHARE = 0.6;
+    private static final int EXCEPTION_LOG_DAYS = 365;
+
+    private static final String[] FIRST_NAMES = {"Ahmet", "Mehmet", "Ayşe", "Fatma", "Emre", "Zeynep", "Elif", "Can", "Deniz", "Ece",
+            "Burak", "Selin", "Mert", "Derya", "Koray", "Esra", "Onur", "Gizem", "Kerem", "Yasemin"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Aydın", "Öztürk", "Arslan", "Doğan",
+            "Oğuz", "Güney", "Koç", "Kurt", "Özdemir", "Aslan", "Polat", "Erdoğan", "Kılıç", "Tekin"};
+    private static final String[] STREETS = {"Kiptaş", "Hazine", "Bağdat", "İstiklal", "Atatürk", "Cumhuriyet", "Gazi", "Barbaros"};
+    private static final String[] DEPARTMENT_CODES = {"CSE", "MAT", "PHY", "CHE", "BIO", "ECO", "HIS", "LIT"};
+    private static final String[] DEPARTMENT_NAMES = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology", "Economics",
+            "History", "Literature"};
+    private static final double[] CREDIT_SCORES = {2, 3, 4, 5, 6, 8};
+
+    private final DatasetJdbcRepository datasetJdbcRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+    private final IdAllocationJdbcRepository idAllocationJdbcRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+
+    public DatasetGeneratorService(DatasetJdbcRepository datasetJdbcRepository,
+                                   EnrollmentJdbcRepository enrollmentJdbcRepository,
+                                   IdAllocationJdbcRepository idAllocationJdbcRepository,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${datagen.batch-size:1000}") int batchSize) {
+        this.datasetJdbcRepository = datasetJdbcRepository;
+        this.enrollmentJdbcRepository = enrollmentJdbcRepository;
+        this.idAllocationJdbcRepository = idAllocationJdbcRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * checks that there are no Students, Courses and Instructors yet (ExceptionLoggers are appended)
+     * generates Instructors, Courses with their enrollment plan, Students with the total credits of that plan,
+     * the student_course rows and the ExceptionLogger history, and inserts them in batches of datagen.batch-size rows
+     * the ids of every entity type are reserved at once with IdAllocationJdbcRepository, so they are consecutive
+     *
+     * @param seed          - seed of the random generators
+     * @param scale         - multiplier of the row counts (1.0 is 100k Students, 1k Instructors, 5k Courses, 200k ExceptionLoggers)
+     * @param referenceDate - "today" of the dataset, ages and timestamps are relative to it
+     * @return DatasetReportDTO - numbers of inserted rows
+     */
+    public DatasetReportDTO generate(long seed, double scale, LocalDate referenceDate) {
+
+        long start = System.nanoTime();
+        checkIfEmpty("student");
+        checkIfEmpty("course");
+        checkIfEmpty("instructor");
+
+        Instant createdDate = referenceDate.atStartOfDay(ZoneOffset.UTC).toInstant();
+        int studentCount = scaled(STUDENTS, scale);
+
+        DatasetReportDTO report = new DatasetReportDTO();
+        report.setSeed(seed);
+        report.setScale(scale);
+
+        long[] instructorIds = generateInstructors(new Random(seed), scaled(INSTRUCTORS, scale), createdDate, report);
+
+        Random courseRandom = new Random(seed + 1);
+        int courseCount = scaled(COURSES, scale);
+        int[][] courseStudents = new int[courseCount][];
+        double[] studentCredits = new double[studentCount];
+        long[] courseIds = generateCourses(courseRandom, courseCount, instructorIds, courseStudents, studentCredits, createdDate);
+        report.setCourses(courseIds.length);
+
+        long[] studentIds = generateStudents(new Random(seed + 2), studentCredits, referenceDate, createdDate);
+        report.setStudents(studentIds.length);
+
+        report.setEnrollments(insertEnrollments(courseIds, courseStudents, studentIds));
+        report.setExceptionLogs(generateExceptionLogs(new Random(seed + 3), scaled(EXCEPTION_LOGS, scale), studentCount, courseCount,
+                referenceDate.atStartOfDay()));
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Generated dataset: {}", report);
+        return report;
+    }
+
+    private long[] generateInstructors(Random random, int count, Instant createdDate, DatasetReportDTO report) {
+
+        boolean singleTable = isInstructorSingleTable();
+        List<Instructor> instructors = new ArrayList<>(count);
+        long[] instructorIds = allocateIds("instructor", count);
+
+        for (int i = 0; i < count; i++) {
+            Instructor instructor;
+            if (random.nextDouble() < PERMANENT_INSTRUCTOR_SHARE) {
+                PermanentInstructor permanentInstructor = new PermanentInstructor();
+                permanentInstructor.setFixedSalary(4000 + 100 * random.nextInt(61));
+                instructor = permanentInstructor;
+                report.setPermanentInstructors(report.getPermanentInstructors() + 1);
+            } else {
+                VisitingResearcher visitingResearcher = new VisitingResearcher();
+                visitingResearcher.setHourlySalary(30 + random.nextInt(71));
+                instructor = visitingResearcher;
+                report.setVisitingResearchers(report.getVisitingResearchers() + 1);
+            }
+            instructor.setId(instructorIds[i]);
+            instructor.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            instructor.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            instructor.setAddress(address(random));
+            // unique by the index, like the course codes
+            instructor.setPhoneNumber(String.format("5%09d", i + 1));
+            instructor.setCreatedDate(createdDate);
+            instructor.setLastModifiedDate(createdDate);
+            instructors.add(instructor);
+        }
+
+        for (List<Instructor> batch : batches(instructors)) {
+            datasetJdbcRepository.insertInstructors(batch, singleTable);
+        }
+
+        if (!singleTable) {
+            for (List<Instructor> batch : batches(instructors)) {
+                datasetJdbcRepository.insertInstructorSubclassRows(batch);
+            }
+        }
+        return instructorIds;
+    }
+
+    /**
+     * fills courseStudents with the Student indexes of every Course (0 to MAX_STUDENTS_PER_COURSE distinct Students)
+     * and adds the Course's creditScore to studentCredits of each of them
+     */
+    private long[] generateCourses(Random random, int count, long[] instructorIds, int[][] courseStudents, double[] studentCredits,
+                                   Instant createdDate) {
+
+        List<Course> batch = new ArrayList<>(batchSize);
+        long[] courseIds = allocateIds("course", count);
+
+        for (int i = 0; i < count; i++) {
+            int department = random.nextInt(DEPARTMENT_CODES.length);
+            Instructor instructor = new Instructor();
+            instructor.setId(instructorIds[random.nextInt(instructorIds.length)]);
+
+            Course course = new Course();
+            course.setId(courseIds[i]);
+            course.setCourseName(DEPARTMENT_NAMES[department] + " " + (100 + random.nextInt(400)));
+            course.setCourseCode(DEPARTMENT_CODES[department] + String.format("%06d", i + 1));
+            course.setCreditScore(CREDIT_SCORES[random.nextInt(CREDIT_SCORES.length)]);
+            course.setCourseInstructor(instructor);
+            course.setCreatedDate(createdDate);
+            course.setLastModifiedDate(createdDate);
+
+            courseStudents[i] = distinctIndexes(random, random.nextInt(MAX_STUDENTS_PER_COURSE + 1), studentCredits.length);
+            for (int student : courseStudents[i]) {
+                studentCredits[student] += course.getCreditScore();
+            }
+            course.setEnrollmentCount(courseStudents[i].length);
+
+            batch.add(course);
+            if (batch.size() == batchSize) {
+                datasetJdbcRepository.insertCourses(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            datasetJdbcRepository.insertCourses(batch);
+        }
+        return courseIds;
+    }
+
+    private long[] generateStudents(Random random, double[] studentCredits, LocalDate referenceDate, Instant createdDate) {
+
+        // youngest birth date is the 18th birthday, oldest is one day after the 41st birthday
+        LocalDate youngest = referenceDate.minusYears(18);
+        int birthDateRange = (int) ChronoUnit.DAYS.between(referenceDate.minusYears(41).plusDays(1), youngest);
+        Gender[] genders = Gender.values();
+
+        List<Student> batch = new ArrayList<>(batchSize);
+        long[] studentIds = allocateIds("student", studentCredits.length);
+
+        for (int i = 0; i < studentCredits.length; i++) {
+            Student student = new Student();
+            student.setId(studentIds[i]);
+            student.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            student.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            student.setAddress(address(random));
+            student.setBirthDate(youngest.minusDays(random.nextInt(birthDateRange + 1)));
+            // MALE and FEMALE 47.5% each, OTHER 5%
+            student.setGender(random.nextInt(40) < 2 ? Gender.OTHER : genders[random.nextInt(2)]);
+            student.setTotalCredits(studentCredits[i]);
+            student.setCreatedDate(createdDate);
+            student.setLastModifiedDate(createdDate);
+
+            batch.add(student);
+            if (batch.size() == batchSize) {
+                datasetJdbcRepository.insertStudents(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            datasetJdbcRepository.insertStudents(batch);
+        }
+        return studentIds;
+    }
+
+    private long insertEnrollments(long[] courseIds, int[][] courseStudents, long[] studentIds) {
+
+        long inserted = 0;
+        List<long[]> batch = new ArrayList<>(batchSize);
+
+        for (int course = 0; course < courseIds.length; course++) {
+            for (int student : courseStudents[course]) {
+                batch.add(new long[]{courseIds[course], studentIds[student]});
+                if (batch.size() == batchSize) {
+                    enrollmentJdbcRepository.insertAll(batch);
+                    inserted += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            enrollmentJdbcRepository.insertAll(batch);
+            inserted += batch.size();
+        }
+        return inserted;
+    }
+
+    /**
+     * ExceptionLoggers like the ones GlobalExceptionHandler writes, spread over the EXCEPTION_LOG_DAYS days before the reference date
+     */
+    private long generateExceptionLogs(Random random, int count, int studentCount, int courseCount, LocalDateTime referenceTime) {
+
+        List<ExceptionLogger> batch = new ArrayList<>(batchSize);
+        long firstId = idAllocationJdbcRepository.allocate("exception_logger", count);
+
+        for (int i = 0; i < count; i++) {
+            ExceptionLogger exceptionLogger = exceptionLogger(random, studentCount, courseCount);
+            exceptionLogger.setId(firstId + i);
+            exceptionLogger.setTimestamp(referenceTime.minusSeconds(random.nextInt(EXCEPTION_LOG_DAYS * 86_400)));
+
+            batch.add(exceptionLogger);
+            if (batch.size() == batchSize) {
+                datasetJdbcRepository.insertExceptionLoggers(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            datasetJdbcRepository.insertExceptionLoggers(batch);
+        }
+        return count;
+    }
+
+    private static ExceptionLogger exceptionLogger(Random random, int studentCount, int courseCount) {
+        switch (random.nextInt(10)) {
+            case 0:
+            case 1:
+            case 2:
+                return new ExceptionLogger("Student with id: " + (1 + random.nextInt(2 * studentCount)) + " can not be found!", HttpStatus.NOT_FOUND);
+            case 3:
+            case 4:
+                return new ExceptionLogger("Course with id: " + (1 + random.nextInt(2 * courseCount)) + " can not be found!", HttpStatus.NOT_FOUND);
+            case 5:
+                return new ExceptionLogger("Student age must be between 18 and 40!", HttpStatus.BAD_REQUEST);
+            case 6:
+                return new ExceptionLogger("Course can maximum have 20 students!", HttpStatus.BAD_REQUEST);
+            case 7:
+                return new ExceptionLogger("A course with this course code already exists!", HttpStatus.BAD_REQUEST);
+            case 8:
+                return new ExceptionLogger("An instructor with this phone number already exists!", HttpStatus.BAD_REQUEST);
+            default:
+                return new ExceptionLogger("Request conflicts with existing data!", HttpStatus.CONFLICT);
+        }
+    }
+
+    private static String address(Random random) {
+        return (1 + random.nextInt(200)) + " " + STREETS[random.nextInt(STREETS.length)] + " Street";
+    }
+
+    // draws again on a duplicate, cheap for at most MAX_STUDENTS_PER_COURSE indexes out of all Students
+    private static int[] distinctIndexes(Random random, int count, int bound) {
+        int[] indexes = new int[Math.min(count, bound)];
+        for (int i = 0; i < indexes.length; i++) {
+            int candidate;
+            do {
+                candidate = random.nextInt(bound);
+            } while (contains(indexes, i, candidate));
+            indexes[i] = candidate;
+        }
+        return indexes;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long[] allocateIds(String table, int count) {
+        long firstId = idAllocationJdbcRepository.allocate(table, count);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = firstId + i;
+        }
+        return ids;
+    }
+
+    private <T> List<List<T>> batches(List<T> rows) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            batches.add(rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+        return batches;
+    }
+
+    private void checkIfEmpty(String table) {
+        if (datasetJdbcRepository.countRows(table) > 0) {
+            throw new IllegalStateException("Dataset can only be generated into an empty database, " + table + " table has rows!");
+        }
+    }
+
+    private boolean isInstructorSingleTable() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        return sessionFactory.getMetamodel().entityPersister(Instructor.class) instanceof SingleTableEntityPersister;
+    }
+
+    private static int scaled(int count, double scale) {
+        return Math.max(1, (int) Math.round(count * scale));
+    }
+
+}
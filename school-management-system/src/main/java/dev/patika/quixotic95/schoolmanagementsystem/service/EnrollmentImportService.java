@@ -0,0 +1,240 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportRowErrorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.ImportFileNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentNumberForOneCourseExceededException;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.EnrollmentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseCodeIdView;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentIdView;
+import dev.patika.quixotic95.schoolmanagementsystem.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * EnrollmentImportService class for:
+ * enrolling Students to Courses in bulk from a CSV file of (courseCode, studentId) pairs
+ * writing the student_course rows directly instead of rebuilding whole Courses
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrollmentImportService {
+
+    // number of rows resolved and inserted together in one transaction
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * reads the CSV file row by row, header must have courseCode and studentId columns
+     * rows are processed in chunks, see importChunk()
+     * invalid rows are added to the report with their line numbers
+     *
+     * @param in - CSV file content
+     * @return ImportReportDTO - number of processed, imported and failed rows with the row errors
+     */
+    public ImportReportDTO importEnrollments(InputStream in) throws IOException {
+
+        ImportReportDTO report = new ImportReportDTO();
+
+        try (CsvReader csv = new CsvReader(in)) {
+
+            if (!csv.hasColumn("courseCode") || !csv.hasColumn("studentId")) {
+                throw new ImportFileNotValidException("CSV header must have the columns: [courseCode, studentId]");
+            }
+
+            List<EnrollmentRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            for (List<String> row = csv.next(); row != null; row = csv.next()) {
+                report.setProcessedRows(report.getProcessedRows() + 1);
+
+                String courseCode = csv.get(row, "courseCode");
+                if (courseCode == null || courseCode.isEmpty()) {
+                    report.addError(csv.getLineNumber(), "course code is required!");
+                    continue;
+                }
+
+                long studentId;
+                try {
+                    studentId = Long.parseLong(csv.get(row, "studentId"));
+                } catch (NumberFormatException | NullPointerException exc) {
+                    report.addError(csv.getLineNumber(), "student id must be a number!");
+                    continue;
+                }
+
+                chunk.add(new EnrollmentRow(csv.getLineNumber(), courseCode, studentId));
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, report);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, report);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * helper method for importing one chunk in its own transaction
+     * resolves all course codes of the chunk with one query before the transaction
+     * locks the rows of the chunk's Courses in id order (lockCourses()), so concurrent enrollments can not pass the capacity
+     * and two imports of the same Courses can not deadlock
+     * resolves student ids and current enrollments of the chunk with one query each
+     * checks every row in file order: Course and Student must exist, Student must not be enrolled already
+     * and Course must not pass 20 Students (SchoolRules.checkCourseCapacity())
+     * inserts the accepted rows with one JDBC batch and updates the counters (updateCounters())
+     * row errors are added to the report after the transaction ends, if the chunk fails on database
+     * its accepted rows are reported as not saved together with them, in line order
+     */
+    private void importChunk(List<EnrollmentRow> chunk, ImportReportDTO report) {
+
+        Set<String> courseCodes = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        for (EnrollmentRow row : chunk) {
+            courseCodes.add(row.courseCode);
+            studentIds.add(row.studentId);
+        }
+
+        Map<String, Long> courseIds = new HashMap<>();
+        for (CourseCodeIdView c : courseRepository.findCourseIdsByCourseCodes(courseCodes)) {
+            courseIds.put(c.getCourseCode(), c.getId());
+        }
+
+        List<ImportRowErrorDTO> rowErrors = new ArrayList<>();
+        List<Long> acceptedLines = new ArrayList<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+
+                rowErrors.clear();
+                acceptedLines.clear();
+
+                // first statement of the transaction, so the enrollments below are read after the locks are taken
+                if (!courseIds.isEmpty()) {
+                    courseRepository.lockCourses(new TreeSet<>(courseIds.values()));
+                }
+
+                Set<Long> existingStudentIds = new HashSet<>(studentRepository.findExistingIds(studentIds));
+
+                Map<Long, Set<Long>> enrolledStudents = new HashMap<>();
+                for (Long courseId : courseIds.values()) {
+                    enrolledStudents.put(courseId, new HashSet<>());
+                }
+                if (!courseIds.isEmpty()) {
+                    for (CourseStudentIdView e : courseRepository.findCourseStudentIds(courseIds.values())) {
+                        enrolledStudents.get(e.getCourseId()).add(e.getStudentId());
+                    }
+                }
+
+                List<long[]> accepted = new ArrayList<>();
+                for (EnrollmentRow row : chunk) {
+
+                    Long courseId = courseIds.get(row.courseCode);
+                    if (courseId == null) {
+                        rowErrors.add(new ImportRowErrorDTO(row.line, "Course with code: " + row.courseCode + " can not be found!"));
+                        continue;
+                    }
+                    if (!existingStudentIds.contains(row.studentId)) {
+                        rowErrors.add(new ImportRowErrorDTO(row.line, "Student with id: " + row.studentId + " can not be found!"));
+                        continue;
+                    }
+
+                    Set<Long> courseStudents = enrolledStudents.get(courseId);
+                    if (courseStudents.contains(row.studentId)) {
+                        rowErrors.add(new ImportRowErrorDTO(row.line,
+                                "Student with id: " + row.studentId + " is already enrolled in course " + row.courseCode + "!"));
+                        continue;
+                    }
+                    try {
+                        SchoolRules.checkCourseCapacity(courseStudents.size() + 1);
+                    } catch (StudentNumberForOneCourseExceededException exc) {
+                        rowErrors.add(new ImportRowErrorDTO(row.line, exc.getMessage()));
+                        continue;
+                    }
+
+                    courseStudents.add(row.studentId);
+                    accepted.add(new long[]{courseId, row.studentId});
+                    acceptedLines.add(row.line);
+                }
+
+                if (!accepted.isEmpty()) {
+                    enrollmentJdbcRepository.insertAll(accepted);
+                    updateCounters(accepted);
+                }
+            });
+
+            for (ImportRowErrorDTO error : rowErrors) {
+                report.addError(error.getLine(), error.getMessage());
+            }
+            report.setImportedRows(report.getImportedRows() + acceptedLines.size());
+        } catch (DataAccessException exc) {
+            log.error("Enrollment import chunk could not be saved", exc);
+
+            for (long line : acceptedLines) {
+                rowErrors.add(new ImportRowErrorDTO(line, "Enrollment was not saved, its chunk failed on database!"));
+            }
+            rowErrors.sort(Comparator.comparingLong(ImportRowErrorDTO::getLine));
+            for (ImportRowErrorDTO error : rowErrors) {
+                report.addError(error.getLine(), error.getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * helper method for updating enrollmentCount of the Courses and totalCredits of the Students
+     * with two statements per Course of the chunk
+     *
+     * @param accepted - inserted (courseId, studentId) pairs
+     */
+    private void updateCounters(List<long[]> accepted) {
+
+        Map<Long, List<Long>> studentsByCourse = new HashMap<>();
+        for (long[] e : accepted) {
+            studentsByCourse.computeIfAbsent(e[0], id -> new ArrayList<>()).add(e[1]);
+        }
+
+        studentsByCourse.forEach((courseId, courseStudentIds) -> {
+            courseRepository.addEnrollmentCount(courseId, courseStudentIds.size());
+            studentRepository.addCourseCredits(courseId, courseStudentIds);
+        });
+    }
+
+    /**
+     * one parsed line of the CSV file
+     */
+    private static class EnrollmentRow {
+
+        private final long line;
+        private final String courseCode;
+        private final long studentId;
+
+        private EnrollmentRow(long line, String courseCode, long studentId) {
+            this.line = line;
+            this.courseCode = courseCode;
+            this.studentId = studentId;
+        }
+    }
+}
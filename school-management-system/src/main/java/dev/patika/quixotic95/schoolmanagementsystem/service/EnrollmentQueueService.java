@@ -0,0 +1,338 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.EnrollmentQueueFullException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentNumberForOneCourseExceededException;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.EnrollmentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.ENROLLED;
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.PENDING;
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.REJECTED;
+
+/**
+ * EnrollmentQueueService class for:
+ * accepting enrollment requests into bounded in-process queues during registration day (surge mode)
+ * applying them in batches with one worker thread per queue, so at most one database connection per queue is used
+ * <p>
+ * requests are partitioned by course id, so all requests of a Course are applied by the same worker in arrival order
+ * and workers never wait for each other's Course locks
+ */
+@Slf4j
+@Service
+public class EnrollmentQueueService {
+
+    // idle workers check this often whether the service is stopping
+    private static final long POLL_MILLIS = 100;
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean surgeMode;
+    private final int batchSize;
+    private final long ticketRetentionMillis;
+    private final long shutdownTimeoutMillis;
+
+    private final List<BlockingQueue<QueuedEnrollment>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<String, QueuedEnrollment> tickets = new ConcurrentHashMap<>();
+
+    // accepting: submit() puts new requests into the queues, abandoned: workers stop after their current batch
+    private volatile boolean accepting = true;
+    private volatile boolean abandoned;
+
+    public EnrollmentQueueService(CourseRepository courseRepository,
+                                  StudentRepository studentRepository,
+                                  EnrollmentJdbcRepository enrollmentJdbcRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${enrollment.surge-mode:false}") boolean surgeMode,
+                                  @Value("${enrollment.surge.partitions:4}") int partitionCount,
+                                  @Value("${enrollment.surge.queue-capacity:5000}") int queueCapacity,
+                                  @Value("${enrollment.surge.batch-size:200}") int batchSize,
+                                  @Value("${enrollment.surge.ticket-retention-minutes:10}") long ticketRetentionMinutes,
+                                  @Value("${enrollment.surge.shutdown-timeout-millis:10000}") long shutdownTimeoutMillis) {
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.enrollmentJdbcRepository = enrollmentJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.surgeMode = surgeMode;
+        this.batchSize = batchSize;
+        this.ticketRetentionMillis = TimeUnit.MINUTES.toMillis(ticketRetentionMinutes);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    /**
+     * starts one worker thread per partition if surge mode is on
+     */
+    @PostConstruct
+    public void startWorkers() {
+        if (!surgeMode) {
+            return;
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<QueuedEnrollment> partition = partitions.get(i);
+            Thread worker = new Thread(() -> processPartition(partition), "enrollment-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * stops accepting new requests, then waits until the workers have applied the queued ones (at most shutdown-timeout)
+     * requests which are still in the queues after that are rejected, so no ticket stays PENDING
+     */
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        accepting = false;
+
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        abandoned = true;
+
+        int pending = 0;
+        for (BlockingQueue<QueuedEnrollment> partition : partitions) {
+            for (QueuedEnrollment enrollment = partition.poll(); enrollment != null; enrollment = partition.poll()) {
+                enrollment.finish(REJECTED, "Enrollment queue was stopped before the request was applied!");
+                pending++;
+            }
+        }
+        if (pending > 0) {
+            log.warn("{} queued enrollments are rejected on shutdown", pending);
+        }
+    }
+
+    public boolean isSurgeMode() {
+        return surgeMode;
+    }
+
+    /**
+     * puts the enrollment request into its Course's partition without touching database
+     * if the partition is full or the service is stopping, throws an exception instead of waiting
+     *
+     * @param courseId  - ID of the Course
+     * @param studentId - ID of the Student which will be enrolled
+     * @return EnrollmentTicketDTO - PENDING ticket to poll the outcome with
+     */
+    public EnrollmentTicketDTO submit(long courseId, long studentId) {
+
+        if (!accepting) {
+            throw new EnrollmentQueueFullException("Enrollment queue is stopping, please try again later!");
+        }
+
+        QueuedEnrollment enrollment = new QueuedEnrollment(UUID.randomUUID().toString(), courseId, studentId);
+        tickets.put(enrollment.ticketId, enrollment);
+
+        BlockingQueue<QueuedEnrollment> partition = partitions.get(partitionOf(courseId));
+        if (!partition.offer(enrollment)) {
+            tickets.remove(enrollment.ticketId);
+            throw new EnrollmentQueueFullException("Enrollment queue is full, please try again later!");
+        }
+        // stopWorkers() may have started after the check above, then the request is taken back unless a worker has it already
+        if (!accepting && partition.remove(enrollment)) {
+            tickets.remove(enrollment.ticketId);
+            throw new EnrollmentQueueFullException("Enrollment queue is stopping, please try again later!");
+        }
+        return enrollment.toDto();
+    }
+
+    /**
+     * finds the ticket of a queued enrollment request
+     * if it doesn't exist or is already removed after its retention time, throws an exception
+     *
+     * @param ticketId - ID of the ticket returned by submit()
+     * @return EnrollmentTicketDTO - current status of the request
+     */
+    public EnrollmentTicketDTO findTicketById(String ticketId) {
+        QueuedEnrollment enrollment = tickets.get(ticketId);
+        if (enrollment == null) {
+            throw new EntityNotFoundException("Enrollment ticket with id: " + ticketId + " can not be found!");
+        }
+        return enrollment.toDto();
+    }
+
+    /**
+     * removes the tickets which are finished longer than the retention time ago
+     */
+    @Scheduled(fixedDelayString = "${enrollment.surge.ticket-cleanup-interval-millis:60000}")
+    public void removeFinishedTickets() {
+        long threshold = System.currentTimeMillis() - ticketRetentionMillis;
+        tickets.values().removeIf(e -> e.finishedAt != 0 && e.finishedAt < threshold);
+    }
+
+    private int partitionOf(long courseId) {
+        return (int) Math.floorMod(courseId, (long) partitions.size());
+    }
+
+    /**
+     * worker loop: waits for the first request, then takes the already queued ones up to batchSize without waiting
+     * after stopWorkers() the loop goes on until its partition is empty (or the shutdown-timeout is over)
+     */
+    private void processPartition(BlockingQueue<QueuedEnrollment> partition) {
+
+        List<QueuedEnrollment> batch = new ArrayList<>(batchSize);
+
+        while (!abandoned && (accepting || !partition.isEmpty())) {
+            QueuedEnrollment first;
+            try {
+                first = partition.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            partition.drainTo(batch, batchSize - 1);
+
+            Map<Long, List<QueuedEnrollment>> byCourse = new LinkedHashMap<>();
+            for (QueuedEnrollment enrollment : batch) {
+                byCourse.computeIfAbsent(enrollment.courseId, id -> new ArrayList<>()).add(enrollment);
+            }
+            byCourse.forEach(this::applyCourseBatch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * helper method for applying the queued requests of one Course in one transaction
+     * locks the Course row first (lockCourses()), then reads existing Students, current enrollments and enrollmentCount once
+     * checks every request in arrival order: Student must exist and not be enrolled already,
+     * Course must not pass 20 Students (SchoolRules.checkCourseCapacity())
+     * inserts the accepted requests with one JDBC batch and updates the counters
+     * if the transaction fails, the requests which were already rejected keep their reason
+     * and all the others are rejected as not saved, the cause is only logged
+     */
+    private void applyCourseBatch(long courseId, List<QueuedEnrollment> batch) {
+
+        Set<Long> studentIds = new HashSet<>();
+        for (QueuedEnrollment enrollment : batch) {
+            studentIds.add(enrollment.studentId);
+        }
+
+        List<QueuedEnrollment> accepted = new ArrayList<>();
+        Map<QueuedEnrollment, String> rejected = new LinkedHashMap<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+
+                accepted.clear();
+                rejected.clear();
+
+                if (courseRepository.lockCourses(Collections.singleton(courseId)).isEmpty()) {
+                    for (QueuedEnrollment enrollment : batch) {
+                        rejected.put(enrollment, "Course with id: " + courseId + " can not be found!");
+                    }
+                    return;
+                }
+
+                Set<Long> existingStudentIds = new HashSet<>(studentRepository.findExistingIds(studentIds));
+                Set<Long> enrolledStudentIds = new HashSet<>(courseRepository.findEnrolledStudentIds(courseId, studentIds));
+                int courseStudents = courseRepository.findEnrollmentCountById(courseId);
+
+                List<long[]> rows = new ArrayList<>();
+                List<Long> acceptedStudentIds = new ArrayList<>();
+                for (QueuedEnrollment enrollment : batch) {
+
+                    if (!existingStudentIds.contains(enrollment.studentId)) {
+                        rejected.put(enrollment, "Student with id: " + enrollment.studentId + " can not be found!");
+                        continue;
+                    }
+                    if (enrolledStudentIds.contains(enrollment.studentId)) {
+                        rejected.put(enrollment, "Student with id: " + enrollment.studentId + " is already enrolled in course with id: " + courseId + "!");
+                        continue;
+                    }
+                    try {
+                        SchoolRules.checkCourseCapacity(courseStudents + 1);
+                    } catch (StudentNumberForOneCourseExceededException exc) {
+                        rejected.put(enrollment, exc.getMessage());
+                        continue;
+                    }
+
+                    courseStudents++;
+                    enrolledStudentIds.add(enrollment.studentId);
+                    accepted.add(enrollment);
+                    rows.add(new long[]{courseId, enrollment.studentId});
+                    acceptedStudentIds.add(enrollment.studentId);
+                }
+
+                if (!rows.isEmpty()) {
+                    enrollmentJdbcRepository.insertAll(rows);
+                    courseRepository.addEnrollmentCount(courseId, rows.size());
+                    studentRepository.addCourseCredits(courseId, acceptedStudentIds);
+                }
+            });
+        } catch (RuntimeException exc) {
+            log.error("Enrollments of course with id: {} could not be applied", courseId, exc);
+            for (QueuedEnrollment enrollment : batch) {
+                rejected.putIfAbsent(enrollment, "Enrollment could not be saved!");
+            }
+            accepted.clear();
+        }
+
+        for (QueuedEnrollment enrollment : accepted) {
+            enrollment.finish(ENROLLED, null);
+        }
+        rejected.forEach((enrollment, message) -> enrollment.finish(REJECTED, message));
+    }
+
+    /**
+     * one enrollment request waiting in a queue, status fields are written by the worker and read by pollers
+     */
+    private static class QueuedEnrollment {
+
+        private final String ticketId;
+        private final long courseId;
+        private final long studentId;
+        private volatile EnrollmentTicketDTO.Status status = PENDING;
+        private volatile String message;
+        private volatile long finishedAt;
+
+        private QueuedEnrollment(String ticketId, long courseId, long studentId) {
+            this.ticketId = ticketId;
+            this.courseId = courseId;
+            this.studentId = studentId;
+        }
+
+        private void finish(EnrollmentTicketDTO.Status status, String message) {
+            this.message = message;
+            this.status = status;
+            this.finishedAt = System.currentTimeMillis();
+        }
+
+        private EnrollmentTicketDTO toDto() {
+            return new EnrollmentTicketDTO(ticketId, courseId, studentId, status, message);
+        }
+    }
+}
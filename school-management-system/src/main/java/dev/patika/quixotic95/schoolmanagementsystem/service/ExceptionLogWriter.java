@@ -0,0 +1,258 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLogWriterStatsDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.ExceptionLoggerJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.IdAllocationJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ExceptionLogWriter class for:
+ * taking the ExceptionLoggers of GlobalExceptionHandler on the request thread without touching database
+ * writing them in JDBC batches from one background thread, so a burst of errors uses one database connection
+ * <p>
+ * the buffer is a lock-free linked queue bounded by an atomic counter, a full buffer is handled by the OverflowPolicy
+ * buffered events are written on shutdown before the datasource is closed
+ */
+@Slf4j
+@Service
+public class ExceptionLogWriter {
+
+    /**
+     * what submit() does when the buffer is full
+     */
+    public enum OverflowPolicy {
+        // the oldest buffered event is dropped for the new one
+        DROP_OLDEST,
+        // the request thread waits up to block-timeout for space, then the new event is dropped
+        BLOCK,
+        // once the buffer is half full only every sample-rate'th event is taken, the new event is dropped if it is full
+        SAMPLE
+    }
+
+    private static final String EXCEPTION_LOGGER_TABLE = "exception_logger";
+
+    // how long a blocked request thread parks before it checks the buffer again
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final IdAllocationJdbcRepository idAllocationJdbcRepository;
+    private final ExceptionLoggerJdbcRepository exceptionLoggerJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final OverflowPolicy overflowPolicy;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final int sampleRate;
+    private final long shutdownTimeoutMillis;
+
+    // size counts the reserved places of the buffer, it can be ahead of the queue while an event is being added
+    private final Queue<ExceptionLogger> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sampled = new AtomicLong();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public ExceptionLogWriter(IdAllocationJdbcRepository idAllocationJdbcRepository,
+                              ExceptionLoggerJdbcRepository exceptionLoggerJdbcRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${exception-log.writer.overflow-policy:drop-oldest}") String overflowPolicy,
+                              @Value("${exception-log.writer.capacity:10000}") int capacity,
+                              @Value("${exception-log.writer.batch-size:500}") int batchSize,
+                              @Value("${exception-log.writer.flush-interval-millis:200}") long flushIntervalMillis,
+                              @Value("${exception-log.writer.block-timeout-millis:50}") long blockTimeoutMillis,
+                              @Value("${exception-log.writer.sample-rate:10}") int sampleRate,
+                              @Value("${exception-log.writer.shutdown-timeout-millis:10000}") long shutdownTimeoutMillis) {
+        this.idAllocationJdbcRepository = idAllocationJdbcRepository;
+        this.exceptionLoggerJdbcRepository = exceptionLoggerJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * starts the writer thread
+     */
+    @PostConstruct
+    public void startWriter() {
+        running = true;
+        Thread thread = new Thread(this::writeLoop, "exception-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * stops the writer thread after it has written the buffered events (waits at most shutdown-timeout)
+     * events which could not be written until then are counted as dropped
+     */
+    @PreDestroy
+    public void stopWriter() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(shutdownTimeoutMillis);
+        }
+        int pending = size.get();
+        if (pending > 0) {
+            dropped.add(pending);
+            log.warn("{} buffered exception logs are dropped on shutdown", pending);
+        }
+    }
+
+    /**
+     * puts the ExceptionLogger into the buffer, it is written by the writer thread within flush-interval
+     * if the buffer is full, the event is handled by the OverflowPolicy instead of failing the request
+     *
+     * @param exceptionLogger - new ExceptionLogger, not changed by the caller afterwards (its id is set by the writer)
+     */
+    public void submit(ExceptionLogger exceptionLogger) {
+
+        submitted.increment();
+
+        if (overflowPolicy == OverflowPolicy.SAMPLE && size.get() >= capacity / 2 && sampled.getAndIncrement() % sampleRate != 0) {
+            dropped.increment();
+            return;
+        }
+
+        long blockedSince = 0;
+        while (true) {
+            int current = size.get();
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    buffer.offer(exceptionLogger);
+                    if (current + 1 == batchSize) {
+                        wakeWriter();
+                    }
+                    return;
+                }
+                continue;
+            }
+
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    // the place of the removed event is taken over, so size is not changed
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                        buffer.offer(exceptionLogger);
+                        return;
+                    }
+                    break;
+                case BLOCK:
+                    if (blockedSince == 0) {
+                        blockedSince = System.nanoTime();
+                    } else if (!running || System.nanoTime() - blockedSince >= blockTimeoutNanos) {
+                        dropped.increment();
+                        return;
+                    }
+                    wakeWriter();
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    break;
+                default:
+                    dropped.increment();
+                    return;
+            }
+        }
+    }
+
+    /**
+     * writes the events which are buffered at the moment on the calling thread
+     */
+    public void flush() {
+        writeBuffered(new ArrayList<>(batchSize));
+    }
+
+    /**
+     * @return ExceptionLogWriterStatsDTO - configuration and counters of the writer since start
+     */
+    public ExceptionLogWriterStatsDTO getStats() {
+        return new ExceptionLogWriterStatsDTO(overflowPolicy.name(), capacity, size.get(),
+                submitted.sum(), flushed.sum(), dropped.sum(), failed.sum());
+    }
+
+    private void wakeWriter() {
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * writer loop: waits flush-interval (or until a full batch is buffered), then writes the buffer in batches
+     * after stopWriter() the buffer is written once more, so nothing submitted before it is left behind
+     */
+    private void writeLoop() {
+
+        List<ExceptionLogger> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            writeBuffered(batch);
+        }
+        writeBuffered(batch);
+    }
+
+    private void writeBuffered(List<ExceptionLogger> batch) {
+        while (true) {
+            ExceptionLogger exceptionLogger;
+            while (batch.size() < batchSize && (exceptionLogger = buffer.poll()) != null) {
+                size.decrementAndGet();
+                batch.add(exceptionLogger);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * helper method for writing one batch: reserves its ids (IdAllocationJdbcRepository) and inserts it with one JDBC batch
+     * a batch which could not be written is counted as failed and not retried, so a database outage can not fill the heap
+     */
+    private void writeBatch(List<ExceptionLogger> batch) {
+        try {
+            long firstId = idAllocationJdbcRepository.allocate(EXCEPTION_LOGGER_TABLE, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(firstId + i);
+            }
+            transactionTemplate.executeWithoutResult(status -> exceptionLoggerJdbcRepository.insertAll(batch));
+            flushed.add(batch.size());
+        } catch (RuntimeException exc) {
+            failed.add(batch.size());
+            log.error("{} exception logs could not be written", batch.size(), exc);
+        }
+    }
+}
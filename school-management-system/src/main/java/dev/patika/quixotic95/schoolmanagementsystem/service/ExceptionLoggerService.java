@@ -4,6 +4,7 @@ import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLoggerDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.mapper.ExceptionLoggerMapper;
 import dev.patika.quixotic95.schoolmanagementsystem.repository.ExceptionLoggerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,13 +28,16 @@ public class ExceptionLoggerService {
     /**
      * checks if date is sent or not
      * <p>
-     * if sent, calls findByStatusCodeContainingAndTimestampBetween() from repository with given date and type
+     * if the type is a status code ("404", "NOT_FOUND" or "404 NOT_FOUND"), it is searched as the stored status code ("404 NOT_FOUND")
+     * with the exact match finders, which use the index of status_code and timestamp.
+     * other types are searched with the LIKE keyword through the Containing finders.
+     * <p>
+     * if sent, calls findByStatusCodeAndTimestampBetween() from repository with given date and type
      * for date, parses String date to two LocalDateTime variable.
      * for example, string 2021-09-06 becomes 2021-09-06 00:00:00 and 2021-09-07 00:00:00
      * and searches the exception between these days.
      * <p>
-     * if not sent, calls findByStatusCodeContaining() from repository with given type
-     * searches database with LIKE keyword for the given type.
+     * if not sent, calls findByStatusCode() from repository with given type
      *
      * @param type - type/status code of the exception. Could take code like:"400", "404" or "BAD_REQUEST", "NOT_FOUND"
      * @param date - thrown date of the exception
@@ -41,15 +45,21 @@ public class ExceptionLoggerService {
      */
     public List<ExceptionLoggerDTO> findByTypeAndOrDate(String type, String date) {
 
+        HttpStatus status = resolveStatus(type);
+
         if (!(date == null)) {
             LocalDate parsedDate = LocalDate.parse(date);
-            return exceptionLoggerRepository.findByStatusCodeContainingAndTimestampBetween(type, parsedDate.atStartOfDay(), parsedDate.plusDays(1).atStartOfDay())
+            return (status == null
+                    ? exceptionLoggerRepository.findByStatusCodeContainingAndTimestampBetween(type, parsedDate.atStartOfDay(), parsedDate.plusDays(1).atStartOfDay())
+                    : exceptionLoggerRepository.findByStatusCodeAndTimestampBetween(status.toString(), parsedDate.atStartOfDay(), parsedDate.plusDays(1).atStartOfDay()))
                     .orElseThrow(() -> new EntityNotFoundException("Found no exception log on database like this."))
                     .stream()
                     .map(exceptionLoggerMapper::toDto)
                     .collect(Collectors.toList());
         } else {
-            return exceptionLoggerRepository.findByStatusCodeContaining(type)
+            return (status == null
+                    ? exceptionLoggerRepository.findByStatusCodeContaining(type)
+                    : exceptionLoggerRepository.findByStatusCode(status.toString()))
                     .orElseThrow(() -> new EntityNotFoundException("Found no exception log on database like this.")).stream()
                     .map(exceptionLoggerMapper::toDto)
                     .collect(Collectors.toList());
@@ -58,4 +68,19 @@ public class ExceptionLoggerService {
 
 
     }
+
+    /**
+     * resolves the HttpStatus of a type like "404", "NOT_FOUND" or "404 NOT_FOUND" (the stored form, see ExceptionLogger)
+     *
+     * @param type - type/status code of the exception
+     * @return HttpStatus - the status of the type, null if the type is not a status code
+     */
+    private static HttpStatus resolveStatus(String type) {
+        for (HttpStatus status : HttpStatus.values()) {
+            if (type.equals(String.valueOf(status.value())) || type.equalsIgnoreCase(status.name()) || type.equalsIgnoreCase(status.toString())) {
+                return status;
+            }
+        }
+        return null;
+    }
 }
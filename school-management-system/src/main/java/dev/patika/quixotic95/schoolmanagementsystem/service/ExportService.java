@@ -0,0 +1,167 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.InstructorMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.InstructorRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseStudentRowView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * ExportService class for:
+ * streaming all Students, Courses and Instructors as newline-delimited JSON (one DTO per line)
+ * rows are read from forward-only stream queries and written one by one, so memory usage does not grow with table size
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ExportService {
+
+    // number of written lines between output flushes and persistence context clears
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final InstructorRepository<?> instructorRepository;
+    private final InstructorMapper instructorMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * calls streamStudentDTOsAfter() from repository
+     * writes every StudentDTO with id greater than given id as one line
+     *
+     * @param after - ID of the last exported Student, export starts after it. 0 for a full export
+     * @param out   - response stream
+     */
+    public void exportStudents(long after, OutputStream out) throws IOException {
+
+        ObjectWriter writer = lineWriter(StudentDTO.class);
+
+        try (Stream<StudentDTO> students = studentRepository.streamStudentDTOsAfter(after);
+             JsonGenerator generator = newGenerator(out)) {
+
+            long written = 0;
+            for (Iterator<StudentDTO> it = students.iterator(); it.hasNext(); ) {
+                writeLine(writer, generator, it.next(), ++written);
+            }
+        }
+    }
+
+    /**
+     * calls streamCourseStudentRowsAfter() from repository
+     * Course rows come ordered by Course id, one row for each Student of the Course
+     * consecutive rows of the same Course are collected into one CourseDTO which is written as one line
+     *
+     * @param after - ID of the last exported Course, export starts after it. 0 for a full export
+     * @param out   - response stream
+     */
+    public void exportCourses(long after, OutputStream out) throws IOException {
+
+        ObjectWriter writer = lineWriter(CourseDTO.class);
+
+        try (Stream<CourseStudentRowView> rows = courseRepository.streamCourseStudentRowsAfter(after);
+             JsonGenerator generator = newGenerator(out)) {
+
+            long written = 0;
+            CourseDTO current = null;
+
+            for (Iterator<CourseStudentRowView> it = rows.iterator(); it.hasNext(); ) {
+                CourseStudentRowView row = it.next();
+
+                if (current == null || current.getId() != row.getId()) {
+                    if (current != null) {
+                        writeLine(writer, generator, current, ++written);
+                    }
+                    // a Course without Instructor is written with instructorId 0, like a CourseDTO without one
+                    long instructorId = row.getInstructorId() == null ? 0 : row.getInstructorId();
+                    current = new CourseDTO(row.getId(), row.getCourseName(), row.getCourseCode(), row.getCreditScore(), instructorId, row.getEnrollmentCount());
+                }
+
+                if (row.getStudentId() != null) {
+                    current.getStudentIds().add(row.getStudentId());
+                }
+            }
+
+            if (current != null) {
+                writeLine(writer, generator, current, ++written);
+            }
+        }
+    }
+
+    /**
+     * calls streamInstructorsAfter() from repository
+     * maps every Instructor to its related InstructorDTO and writes it as one line
+     * loaded Instructors are detached from the persistence context periodically to keep memory flat
+     *
+     * @param after - ID of the last exported Instructor, export starts after it. 0 for a full export
+     * @param out   - response stream
+     */
+    public void exportInstructors(long after, OutputStream out) throws IOException {
+
+        ObjectWriter writer = lineWriter(InstructorDTO.class);
+
+        try (Stream<Instructor> instructors = instructorRepository.streamInstructorsAfter(after);
+             JsonGenerator generator = newGenerator(out)) {
+
+            long written = 0;
+            for (Iterator<Instructor> it = instructors.iterator(); it.hasNext(); ) {
+                Instructor i = it.next();
+
+                InstructorDTO dto;
+                if (i instanceof PermanentInstructor) {
+                    dto = instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO((PermanentInstructor) i);
+                } else {
+                    dto = instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO((VisitingResearcher) i);
+                }
+
+                writeLine(writer, generator, dto, ++written);
+
+                if (written % FLUSH_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * helper method for writing one DTO followed by a new line
+     * flushes the output every FLUSH_INTERVAL lines so the client receives data while the export is running
+     */
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, Object value, long written) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+
+        if (written % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+
+    private ObjectWriter lineWriter(Class<?> type) {
+        return objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private JsonGenerator newGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+}
@@ -1,21 +1,34 @@
 package dev.patika.quixotic95.schoolmanagementsystem.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.VisitingResearcher;
-import dev.patika.quixotic95.schoolmanagementsystem.exception.InstructorIsAlreadyExistException;
 import dev.patika.quixotic95.schoolmanagementsystem.mapper.InstructorMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
 import dev.patika.quixotic95.schoolmanagementsystem.repository.InstructorRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.PermanentInstructorRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.VisitingResearcherRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * InstructorService class for:
@@ -28,56 +41,151 @@ import java.util.List;
 public class InstructorService {
 
     private final InstructorRepository<?> instructorRepository;
+    private final CourseRepository courseRepository;
+    private final PermanentInstructorRepository permanentInstructorRepository;
+    private final VisitingResearcherRepository visitingResearcherRepository;
+    private final StudentRepository studentRepository;
     private final InstructorMapper instructorMapper;
+    private final JsonMergePatch jsonMergePatch;
 
     /**
-     * calls findAll() method from repository
-     * checks the Instructors' subclass types and
-     * maps returned Instructors to related InstructorDTOs
+     * calls findPermanentInstructorDTOsAfter() and findVisitingResearcherDTOsAfter() methods from the typed repositories
+     * to get the Instructors of both types after given id (keyset pagination)
+     * InstructorDTOs are created directly by the queries, Instructor entities are not loaded
+     * merges both lists by id and sets the next cursor of the page if there are more Instructors
      *
-     * @return List<InstructorDTO> - InstructorDTO list
+     * @param after - ID of the last Instructor of the previous page. 0 for the first page
+     * @param limit - maximum number of Instructors in the page
+     * @return KeysetPageDTO<InstructorDTO> - InstructorDTO page with next cursor
      */
-    public List<InstructorDTO> findAllInstructors() {
+    public KeysetPageDTO<InstructorDTO> findAllInstructors(long after, int limit) {
 
-        List<Instructor> foundInstructors = instructorRepository.findAll();
+        Pageable rows = KeysetPagination.firstRows(limit);
 
-        List<InstructorDTO> result = new ArrayList<>();
+        List<InstructorDTO> result = new ArrayList<>(rows.getPageSize() * 2);
+        result.addAll(permanentInstructorRepository.findPermanentInstructorDTOsAfter(after, rows));
+        result.addAll(visitingResearcherRepository.findVisitingResearcherDTOsAfter(after, rows));
+        result.sort(Comparator.comparingLong(InstructorDTO::getId));
 
-        for (Instructor i : foundInstructors) {
-            if (i.getClass() == PermanentInstructor.class) {
-                result.add(instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO((PermanentInstructor) i));
-            } else {
-                result.add(instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO((VisitingResearcher) i));
-            }
-        }
-        return result;
+        return KeysetPagination.toPage(result.subList(0, Math.min(result.size(), rows.getPageSize())), limit, InstructorDTO::getId);
 
     }
 
     /**
-     * calls findById() method from repository with given instructorId
-     * checks the foundInstructor if it's a PermanentInstructor or VisitingResearcher
-     * maps found Instructor to related InstructorDTO
+     * calls findPermanentInstructorDTOsAfter() method from repository to get the PermanentInstructors after given id (keyset pagination)
+     * only the PermanentInstructor tables are read
+     *
+     * @param after - ID of the last PermanentInstructor of the previous page. 0 for the first page
+     * @param limit - maximum number of PermanentInstructors in the page
+     * @return KeysetPageDTO<PermanentInstructorDTO> - PermanentInstructorDTO page with next cursor
+     */
+    public KeysetPageDTO<PermanentInstructorDTO> findAllPermanentInstructors(long after, int limit) {
+        List<PermanentInstructorDTO> rows = permanentInstructorRepository.findPermanentInstructorDTOsAfter(after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toPage(rows, limit, PermanentInstructorDTO::getId);
+    }
+
+    /**
+     * calls findVisitingResearcherDTOsAfter() method from repository to get the VisitingResearchers after given id (keyset pagination)
+     * only the VisitingResearcher tables are read
+     *
+     * @param after - ID of the last VisitingResearcher of the previous page. 0 for the first page
+     * @param limit - maximum number of VisitingResearchers in the page
+     * @return KeysetPageDTO<VisitingResearcherDTO> - VisitingResearcherDTO page with next cursor
+     */
+    public KeysetPageDTO<VisitingResearcherDTO> findAllVisitingResearchers(long after, int limit) {
+        List<VisitingResearcherDTO> rows = visitingResearcherRepository.findVisitingResearcherDTOsAfter(after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toPage(rows, limit, VisitingResearcherDTO::getId);
+    }
+
+    /**
+     * calls findPermanentInstructorDTOById() method from repository with given instructorId
+     * throws an exception if PermanentInstructor is not found
+     *
+     * @param instructorId - ID of the PermanentInstructor
+     * @return PermanentInstructorDTO - found PermanentInstructor as PermanentInstructorDTO
+     */
+    public PermanentInstructorDTO findPermanentInstructorById(long instructorId) {
+        return permanentInstructorRepository.findPermanentInstructorDTOById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Permanent instructor with id: " + instructorId + " can not be found!"));
+    }
+
+    /**
+     * calls findVisitingResearcherDTOById() method from repository with given instructorId
+     * throws an exception if VisitingResearcher is not found
+     *
+     * @param instructorId - ID of the VisitingResearcher
+     * @return VisitingResearcherDTO - found VisitingResearcher as VisitingResearcherDTO
+     */
+    public VisitingResearcherDTO findVisitingResearcherById(long instructorId) {
+        return visitingResearcherRepository.findVisitingResearcherDTOById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Visiting researcher with id: " + instructorId + " can not be found!"));
+    }
+
+    /**
+     * calls findPermanentInstructorDTOsByIds() and findVisitingResearcherDTOsByIds() methods from the typed repositories
+     * with the distinct given ids (at most MultiGet.MAX_IDS), one query per Instructor type
+     * ids without an Instructor are reported instead of failing the request
+     *
+     * @param ids - IDs of the Instructors
+     * @return MultiGetDTO<InstructorDTO> - found Instructors as related InstructorDTOs in the order of the ids and the missing ids
+     */
+    public MultiGetDTO<InstructorDTO> findInstructorsByIds(List<Long> ids) {
+
+        List<Long> distinctIds = MultiGet.distinctIds(ids);
+
+        List<InstructorDTO> rows = new ArrayList<>(distinctIds.size());
+        if (!distinctIds.isEmpty()) {
+            rows.addAll(permanentInstructorRepository.findPermanentInstructorDTOsByIds(distinctIds));
+            rows.addAll(visitingResearcherRepository.findVisitingResearcherDTOsByIds(distinctIds));
+        }
+        return MultiGet.toResult(distinctIds, rows, InstructorDTO::getId);
+    }
+
+    /**
+     * calls findPermanentInstructorDTOById() method from repository with given instructorId
+     * if it's not a PermanentInstructor, calls findVisitingResearcherDTOById()
+     * throws an exception if Instructor is not found with both
      *
      * @param instructorId - ID of the Instructor
-     * @return InstructorDTO - found Instructor mapped to related InstructorDTO
+     * @return InstructorDTO - found Instructor as related InstructorDTO
      */
     public InstructorDTO findInstructorById(long instructorId) {
-        Instructor foundInstructor = instructorRepository.findById(instructorId)
+
+        Optional<PermanentInstructorDTO> permanentInstructor = permanentInstructorRepository.findPermanentInstructorDTOById(instructorId);
+
+        if (permanentInstructor.isPresent()) {
+            return permanentInstructor.get();
+        }
+
+        return visitingResearcherRepository.findVisitingResearcherDTOById(instructorId)
                 .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!"));
+    }
 
-        if (foundInstructor.getClass() == PermanentInstructor.class) {
-            return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO((PermanentInstructor) foundInstructor);
-        } else {
-            return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO((VisitingResearcher) foundInstructor);
+    /**
+     * calls findCourseSummariesOfInstructorAfter() method from course repository to get the Courses of the Instructor after given id
+     * (keyset pagination), Courses are read by instructor_id without loading the Instructor or its Courses
+     * throws an exception if the Instructor has no Course and does not exist
+     *
+     * @param instructorId - ID of the Instructor
+     * @param after        - ID of the last Course of the previous page. 0 for the first page
+     * @param limit        - maximum number of Courses in the page
+     * @return CountedKeysetPageDTO<CourseSummaryDTO> - CourseSummaryDTO page with next cursor and number of Courses of the Instructor
+     */
+    public CountedKeysetPageDTO<CourseSummaryDTO> findInstructorCourses(long instructorId, long after, int limit) {
+
+        long totalCount = courseRepository.countCoursesOfInstructor(instructorId);
+        if (totalCount == 0 && !instructorRepository.existsById(instructorId)) {
+            throw new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!");
         }
+
+        List<CourseSummaryDTO> rows = courseRepository.findCourseSummariesOfInstructorAfter(instructorId, after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toCountedPage(rows, limit, CourseSummaryDTO::getId, totalCount);
     }
 
     /**
-     * checks if PermanentInstructor already exists in Instructor database table with given permanentInstructorDTO's phoneNumber
-     * if it exists, throws an exception
-     * if it does not, maps the permanentInstructorDTO to PermanentInstructor
+     * maps the permanentInstructorDTO to PermanentInstructor
      * calls save() method from repository with PermanentInstructor object
+     * a duplicate phoneNumber is rejected by the unique constraint on phone_number (see GlobalExceptionHandler)
      *
      * @param permanentInstructorDTO - PermanentInstructorDTO request object
      * @return InstructorDTO - saved PermanentInstructor mapped to PermanentInstructorDTO
@@ -85,18 +193,15 @@ public class InstructorService {
     @Transactional
     public InstructorDTO savePermanentInstructor(PermanentInstructorDTO permanentInstructorDTO) {
 
-        checkIfInstructorExists(permanentInstructorDTO.getPhoneNumber(), 0);
-
         PermanentInstructor mappedInstructor = instructorMapper.mapFromPermanentInstructorDTOToPermanentInstructor(permanentInstructorDTO);
 
-        return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(instructorRepository.save(mappedInstructor));
+        return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(permanentInstructorRepository.save(mappedInstructor));
     }
 
     /**
-     * checks if VisitingResearcher already exists in Instructor database table with given visitingResearcherDTO's phoneNumber
-     * if it exists, throws an exception
-     * if it does not, maps the visitingResearcherDTO to VisitingResearcher
+     * maps the visitingResearcherDTO to VisitingResearcher
      * calls save() method from repository with VisitingResearcher object
+     * a duplicate phoneNumber is rejected by the unique constraint on phone_number (see GlobalExceptionHandler)
      *
      * @param visitingResearcherDTO - VisitingResearcherDTO request object
      * @return InstructorDTO - saved VisitingResearcher mapped to VisitingResearcherDTO
@@ -104,20 +209,16 @@ public class InstructorService {
     @Transactional
     public InstructorDTO saveVisitingResearcher(VisitingResearcherDTO visitingResearcherDTO) {
 
-        checkIfInstructorExists(visitingResearcherDTO.getPhoneNumber(), 0);
-
         VisitingResearcher mappedInstructor = instructorMapper.mapFromVisitingResearcherDTOToVisitingResearcher(visitingResearcherDTO);
 
-        return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(instructorRepository.save(mappedInstructor));
+        return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(visitingResearcherRepository.save(mappedInstructor));
     }
 
     /**
-     * checks if PermanentInstructor exists in Instructor database table with given instructorId
-     * if it doesn't exist, throws an exception
-     * if it exists, checks permanentInstructorDTO's phoneNumber if any other Instructor has the same phoneNumber
-     * while checking the phoneNumber, excludes the updated one.
-     * maps PermanentInstructorDTO to PermanentInstructor
-     * calls save() method from repository with PermanentInstructor object
+     * calls findById() method from permanentInstructorRepository with given instructorId, only the PermanentInstructor tables are read
+     * if it doesn't exist (or the Instructor has another type), throws an exception
+     * copies the fields of PermanentInstructorDTO into the found (managed) PermanentInstructor, written with one UPDATE on commit
+     * a phoneNumber of another Instructor is rejected by the unique constraint on phone_number (see GlobalExceptionHandler)
      *
      * @param permanentInstructorDTO - PermanentInstructorDTO request object
      * @param instructorId           - ID of the will updated PermanentInstructor
@@ -126,24 +227,19 @@ public class InstructorService {
     @Transactional
     public PermanentInstructorDTO updatePermanentInstructor(PermanentInstructorDTO permanentInstructorDTO, long instructorId) {
 
-        instructorRepository.findById(instructorId)
-                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!"));
-
-        checkIfInstructorExists(permanentInstructorDTO.getPhoneNumber(), instructorId);
+        PermanentInstructor permanentInstructor = permanentInstructorRepository.findById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Permanent instructor with id: " + instructorId + " can not be found!"));
 
-        PermanentInstructor permanentInstructor = instructorMapper.mapFromPermanentInstructorDTOToPermanentInstructor(permanentInstructorDTO);
-        permanentInstructor.setId(instructorId);
+        instructorMapper.updatePermanentInstructorFromPermanentInstructorDTO(permanentInstructorDTO, permanentInstructor);
 
-        return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(instructorRepository.save(permanentInstructor));
+        return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(permanentInstructor);
     }
 
     /**
-     * checks if VisitingResearcher exists in Instructor database table with given instructorId
-     * if it doesn't exist, throws an exception
-     * if it exists, checks visitingResearcherDTO's phoneNumber if any other Instructor has the same phoneNumber
-     * while checking the phoneNumber, excludes the updated one.
-     * maps VisitingResearcherDTO to VisitingResearcher
-     * calls save() method from repository with VisitingResearcher object
+     * calls findById() method from visitingResearcherRepository with given instructorId, only the VisitingResearcher tables are read
+     * if it doesn't exist (or the Instructor has another type), throws an exception
+     * copies the fields of VisitingResearcherDTO into the found (managed) VisitingResearcher, written with one UPDATE on commit
+     * a phoneNumber of another Instructor is rejected by the unique constraint on phone_number (see GlobalExceptionHandler)
      *
      * @param visitingResearcherDTO - VisitingResearcherDTO request object
      * @param instructorId          - ID of the will updated VisitingResearcher
@@ -152,21 +248,56 @@ public class InstructorService {
     @Transactional
     public VisitingResearcherDTO updateVisitingResearcher(VisitingResearcherDTO visitingResearcherDTO, long instructorId) {
 
-        instructorRepository.findById(instructorId)
-                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!"));
+        VisitingResearcher visitingResearcher = visitingResearcherRepository.findById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Visiting researcher with id: " + instructorId + " can not be found!"));
 
-        checkIfInstructorExists(visitingResearcherDTO.getPhoneNumber(), instructorId);
+        instructorMapper.updateVisitingResearcherFromVisitingResearcherDTO(visitingResearcherDTO, visitingResearcher);
 
-        VisitingResearcher visitingResearcher = instructorMapper.mapFromVisitingResearcherDTOToVisitingResearcher(visitingResearcherDTO);
-        visitingResearcher.setId(instructorId);
+        return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(visitingResearcher);
+    }
 
-        return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(instructorRepository.save(visitingResearcher));
+    /**
+     * calls findById() method from repository with given instructorId
+     * if it doesn't exist, throws an exception
+     * the found Instructor is unproxied before its type is checked
+     * applies the merge patch to the DTO of the found Instructor's type and validates the result (see JsonMergePatch)
+     * copies the patched DTO into the found (managed) Instructor, the UPDATEs on commit only have the columns whose values changed
+     * a phoneNumber of another Instructor is rejected by the unique constraint on phone_number (see GlobalExceptionHandler)
+     *
+     * @param patch        - JSON merge patch request body
+     * @param instructorId - ID of the will patched Instructor
+     * @return InstructorDTO - patched Instructor mapped to PermanentInstructorDTO or VisitingResearcherDTO
+     */
+    @Transactional
+    public InstructorDTO patchInstructor(JsonNode patch, long instructorId) {
+
+        Instructor foundInstructor = (Instructor) Hibernate.unproxy(instructorRepository.findById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!")));
+
+        if (foundInstructor instanceof PermanentInstructor) {
+            PermanentInstructor permanentInstructor = (PermanentInstructor) foundInstructor;
+            PermanentInstructorDTO patchedInstructor = jsonMergePatch.apply(
+                    instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(permanentInstructor), patch, PermanentInstructorDTO.class);
+            instructorMapper.updatePermanentInstructorFromPermanentInstructorDTO(patchedInstructor, permanentInstructor);
+            return instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(permanentInstructor);
+        }
+
+        if (foundInstructor instanceof VisitingResearcher) {
+            VisitingResearcher visitingResearcher = (VisitingResearcher) foundInstructor;
+            VisitingResearcherDTO patchedInstructor = jsonMergePatch.apply(
+                    instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(visitingResearcher), patch, VisitingResearcherDTO.class);
+            instructorMapper.updateVisitingResearcherFromVisitingResearcherDTO(patchedInstructor, visitingResearcher);
+            return instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(visitingResearcher);
+        }
+
+        throw new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!");
     }
 
     /**
-     * checks if PermanentInstructor exits in database with given PermanentInstructorDTO's phoneNumber
+     * checks if PermanentInstructor exits in database with given PermanentInstructorDTO's phoneNumber (findPermanentInstructorByPhoneNumber())
      * if it doesn't exist, throws an exception
      * if it exists, maps the found PermanentInstructor to PermanentInstructorDTO
+     * deletes its Courses with set-based statements (see removeCoursesOfInstructor())
      * calls delete() method from repository with found PermanentInstructor object
      *
      * @param permanentInstructorDTO - PermanentInstructorDTO request object
@@ -174,18 +305,20 @@ public class InstructorService {
      */
     @Transactional
     public PermanentInstructorDTO deletePermanentInstructor(PermanentInstructorDTO permanentInstructorDTO) {
-        PermanentInstructor foundInstructor = (PermanentInstructor) instructorRepository.findInstructorByPhoneNumberAndIdIsNot(permanentInstructorDTO.getPhoneNumber(), 0)
+        PermanentInstructor foundInstructor = permanentInstructorRepository.findPermanentInstructorByPhoneNumber(permanentInstructorDTO.getPhoneNumber())
                 .orElseThrow(() -> new EntityNotFoundException("Instructor can not be found!"));
 
         PermanentInstructorDTO result = instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO(foundInstructor);
-        instructorRepository.delete(foundInstructor);
+        removeCoursesOfInstructor(foundInstructor.getId());
+        permanentInstructorRepository.delete(foundInstructor);
         return result;
     }
 
     /**
-     * checks if VisitingResearcher exits in database with given VisitingResearcherDTO's phoneNumber
+     * checks if VisitingResearcher exits in database with given VisitingResearcherDTO's phoneNumber (findVisitingResearcherByPhoneNumber())
      * if it doesn't exist, throws an exception
      * if it exists, maps the found VisitingResearcher to VisitingResearcherDTO
+     * deletes its Courses with set-based statements (see removeCoursesOfInstructor())
      * calls delete() method from repository with found VisitingResearcher object
      *
      * @param visitingResearcherDTO - VisitingResearcherDTO request object
@@ -193,18 +326,20 @@ public class InstructorService {
      */
     @Transactional
     public VisitingResearcherDTO deleteVisitingResearcher(VisitingResearcherDTO visitingResearcherDTO) {
-        VisitingResearcher foundInstructor = (VisitingResearcher) instructorRepository.findInstructorByPhoneNumberAndIdIsNot(visitingResearcherDTO.getPhoneNumber(), 0)
+        VisitingResearcher foundInstructor = visitingResearcherRepository.findVisitingResearcherByPhoneNumber(visitingResearcherDTO.getPhoneNumber())
                 .orElseThrow(() -> new EntityNotFoundException("Instructor can not be found!"));
 
         VisitingResearcherDTO result = instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO(foundInstructor);
-        instructorRepository.delete(foundInstructor);
+        removeCoursesOfInstructor(foundInstructor.getId());
+        visitingResearcherRepository.delete(foundInstructor);
         return result;
     }
 
     /**
      * checks if Instructor exists in database with given instructorId
      * if it does not exist, throws an exception.
-     * if it exists, due to Instructor's subtype, it makes the mapping process to related DTO
+     * if it exists, unproxies it and maps it to the DTO of its subtype (instanceof, not getClass(), which fails for proxies)
+     * deletes its Courses with set-based statements (see removeCoursesOfInstructor())
      * deletes the found instructor via calling delete() method from repository
      *
      * @param instructorId - ID of the will deleted Instructor
@@ -213,45 +348,50 @@ public class InstructorService {
     @Transactional
     public InstructorDTO deleteInstructorById(long instructorId) {
 
-        Instructor foundInstructor = instructorRepository.findById(instructorId)
-                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!"));
+        Instructor foundInstructor = (Instructor) Hibernate.unproxy(instructorRepository.findById(instructorId)
+                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!")));
 
         InstructorDTO result;
 
-        if (foundInstructor.getClass() == PermanentInstructor.class) {
+        if (foundInstructor instanceof PermanentInstructor) {
             result = instructorMapper.mapFromPermanentInstructorToPermanentInstructorDTO((PermanentInstructor) foundInstructor);
         } else {
             result = instructorMapper.mapFromVisitingResearcherToVisitingResearcherDTO((VisitingResearcher) foundInstructor);
         }
 
+        removeCoursesOfInstructor(foundInstructor.getId());
         instructorRepository.delete(foundInstructor);
         return result;
     }
 
     /**
-     * helper method for mapping CourseDTO's instructorId to Course's Instructor object
-     * gets the Instructor of given id
+     * helper method for deleting the Courses of an Instructor which will be deleted, without loading them or their Students
+     * the statements don't depend on the number of Courses:
+     * locks the course rows, subtracts their creditScores from the Students' totalCredits,
+     * deletes their student_course rows, then deletes the course rows
      *
-     * @param instructorId - ID of the Instructor
-     * @return Instructor - found instructor related to ID
+     * @param instructorId - ID of the will deleted Instructor
      */
-    public Instructor getCourseInstructorById(long instructorId) {
-        return instructorRepository.findById(instructorId)
-                .orElseThrow(() -> new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!"));
+    private void removeCoursesOfInstructor(long instructorId) {
+
+        courseRepository.lockCoursesOfInstructor(instructorId);
+        studentRepository.subtractCreditsOfInstructorCourses(instructorId);
+        courseRepository.deleteEnrollmentsOfInstructorCourses(instructorId);
+        courseRepository.deleteCoursesOfInstructor(instructorId);
     }
 
     /**
-     * helper method for checking if an Instructor with given phoneNumber exists in database
-     * calls findInstructorByPhoneNumberAndIdIsNot() method from repository
-     * with given phoneNumber and excludes given instructorId for not preventing update operation with same phoneNumber.
+     * helper method for mapping CourseDTO's instructorId to Course's Instructor object
+     * checks if the Instructor exists with a count query, then returns a lazy reference (getById())
+     * the Instructor row is not loaded, the reference is only used to set the instructor_id foreign key
      *
-     * @param phoneNumber  - phoneNumber of Instructor for checking uniqueness
-     * @param instructorId - ID of the Instructor for excluding phoneNumber check on update methods
+     * @param instructorId - ID of the Instructor
+     * @return Instructor - reference to the Instructor of given ID
      */
-    private void checkIfInstructorExists(String phoneNumber, long instructorId) {
-
-        if (instructorRepository.findInstructorByPhoneNumberAndIdIsNot(phoneNumber, instructorId).isPresent()) {
-            throw new InstructorIsAlreadyExistException("An instructor with this phone number already exists!");
+    public Instructor getCourseInstructorById(long instructorId) {
+        if (!instructorRepository.existsById(instructorId)) {
+            throw new EntityNotFoundException("Instructor with id: " + instructorId + " can not be found!");
         }
+        return instructorRepository.getById(instructorId);
     }
 }
@@ -0,0 +1,77 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * KeysetPagination class for:
+ * building the LIMIT of keyset ("after id") page queries
+ * turning the fetched rows into a KeysetPageDTO (or CountedKeysetPageDTO) with its continuation cursor
+ */
+final class KeysetPagination {
+
+    static final int MAX_LIMIT = 100;
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * clamps the requested limit between 1 and MAX_LIMIT
+     *
+     * @param limit - requested page size
+     * @return int - page size which will be used
+     */
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * creates a Pageable which always starts from the first row (no OFFSET)
+     * one more row than the page size is requested to find out if there is a next page
+     *
+     * @param limit - requested page size
+     * @return Pageable - first page with (limit + 1) rows
+     */
+    static Pageable firstRows(int limit) {
+        return PageRequest.of(0, clampLimit(limit) + 1);
+    }
+
+    /**
+     * trims the extra row fetched by firstRows() and sets the next cursor
+     * next cursor is the id of the last returned element if there is a next page, else null
+     *
+     * @param rows        - rows fetched with firstRows(limit)
+     * @param limit       - requested page size
+     * @param idExtractor - function returning the id of an element
+     * @return KeysetPageDTO<T> - page content and continuation cursor
+     */
+    static <T> KeysetPageDTO<T> toPage(List<T> rows, int limit, ToLongFunction<T> idExtractor) {
+        int pageSize = clampLimit(limit);
+
+        if (rows.size() <= pageSize) {
+            return new KeysetPageDTO<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPageDTO<>(content, idExtractor.applyAsLong(content.get(pageSize - 1)));
+    }
+
+    /**
+     * same as toPage(), with the number of elements on all pages
+     *
+     * @param rows        - rows fetched with firstRows(limit)
+     * @param limit       - requested page size
+     * @param idExtractor - function returning the id of an element
+     * @param totalCount  - number of elements on all pages
+     * @return CountedKeysetPageDTO<T> - page content, continuation cursor and total count
+     */
+    static <T> CountedKeysetPageDTO<T> toCountedPage(List<T> rows, int limit, ToLongFunction<T> idExtractor, long totalCount) {
+        KeysetPageDTO<T> page = toPage(rows, limit, idExtractor);
+        return new CountedKeysetPageDTO<>(page.getContent(), page.getNextCursor(), totalCount);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.TooManyIdsRequestedException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * MultiGet class for:
+ * checking the ids of a multi-get request ("?ids=...") against MAX_IDS
+ * turning the rows of one IN (...) query into a MultiGetDTO in request order with the missing ids
+ */
+final class MultiGet {
+
+    // one IN (...) query with at most this many ids, so a request holds its connection only shortly
+    static final int MAX_IDS = 100;
+
+    private MultiGet() {
+    }
+
+    /**
+     * removes repeated ids, keeping the first occurrence
+     * throws an exception if more than MAX_IDS distinct ids are requested
+     *
+     * @param ids - requested ids
+     * @return List<Long> - distinct ids in request order
+     */
+    static List<Long> distinctIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_IDS) {
+            throw new TooManyIdsRequestedException("At most " + MAX_IDS + " ids can be requested at once, " + distinctIds.size() + " were requested!");
+        }
+        return distinctIds;
+    }
+
+    /**
+     * orders the rows like the requested ids and collects the ids without a row
+     *
+     * @param ids         - distinct requested ids (see distinctIds())
+     * @param rows        - rows found for the ids, in any order
+     * @param idExtractor - function returning the id of a row
+     * @return MultiGetDTO<T> - found rows in request order and missing ids
+     */
+    static <T> MultiGetDTO<T> toResult(List<Long> ids, Collection<? extends T> rows, ToLongFunction<T> idExtractor) {
+
+        Map<Long, T> rowsById = new HashMap<>();
+        for (T row : rows) {
+            rowsById.put(idExtractor.applyAsLong(row), row);
+        }
+
+        List<T> content = new ArrayList<>(rows.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T row = rowsById.get(id);
+            if (row == null) {
+                missingIds.add(id);
+            } else {
+                content.add(row);
+            }
+        }
+        return new MultiGetDTO<>(content, missingIds);
+    }
+}
@@ -0,0 +1,99 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseAgeGroupReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseEnrollmentReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseGenderReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.InstructorCourseReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentCreditReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.InstructorRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.projection.CourseAgeGroupView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * ReportService class for:
+ * aggregated reports over Courses, Students and Instructors, every report is computed by one GROUP BY query
+ * results are cached for a short time (spring.cache.caffeine.spec), so polling dashboards do not hit the database on every request
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ReportService {
+
+    public static final String COURSE_ENROLLMENTS = "courseEnrollmentReport";
+    public static final String STUDENT_CREDITS = "studentCreditReport";
+    public static final String INSTRUCTOR_COURSES = "instructorCourseReport";
+    public static final String COURSE_GENDERS = "courseGenderReport";
+    public static final String COURSE_AGE_GROUPS = "courseAgeGroupReport";
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final InstructorRepository<?> instructorRepository;
+
+    /**
+     * calls findCourseEnrollmentReports() method from repository
+     *
+     * @return List<CourseEnrollmentReportDTO> - number of Students of every Course
+     */
+    @Cacheable(COURSE_ENROLLMENTS)
+    public List<CourseEnrollmentReportDTO> findCourseEnrollments() {
+        return courseRepository.findCourseEnrollmentReports();
+    }
+
+    /**
+     * calls findStudentCreditReports() method from repository
+     *
+     * @return List<StudentCreditReportDTO> - number of Courses and sum of their creditScores for every Student
+     */
+    @Cacheable(STUDENT_CREDITS)
+    public List<StudentCreditReportDTO> findStudentCredits() {
+        return studentRepository.findStudentCreditReports();
+    }
+
+    /**
+     * calls findInstructorCourseReports() method from repository
+     *
+     * @return List<InstructorCourseReportDTO> - number of Courses and sum of their creditScores for every Instructor
+     */
+    @Cacheable(INSTRUCTOR_COURSES)
+    public List<InstructorCourseReportDTO> findInstructorCourses() {
+        return instructorRepository.findInstructorCourseReports();
+    }
+
+    /**
+     * calls findCourseGenderReports() method from repository
+     *
+     * @return List<CourseGenderReportDTO> - number of Students of every gender in every Course, empty groups are not listed
+     */
+    @Cacheable(COURSE_GENDERS)
+    public List<CourseGenderReportDTO> findCourseGenders() {
+        return courseRepository.findCourseGenderReports();
+    }
+
+    /**
+     * calls findCourseAgeGroups() method from repository with the birth date limits of the age groups as of today
+     * maps the rows to CourseAgeGroupReportDTOs
+     *
+     * @return List<CourseAgeGroupReportDTO> - number of Students of every age group in every Course, empty groups are not listed
+     */
+    @Cacheable(COURSE_AGE_GROUPS)
+    public List<CourseAgeGroupReportDTO> findCourseAgeGroups() {
+
+        LocalDate today = LocalDate.now();
+        List<CourseAgeGroupView> ageGroups = courseRepository.findCourseAgeGroups(today.minusYears(21), today.minusYears(26),
+                today.minusYears(31), today.minusYears(36));
+
+        return ageGroups.stream()
+                .map(row -> new CourseAgeGroupReportDTO(row.getCourseId(), row.getAgeGroup(), row.getStudentCount()))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentAgeNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentNumberForOneCourseExceededException;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+
+/**
+ * SchoolRules class for:
+ * the domain rules which only look at the request values, shared by the services, the CSV imports and the enrollment queue
+ * the rules throw the same exceptions as the endpoints report, so every path rejects a value with the same message
+ */
+public final class SchoolRules {
+
+    private SchoolRules() {
+    }
+
+    /**
+     * checks if a Student born at given date is between 18 and 40 years old today
+     * throws an exception if not
+     *
+     * @param birthDate - birthDate of the Student
+     */
+    public static void checkStudentAge(LocalDate birthDate) {
+
+        int studentAge = Period.between(birthDate, LocalDate.now()).getYears();
+
+        if (studentAge < 18 || studentAge > 40) {
+            throw new StudentAgeNotValidException("Student age must be between 18 and 40!");
+        }
+    }
+
+    /**
+     * checks if a Course can have given number of Students (at most MAX_STUDENTS_PER_COURSE)
+     * throws an exception if not
+     *
+     * @param numberOfStudents - number of Students the Course would have
+     */
+    public static void checkCourseCapacity(int numberOfStudents) {
+        if (numberOfStudents > MAX_STUDENTS_PER_COURSE) {
+            throw new StudentNumberForOneCourseExceededException("Course can maximum have 20 students!");
+        }
+    }
+
+}
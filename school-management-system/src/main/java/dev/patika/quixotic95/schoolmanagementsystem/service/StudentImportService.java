@@ -0,0 +1,180 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.ImportFileNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentAgeNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.mapper.StudentMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.IdAllocationJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * StudentImportService class for:
+ * creating Students in bulk from a CSV file
+ * validating every row like a POST /students request and reporting the invalid rows
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    // number of rows inserted with one JDBC batch and committed in one transaction
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final List<String> COLUMNS = Arrays.asList("firstName", "lastName", "address", "birthDate", "gender");
+
+    private final StudentMapper studentMapper;
+    private final StudentJdbcRepository studentJdbcRepository;
+    private final IdAllocationJdbcRepository idAllocationJdbcRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * reads the CSV file row by row
+     * header must have firstName, lastName, address, birthDate (YYYY-MM-DD) and gender columns
+     * every row is validated like StudentDTO and its age is checked with SchoolRules.checkStudentAge()
+     * valid rows are collected into chunks, every chunk is inserted with one JDBC batch in its own transaction
+     * invalid rows and failed chunks are added to the report with their line numbers
+     *
+     * @param in - CSV file content
+     * @return ImportReportDTO - number of processed, imported and failed rows with the row errors
+     */
+    public ImportReportDTO importStudents(InputStream in) throws IOException {
+
+        ImportReportDTO report = new ImportReportDTO();
+
+        try (CsvReader csv = new CsvReader(in)) {
+
+            for (String column : COLUMNS) {
+                if (!csv.hasColumn(column)) {
+                    throw new ImportFileNotValidException("CSV header must have the columns: " + COLUMNS);
+                }
+            }
+
+            List<Student> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+
+            for (List<String> row = csv.next(); row != null; row = csv.next()) {
+                report.setProcessedRows(report.getProcessedRows() + 1);
+
+                String error = null;
+                StudentDTO studentDTO = null;
+                try {
+                    studentDTO = toStudentDTO(csv, row);
+                } catch (IllegalArgumentException exc) {
+                    error = exc.getMessage();
+                }
+
+                if (error == null) {
+                    error = validate(studentDTO);
+                }
+
+                if (error != null) {
+                    report.addError(csv.getLineNumber(), error);
+                    continue;
+                }
+
+                chunk.add(studentMapper.mapFromStudentDTOtoStudent(studentDTO));
+                chunkLines.add(csv.getLineNumber());
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    insertChunk(chunk, chunkLines, report);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                insertChunk(chunk, chunkLines, report);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * helper method for inserting one chunk in its own transaction, with ids reserved for the whole chunk at once
+     * if the chunk fails, all of its rows are reported as failed and the import continues with the next chunk
+     */
+    private void insertChunk(List<Student> chunk, List<Long> chunkLines, ImportReportDTO report) {
+        try {
+            long firstId = idAllocationJdbcRepository.allocate("student", chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(firstId + i);
+            }
+            transactionTemplate.executeWithoutResult(status -> studentJdbcRepository.insertAll(chunk));
+            report.setImportedRows(report.getImportedRows() + chunk.size());
+        } catch (DataAccessException exc) {
+            for (long line : chunkLines) {
+                report.addError(line, "Student could not be saved: " + exc.getMostSpecificCause().getMessage());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    /**
+     * helper method for converting a CSV row to StudentDTO
+     * throws IllegalArgumentException with the error message if birthDate or gender can not be parsed
+     */
+    private StudentDTO toStudentDTO(CsvReader csv, List<String> row) {
+
+        StudentDTO studentDTO = new StudentDTO();
+        studentDTO.setFirstName(csv.get(row, "firstName"));
+        studentDTO.setLastName(csv.get(row, "lastName"));
+        studentDTO.setAddress(csv.get(row, "address"));
+
+        String birthDate = csv.get(row, "birthDate");
+        if (birthDate != null && !birthDate.isEmpty()) {
+            try {
+                studentDTO.setBirthDate(LocalDate.parse(birthDate));
+            } catch (DateTimeParseException exc) {
+                throw new IllegalArgumentException("birth date must be formatted as YYYY-MM-DD!");
+            }
+        }
+
+        String gender = csv.get(row, "gender");
+        if (gender != null && !gender.isEmpty()) {
+            try {
+                studentDTO.setGender(Gender.valueOf(gender.toUpperCase()));
+            } catch (IllegalArgumentException exc) {
+                throw new IllegalArgumentException("gender must be MALE, FEMALE or OTHER!");
+            }
+        }
+        return studentDTO;
+    }
+
+    /**
+     * helper method for validating a StudentDTO with its annotations and the age rule
+     *
+     * @return String - first error message, null if the StudentDTO is valid
+     */
+    private String validate(StudentDTO studentDTO) {
+
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(studentDTO);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+
+        try {
+            SchoolRules.checkStudentAge(studentDTO.getBirthDate());
+        } catch (StudentAgeNotValidException exc) {
+            return exc.getMessage();
+        }
+        return null;
+    }
+}
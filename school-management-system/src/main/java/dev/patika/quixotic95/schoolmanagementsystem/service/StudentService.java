@@ -1,17 +1,21 @@
 package dev.patika.quixotic95.schoolmanagementsystem.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CountedKeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseSummaryDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.KeysetPageDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.MultiGetDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
 import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
-import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentAgeNotValidException;
 import dev.patika.quixotic95.schoolmanagementsystem.mapper.StudentMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
 import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
-import java.time.LocalDate;
-import java.time.Period;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -29,32 +33,68 @@ import java.util.stream.Collectors;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
     private final StudentMapper studentMapper;
+    private final JsonMergePatch jsonMergePatch;
 
     /**
-     * calls findAll() from repository
-     * maps returned Students to StudentDTOs
+     * calls findStudentDTOsAfter() from repository to get the Students after given id (keyset pagination)
+     * StudentDTOs are created directly by the query, Student entities are not loaded
+     * sets the next cursor of the page if there are more Students
      *
-     * @return List<StudentDTO> - StudentDTO list
+     * @param after - ID of the last Student of the previous page. 0 for the first page
+     * @param limit - maximum number of Students in the page
+     * @return KeysetPageDTO<StudentDTO> - StudentDTO page with next cursor
      */
-    public List<StudentDTO> findAllStudents() {
-        return studentRepository.findAll()
-                .stream()
-                .map(studentMapper::mapFromStudentToStudentDTO)
-                .collect(Collectors.toList());
+    public KeysetPageDTO<StudentDTO> findAllStudents(long after, int limit) {
+        List<StudentDTO> rows = studentRepository.findStudentDTOsAfter(after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toPage(rows, limit, StudentDTO::getId);
     }
 
     /**
-     * calls findById() method from repository with given studentId
+     * calls findStudentDTOById() method from repository with given studentId
      * if Student could not found, throws an exception
-     * maps found Student to StudentDTO
      *
      * @param studentId - ID of the Student
-     * @return StudentDTO - found Student mapped to StudentDTO
+     * @return StudentDTO - found Student as StudentDTO
      */
     public StudentDTO findStudentById(long studentId) {
-        return studentMapper.mapFromStudentToStudentDTO(studentRepository.findById(studentId)
-                .orElseThrow(() -> new EntityNotFoundException("Student with id: " + studentId + " can not be found!")));
+        return studentRepository.findStudentDTOById(studentId)
+                .orElseThrow(() -> new EntityNotFoundException("Student with id: " + studentId + " can not be found!"));
+    }
+
+    /**
+     * calls findCourseSummariesOfStudentAfter() method from course repository to get the Courses of the Student after given id
+     * (keyset pagination), Courses are read from student_course without loading the Student or its Courses
+     * total count is counted from student_course, throws an exception if it is 0 and the Student does not exist
+     *
+     * @param studentId - ID of the Student
+     * @param after     - ID of the last Course of the previous page. 0 for the first page
+     * @param limit     - maximum number of Courses in the page
+     * @return CountedKeysetPageDTO<CourseSummaryDTO> - CourseSummaryDTO page with next cursor and number of Courses of the Student
+     */
+    public CountedKeysetPageDTO<CourseSummaryDTO> findStudentCourses(long studentId, long after, int limit) {
+
+        long totalCount = courseRepository.countCoursesOfStudent(studentId);
+        if (totalCount == 0 && !studentRepository.existsById(studentId)) {
+            throw new EntityNotFoundException("Student with id: " + studentId + " can not be found!");
+        }
+
+        List<CourseSummaryDTO> rows = courseRepository.findCourseSummariesOfStudentAfter(studentId, after, KeysetPagination.firstRows(limit));
+        return KeysetPagination.toCountedPage(rows, limit, CourseSummaryDTO::getId, totalCount);
+    }
+
+    /**
+     * calls findStudentDTOsByIds() method from repository with the distinct given ids (at most MultiGet.MAX_IDS)
+     * all Students are read with one query, ids without a Student are reported instead of failing the request
+     *
+     * @param ids - IDs of the Students
+     * @return MultiGetDTO<StudentDTO> - found Students in the order of the ids and the missing ids
+     */
+    public MultiGetDTO<StudentDTO> findStudentsByIds(List<Long> ids) {
+        List<Long> distinctIds = MultiGet.distinctIds(ids);
+        List<StudentDTO> rows = distinctIds.isEmpty() ? new ArrayList<>() : studentRepository.findStudentDTOsByIds(distinctIds);
+        return MultiGet.toResult(distinctIds, rows, StudentDTO::getId);
     }
 
     /**
@@ -69,7 +109,7 @@ public class StudentService {
     @Transactional
     public StudentDTO saveStudent(StudentDTO studentDTO) {
 
-        checkStudentAge(studentDTO.getBirthDate());
+        SchoolRules.checkStudentAge(studentDTO.getBirthDate());
 
         Student mappedStudent = studentMapper.mapFromStudentDTOtoStudent(studentDTO);
         return studentMapper.mapFromStudentToStudentDTO(studentRepository.save(mappedStudent));
@@ -78,14 +118,10 @@ public class StudentService {
     /**
      * calls findById() method from repository with given studentId
      * if Student found, continues to process. else throws an exception
-     * checks if student's age is acceptable via helper method
-     * <p>
-     * maps the request object StudentDTO to a Student object
+     * checks if student's age is acceptable (SchoolRules.checkStudentAge())
      * <p>
-     * sets the Id of the mapped Student to request long studentId
-     * sets the courses of the mapped Student to found Student's courses
-     * <p>
-     * calls the save() method from repository with mapped Student object
+     * copies the fields of the request object StudentDTO into the found (managed) Student
+     * the changes are written with one UPDATE on commit, the Student's courses are not loaded or rewritten
      *
      * @param studentDTO - StudentDTO request object
      * @param studentId  - ID of the Student which will be updated
@@ -97,19 +133,46 @@ public class StudentService {
         Student foundStudent = studentRepository.findById(studentId)
                 .orElseThrow(() -> new EntityNotFoundException("Student with id: " + studentId + " can not be found!"));
 
-        checkStudentAge(studentDTO.getBirthDate());
+        SchoolRules.checkStudentAge(studentDTO.getBirthDate());
 
-        Student mappedStudent = studentMapper.mapFromStudentDTOtoStudent(studentDTO);
-        mappedStudent.setId(studentId);
-        mappedStudent.setStudentCourses(foundStudent.getStudentCourses());
+        studentMapper.updateStudentFromStudentDTO(studentDTO, foundStudent);
 
-        return studentMapper.mapFromStudentToStudentDTO(studentRepository.save(mappedStudent));
+        return studentMapper.mapFromStudentToStudentDTO(foundStudent);
+    }
+
+    /**
+     * calls findById() method from repository with given studentId
+     * if Student found, continues to process. else throws an exception
+     * applies the merge patch to the found Student's StudentDTO and validates the result (see JsonMergePatch)
+     * checks if student's age is acceptable (SchoolRules.checkStudentAge())
+     * <p>
+     * copies the patched StudentDTO into the found (managed) Student,
+     * the UPDATE on commit only has the columns whose values changed
+     *
+     * @param patch     - JSON merge patch request body
+     * @param studentId - ID of the Student which will be patched
+     * @return StudentDTO - StudentDTO response object which mapped from patched Student object
+     */
+    @Transactional
+    public StudentDTO patchStudent(JsonNode patch, long studentId) {
+
+        Student foundStudent = studentRepository.findById(studentId)
+                .orElseThrow(() -> new EntityNotFoundException("Student with id: " + studentId + " can not be found!"));
+
+        StudentDTO patchedStudent = jsonMergePatch.apply(studentMapper.mapFromStudentToStudentDTO(foundStudent), patch, StudentDTO.class);
+
+        SchoolRules.checkStudentAge(patchedStudent.getBirthDate());
+
+        studentMapper.updateStudentFromStudentDTO(patchedStudent, foundStudent);
+
+        return studentMapper.mapFromStudentToStudentDTO(foundStudent);
     }
 
     /**
      * checks if Student exists in database with necessary fields taken from StudentDTO
      * if Student is not found, throws an exception
      * if found, maps the found Student to StudentDTO
+     * decrements the enrollmentCount of the Student's Courses
      * then calls delete() method from repository found Student
      *
      * @param studentDTO - StudentDTO request object
@@ -124,6 +187,7 @@ public class StudentService {
                 studentDTO.getGender()).orElseThrow(() -> new EntityNotFoundException("Student can not be found!"));
 
         StudentDTO result = studentMapper.mapFromStudentToStudentDTO(foundStudent);
+        courseRepository.decrementEnrollmentCountsOfStudent(foundStudent.getId());
         studentRepository.delete(foundStudent);
         return result;
     }
@@ -132,6 +196,7 @@ public class StudentService {
      * checks if Student is exists in database via calling findById() method from repository
      * if Student is not exists, throws an exception
      * if exists, maps the found Student to StudentDTO
+     * decrements the enrollmentCount of the Student's Courses
      * <p>
      * calls delete() method from repository with found Student object
      *
@@ -145,30 +210,12 @@ public class StudentService {
                 .orElseThrow(() -> new EntityNotFoundException("Student with id: " + studentId + " can not be found!"));
 
         StudentDTO result = studentMapper.mapFromStudentToStudentDTO(foundStudent);
+        courseRepository.decrementEnrollmentCountsOfStudent(studentId);
         studentRepository.deleteById(studentId);
         return result;
     }
 
 
-    /**
-     * helper method used for mapping CourseDTO to Course
-     * checks given studentIds if they're exists in database.
-     * if some of them are not exists, throws an exception
-     *
-     * @param studentIds - studentIds given to CourseDTO object
-     * @return Set<Student> - students that are added to CourseDTO via their IDs
-     */
-    public Set<Student> findAllCourseStudentsById(List<Long> studentIds) {
-
-        Set<Student> students = new HashSet<>();
-
-        for (long l : studentIds) {
-            students.add(studentRepository.findById(l)
-                    .orElseThrow(() -> new EntityNotFoundException("Student with id: " + l + " can not be found!")));
-        }
-        return students;
-    }
-
     /**
      * helper method used for mapping Course to CourseDTO
      * takes Students list and returns List of Long which is IDs of Students
@@ -186,21 +233,4 @@ public class StudentService {
         return studentIds;
     }
 
-    /**
-     * helper method for checking if Student's age is between 18 and 40
-     * takes Student's birthDate and calculates the year between today
-     * throws an exception if Student's age is not between 40
-     *
-     * @param birthDate - birthDate of the Student
-     */
-    private void checkStudentAge(LocalDate birthDate) {
-
-        Period period = Period.between(birthDate, LocalDate.now());
-        int studentAge = period.getYears();
-
-        if (studentAge < 18 || studentAge > 40) {
-            throw new StudentAgeNotValidException("Student age must be between 18 and 40!");
-        }
-    }
-
 }
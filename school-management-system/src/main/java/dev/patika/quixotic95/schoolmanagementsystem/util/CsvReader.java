@@ -0,0 +1,114 @@
+package dev.patika.quixotic95.schoolmanagementsystem.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvReader class for:
+ * reading a comma separated file line by line without loading the whole file into memory
+ * first line is the header, its column names are used to find the column indexes
+ * fields can be quoted with '"', a quote inside a quoted field is written as '""'. quoted fields can not contain new lines.
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private long lineNumber;
+
+    public CsvReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        List<String> header = next();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columnIndexes.put(header.get(i).trim(), i);
+            }
+        }
+    }
+
+    /**
+     * @param column - column name in the header
+     * @return boolean - true if the header has the column
+     */
+    public boolean hasColumn(String column) {
+        return columnIndexes.containsKey(column);
+    }
+
+    /**
+     * @param row    - row returned from next()
+     * @param column - column name in the header
+     * @return String - trimmed value of the column, null if the row is shorter than the header
+     */
+    public String get(List<String> row, String column) {
+        int index = columnIndexes.get(column);
+        return index < row.size() ? row.get(index).trim() : null;
+    }
+
+    /**
+     * reads the next non-empty line and splits it into fields
+     *
+     * @return List<String> - fields of the line, null at the end of the file
+     */
+    public List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.trim().isEmpty());
+
+        return split(line);
+    }
+
+    /**
+     * @return long - line number of the last line returned from next(), starting from 1 for the header
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
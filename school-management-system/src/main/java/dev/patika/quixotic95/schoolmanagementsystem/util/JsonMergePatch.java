@@ -0,0 +1,108 @@
+package dev.patika.quixotic95.schoolmanagementsystem.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.PatchNotValidException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JsonMergePatch class for:
+ * applying a JSON merge patch (RFC 7396) to a DTO
+ * the DTO is written as JSON, the patch is merged into it and the result is read back and validated like a request body
+ * members of the patch replace the members of the DTO, null members remove them, nested objects are merged recursively
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * merges the patch into the JSON of target and reads the result as given type
+     * throws an exception if the patch is not a JSON object, the result can not be read or it is not valid
+     *
+     * @param target - current state of the resource as DTO
+     * @param patch  - merge patch request body
+     * @param type   - DTO class of the result
+     * @return T - new DTO with the patched fields
+     */
+    public <T> T apply(T target, JsonNode patch, Class<T> type) {
+
+        if (patch == null || !patch.isObject()) {
+            throw new PatchNotValidException("merge patch must be a JSON object!");
+        }
+
+        T result;
+        try {
+            result = objectMapper.treeToValue(merge(objectMapper.valueToTree(target), patch), type);
+        } catch (JsonProcessingException exc) {
+            throw new PatchNotValidException(invalidPatchMessage(exc));
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(result);
+        if (!violations.isEmpty()) {
+            throw new PatchNotValidException(violations.iterator().next().getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * MergePatch(Target, Patch) function of RFC 7396
+     *
+     * @param target - JSON value to patch, can be null
+     * @param patch  - JSON value of the patch
+     * @return JsonNode - patched copy of target
+     */
+    private static JsonNode merge(JsonNode target, JsonNode patch) {
+
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * the messages of Jackson are too long for the exception log, only the path of the invalid field is reported
+     *
+     * @param exc - exception thrown while reading the patched JSON
+     * @return String - message of PatchNotValidException
+     */
+    private static String invalidPatchMessage(JsonProcessingException exc) {
+
+        if (exc instanceof JsonMappingException && !((JsonMappingException) exc).getPath().isEmpty()) {
+            return "merge patch has an invalid value for " + ((JsonMappingException) exc).getPath().stream()
+                    .map(reference -> reference.getFieldName() != null ? reference.getFieldName() : String.valueOf(reference.getIndex()))
+                    .collect(Collectors.joining(".")) + "!";
+        }
+        return "merge patch can not be applied to this resource!";
+    }
+}
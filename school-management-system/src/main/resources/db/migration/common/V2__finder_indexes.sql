@@ -0,0 +1,15 @@
+-- indexes of the repository finders, the phone number and course code lookups use the unique constraints of V1
+-- checked with EXPLAIN by the FinderIndexExplain tests, a finder on a new column needs its index here (or in a later version)
+
+-- StudentRepository.findStudentByFirstNameAndLastNameAndAddressAndGender
+-- address and gender are filtered from the matching rows, four VARCHAR(255) columns exceed the InnoDB key length with utf8mb4
+CREATE INDEX idx_student_last_name_first_name ON student (last_name, first_name);
+
+-- ExceptionLoggerRepository.findByStatusCode and findByStatusCodeAndTimestampBetween
+CREATE INDEX idx_exception_logger_status_code_timestamp ON exception_logger (status_code, timestamp);
+
+-- Courses of an Instructor (set-based deletion, instructor reports)
+CREATE INDEX idx_course_instructor_id ON course (instructor_id);
+
+-- Courses of a Student, the primary key (course_id, student_id) covers the Students of a Course
+CREATE INDEX idx_student_course_student_id ON student_course (student_id, course_id);
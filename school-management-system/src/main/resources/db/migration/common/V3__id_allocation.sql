@@ -0,0 +1,14 @@
+-- ids of the entities are reserved from this table instead of the AUTO_INCREMENT columns (see IdAllocation)
+-- last_id is the last id handed out for the table, existing tables continue after their largest id
+-- the AUTO_INCREMENT attributes stay, every insert writes its id
+
+CREATE TABLE id_allocation (
+    entity_table VARCHAR(255) NOT NULL,
+    last_id      BIGINT,
+    PRIMARY KEY (entity_table)
+) ENGINE = InnoDB;
+
+INSERT INTO id_allocation (entity_table, last_id) SELECT 'student', COALESCE(MAX(id), 0) FROM student;
+INSERT INTO id_allocation (entity_table, last_id) SELECT 'course', COALESCE(MAX(id), 0) FROM course;
+INSERT INTO id_allocation (entity_table, last_id) SELECT 'instructor', COALESCE(MAX(id), 0) FROM instructor;
+INSERT INTO id_allocation (entity_table, last_id) SELECT 'exception_logger', COALESCE(MAX(id), 0) FROM exception_logger;
@@ -0,0 +1,71 @@
+-- schema of the entities with the JOINED Instructor hierarchy (default mapping)
+-- databases created earlier by ddl-auto are baselined at this version (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE instructor (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    address            VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    phone_number       VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_instructor_phone_number UNIQUE (phone_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE permanent_instructor (
+    id           BIGINT           NOT NULL,
+    fixed_salary DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_permanent_instructor_instructor FOREIGN KEY (id) REFERENCES instructor (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE visiting_researcher (
+    id            BIGINT           NOT NULL,
+    hourly_salary DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_visiting_researcher_instructor FOREIGN KEY (id) REFERENCES instructor (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE student (
+    id                 BIGINT           NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    address            VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    birth_date         DATE,
+    gender             VARCHAR(255),
+    total_credits      DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE course (
+    id                 BIGINT           NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    course_code        VARCHAR(255),
+    course_name        VARCHAR(255),
+    credit_score       DOUBLE PRECISION NOT NULL,
+    enrollment_count   INTEGER          NOT NULL,
+    instructor_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_course_code UNIQUE (course_code),
+    CONSTRAINT fk_course_instructor FOREIGN KEY (instructor_id) REFERENCES instructor (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE student_course (
+    student_id BIGINT NOT NULL,
+    course_id  BIGINT NOT NULL,
+    PRIMARY KEY (course_id, student_id),
+    CONSTRAINT fk_student_course_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_student_course_student FOREIGN KEY (student_id) REFERENCES student (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE exception_logger (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    message     VARCHAR(255),
+    status_code VARCHAR(255),
+    timestamp   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
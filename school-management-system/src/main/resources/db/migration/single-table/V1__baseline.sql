@@ -0,0 +1,60 @@
+-- schema of the entities with the SINGLE_TABLE Instructor hierarchy ("single-table" profile, see META-INF/orm-single-table.xml)
+-- databases created earlier by ddl-auto are baselined at this version (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE instructor (
+    instructor_type    VARCHAR(31)  NOT NULL,
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    address            VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    phone_number       VARCHAR(255),
+    fixed_salary       DOUBLE PRECISION,
+    hourly_salary      DOUBLE PRECISION,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_instructor_phone_number UNIQUE (phone_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE student (
+    id                 BIGINT           NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    address            VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    birth_date         DATE,
+    gender             VARCHAR(255),
+    total_credits      DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE course (
+    id                 BIGINT           NOT NULL AUTO_INCREMENT,
+    created_date       DATETIME(6),
+    last_modified_date DATETIME(6),
+    course_code        VARCHAR(255),
+    course_name        VARCHAR(255),
+    credit_score       DOUBLE PRECISION NOT NULL,
+    enrollment_count   INTEGER          NOT NULL,
+    instructor_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_course_code UNIQUE (course_code),
+    CONSTRAINT fk_course_instructor FOREIGN KEY (instructor_id) REFERENCES instructor (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE student_course (
+    student_id BIGINT NOT NULL,
+    course_id  BIGINT NOT NULL,
+    PRIMARY KEY (course_id, student_id),
+    CONSTRAINT fk_student_course_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_student_course_student FOREIGN KEY (student_id) REFERENCES student (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE exception_logger (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    message     VARCHAR(255),
+    status_code VARCHAR(255),
+    timestamp   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
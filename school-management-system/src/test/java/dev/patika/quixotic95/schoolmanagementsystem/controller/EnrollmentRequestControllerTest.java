@@ -0,0 +1,97 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * checks the request bodies of the list enrollment endpoints (POST and DELETE /courses/{courseId}/students):
+ * empty, null or incomplete id lists are rejected with 400 and leave the Course unchanged
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EnrollmentRequestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long courseId;
+    private long studentId;
+
+    @BeforeEach
+    void createData() throws Exception {
+        long instructorId = postForId("/api/instructors/permanentInstructor", "{\"type\":\"PermanentInstructor\",\"firstName\":\"Koray\"," +
+                "\"lastName\":\"Güney\",\"address\":\"8 Hazine Street\",\"phoneNumber\":\"" + System.nanoTime() + "\",\"fixedSalary\":6000}");
+        studentId = postForId("/api/students", "{\"firstName\":\"Ahmet\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"" + LocalDate.now().minusYears(21) + "\",\"gender\":\"MALE\"}");
+        courseId = postForId("/api/courses", "{\"courseName\":\"Course\",\"courseCode\":\"E" + System.nanoTime() + "\",\"creditScore\":4," +
+                "\"instructorId\":" + instructorId + ",\"studentIds\":[" + studentId + "]}");
+    }
+
+    @Test
+    void emptyListIsRejected() throws Exception {
+        assertBadRequest(post("/api/courses/" + courseId + "/students"), "[]", "At least one student id is required!");
+        assertBadRequest(delete("/api/courses/" + courseId + "/students"), "[]", "At least one student id is required!");
+        assertCourseUnchanged();
+    }
+
+    @Test
+    void nullBodyIsRejected() throws Exception {
+        mockMvc.perform(post("/api/courses/" + courseId + "/students").contentType(MediaType.APPLICATION_JSON).content("null"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/courses/" + courseId + "/students").contentType(MediaType.APPLICATION_JSON).content("null"))
+                .andExpect(status().isBadRequest());
+        assertCourseUnchanged();
+    }
+
+    @Test
+    void nullIdIsRejected() throws Exception {
+        assertBadRequest(post("/api/courses/" + courseId + "/students"), "[null]", "Student ids can not be null!");
+        assertBadRequest(delete("/api/courses/" + courseId + "/students"), "[" + studentId + ",null]", "Student ids can not be null!");
+        assertCourseUnchanged();
+    }
+
+    private void assertBadRequest(MockHttpServletRequestBuilder request, String body, String message) throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(message, objectMapper.readTree(response).get("message").asText());
+    }
+
+    private void assertCourseUnchanged() throws Exception {
+        String response = mockMvc.perform(get("/api/courses/" + courseId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode course = objectMapper.readTree(response);
+        assertEquals(1, course.get("enrollmentCount").asInt());
+        assertEquals(studentId, course.get("studentIds").get(0).asLong());
+    }
+
+    private long postForId(String url, String json) throws Exception {
+        String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        assertNull(node.get("message"));
+        return node.get("id").asLong();
+    }
+}
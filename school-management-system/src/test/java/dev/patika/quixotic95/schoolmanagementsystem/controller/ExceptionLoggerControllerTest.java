@@ -0,0 +1,64 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * checks that error responses are logged by the background ExceptionLogWriter and show up in its stats
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExceptionLoggerControllerTest {
+
+    // the writer flushes every 200 ms by default
+    private static final long WRITE_TIMEOUT_MILLIS = 10000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void errorResponseIsLoggedInBackground() throws Exception {
+        long unknownStudentId = -System.nanoTime();
+        String message = "Student with id: " + unknownStudentId + " can not be found!";
+
+        mockMvc.perform(get("/api/students/" + unknownStudentId)).andExpect(status().isNotFound());
+
+        long deadline = System.currentTimeMillis() + WRITE_TIMEOUT_MILLIS;
+        while (!isLogged("404 NOT_FOUND", message)) {
+            assertTrue(System.currentTimeMillis() < deadline, "error was not logged: " + message);
+            Thread.sleep(50);
+        }
+
+        JsonNode stats = getJson("/api/exceptionLogs/writerStats");
+        assertTrue(stats.get("flushed").asLong() >= 1);
+        assertTrue(stats.get("submitted").asLong() >= stats.get("flushed").asLong());
+    }
+
+    private boolean isLogged(String type, String message) throws Exception {
+        for (JsonNode log : getJson("/api/exceptionLogs?type=" + type)) {
+            if (log.get("message").asText().equals(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        String response = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
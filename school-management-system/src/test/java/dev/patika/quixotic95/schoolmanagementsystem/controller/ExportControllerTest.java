@@ -0,0 +1,208 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.VisitingResearcherDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.service.CourseService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.InstructorService;
+import dev.patika.quixotic95.schoolmanagementsystem.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * reads the NDJSON exports of Students, Courses and Instructors created by the test
+ * every export starts after the largest id which existed before, so rows of other tests are not exported
+ * every line of the response must be one JSON object
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+    // lines between two persistence context clears of the Instructor export, see ExportService
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void studentsAreExportedOnePerLine() throws Exception {
+        long after = maxId("student");
+        List<Long> studentIds = createStudents(3);
+
+        List<JsonNode> lines = export("/api/export/students?after=" + after);
+
+        assertEquals(studentIds, idsOf(lines));
+        assertEquals("Student0", lines.get(0).get("firstName").asText());
+        assertEquals("1995-07-26", lines.get(0).get("birthDate").asText());
+        assertEquals("MALE", lines.get(0).get("gender").asText());
+    }
+
+    @Test
+    void courseRowsAreGroupedIntoOneLinePerCourse() throws Exception {
+        long instructorId = createPermanentInstructor();
+        List<Long> studentIds = createStudents(4);
+        long after = maxId("course");
+
+        CourseDTO course = createCourse(instructorId, studentIds.get(0), studentIds.get(1), studentIds.get(2));
+        CourseDTO emptyCourse = createCourse(instructorId);
+        CourseDTO otherCourse = createCourse(instructorId, studentIds.get(1), studentIds.get(3));
+        CourseDTO courseWithoutInstructor = createCourse(instructorId, studentIds.get(2));
+        jdbcTemplate.update("UPDATE course SET instructor_id = NULL WHERE id = ?", courseWithoutInstructor.getId());
+
+        List<JsonNode> lines = export("/api/export/courses?after=" + after);
+
+        assertEquals(Arrays.asList(course.getId(), emptyCourse.getId(), otherCourse.getId(), courseWithoutInstructor.getId()), idsOf(lines));
+
+        assertEquals(course.getCourseCode(), lines.get(0).get("courseCode").asText());
+        assertEquals(instructorId, lines.get(0).get("instructorId").asLong());
+        assertEquals(Arrays.asList(studentIds.get(0), studentIds.get(1), studentIds.get(2)), longsOf(lines.get(0).get("studentIds")));
+        assertEquals(3, lines.get(0).get("enrollmentCount").asInt());
+
+        assertEquals(Collections.emptyList(), longsOf(lines.get(1).get("studentIds")));
+        assertEquals(0, lines.get(1).get("enrollmentCount").asInt());
+
+        assertEquals(Arrays.asList(studentIds.get(1), studentIds.get(3)), longsOf(lines.get(2).get("studentIds")));
+        assertEquals(2, lines.get(2).get("enrollmentCount").asInt());
+
+        assertEquals(0, lines.get(3).get("instructorId").asLong());
+        assertEquals(Collections.singletonList(studentIds.get(2)), longsOf(lines.get(3).get("studentIds")));
+
+        // the cursor skips the Courses up to and including the given id
+        assertEquals(Arrays.asList(otherCourse.getId(), courseWithoutInstructor.getId()),
+                idsOf(export("/api/export/courses?after=" + emptyCourse.getId())));
+    }
+
+    @Test
+    void instructorsAreExportedAcrossPersistenceContextClears() throws Exception {
+        long after = maxId("instructor");
+
+        // more Instructors than one clear interval, both types, so mapping continues on a cleared persistence context
+        List<Long> instructorIds = new ArrayList<>();
+        for (int i = 0; i < FLUSH_INTERVAL + 10; i++) {
+            instructorIds.add(i % 2 == 0 ? createPermanentInstructor() : createVisitingResearcher());
+        }
+
+        List<JsonNode> lines = export("/api/export/instructors?after=" + after);
+
+        assertEquals(instructorIds, idsOf(lines));
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode line = lines.get(i);
+            assertEquals("Koray", line.get("firstName").asText());
+            if (i % 2 == 0) {
+                assertEquals("PermanentInstructor", line.get("type").asText());
+                assertEquals(6000, line.get("fixedSalary").asDouble());
+            } else {
+                assertEquals("VisitingResearcher", line.get("type").asText());
+                assertEquals(300, line.get("hourlySalary").asDouble());
+            }
+        }
+    }
+
+    /**
+     * runs the export as async request, then parses every line of the streamed body as one JSON object
+     */
+    private List<JsonNode> export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        if (body.isEmpty()) {
+            return lines;
+        }
+        assertTrue(body.endsWith("\n"), "last line must end with a new line");
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            assertTrue(node.isObject(), "line is not a JSON object: " + line);
+            lines.add(node);
+        }
+        return lines;
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    }
+
+    private long createPermanentInstructor() {
+        return instructorService.savePermanentInstructor(
+                new PermanentInstructorDTO(0, "Koray", "Guney", "8 Hazine Street", "EX" + System.nanoTime(), 6000)).getId();
+    }
+
+    private long createVisitingResearcher() {
+        return instructorService.saveVisitingResearcher(
+                new VisitingResearcherDTO(0, "Koray", "Guney", "8 Hazine Street", "EX" + System.nanoTime(), 300)).getId();
+    }
+
+    private CourseDTO createCourse(long instructorId, Long... studentIds) {
+        return courseService.saveCourse(new CourseDTO(0, "Exported Course", "EX" + System.nanoTime(), 4, instructorId,
+                new ArrayList<>(Arrays.asList(studentIds)), 0));
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(studentService.saveStudent(
+                    new StudentDTO(0, "Student" + i, "Export", "2 Kiptas Street", LocalDate.of(1995, 7, 26), Gender.MALE, 0)).getId());
+        }
+        return ids;
+    }
+
+    private static List<Long> idsOf(List<JsonNode> lines) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode line : lines) {
+            ids.add(line.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static List<Long> longsOf(JsonNode array) {
+        List<Long> values = new ArrayList<>();
+        for (JsonNode value : array) {
+            values.add(value.asLong());
+        }
+        return values;
+    }
+}
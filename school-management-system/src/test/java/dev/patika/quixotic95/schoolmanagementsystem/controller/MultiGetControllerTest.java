@@ -0,0 +1,165 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * checks the multi-get endpoints ("?ids=...") for rows created by the test:
+ * request order, missing ids, repeated ids and the limit of 100 ids
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MultiGetControllerTest {
+
+    // no entity has this id, ids are positive
+    private static final long UNKNOWN_ID = -1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long permanentInstructorId;
+    private long visitingResearcherId;
+    private long studentId;
+    private long otherStudentId;
+    private long courseId;
+    private long otherCourseId;
+
+    @BeforeEach
+    void createData() throws Exception {
+        permanentInstructorId = postForId("/api/instructors/permanentInstructor", "{\"type\":\"PermanentInstructor\",\"firstName\":\"Koray\"," +
+                "\"lastName\":\"Güney\",\"address\":\"8 Hazine Street\",\"phoneNumber\":\"" + System.nanoTime() + "\",\"fixedSalary\":6000}");
+        visitingResearcherId = postForId("/api/instructors/visitingResearcher", "{\"type\":\"VisitingResearcher\",\"firstName\":\"Deniz\"," +
+                "\"lastName\":\"Ak\",\"address\":\"3 Liman Street\",\"phoneNumber\":\"" + System.nanoTime() + "\",\"hourlySalary\":300}");
+        studentId = postForId("/api/students", studentJson("Ahmet"));
+        otherStudentId = postForId("/api/students", studentJson("Elif"));
+        courseId = postForId("/api/courses", courseJson(studentId, otherStudentId));
+        otherCourseId = postForId("/api/courses", courseJson(studentId));
+    }
+
+    @Test
+    void studentsAreReturnedInRequestOrder() throws Exception {
+        JsonNode result = getByIds("/api/students", otherStudentId, UNKNOWN_ID, studentId);
+
+        assertEquals(Arrays.asList(otherStudentId, studentId), idsOf(result.get("content")));
+        assertEquals("Elif", result.get("content").get(0).get("firstName").asText());
+        assertEquals(Arrays.asList(UNKNOWN_ID), longsOf(result.get("missingIds")));
+    }
+
+    @Test
+    void coursesContainTheirStudentIds() throws Exception {
+        JsonNode result = getByIds("/api/courses", otherCourseId, courseId);
+
+        assertEquals(Arrays.asList(otherCourseId, courseId), idsOf(result.get("content")));
+        assertEquals(1, result.get("content").get(0).get("studentIds").size());
+        assertEquals(2, result.get("content").get(1).get("studentIds").size());
+        assertEquals(0, result.get("missingIds").size());
+    }
+
+    @Test
+    void instructorsOfBothTypesAreReturned() throws Exception {
+        JsonNode result = getByIds("/api/instructors", visitingResearcherId, UNKNOWN_ID, permanentInstructorId);
+
+        assertEquals(Arrays.asList(visitingResearcherId, permanentInstructorId), idsOf(result.get("content")));
+        assertEquals(300, result.get("content").get(0).get("hourlySalary").asDouble(), 0.001);
+        assertEquals(6000, result.get("content").get(1).get("fixedSalary").asDouble(), 0.001);
+        assertEquals(Arrays.asList(UNKNOWN_ID), longsOf(result.get("missingIds")));
+    }
+
+    @Test
+    void repeatedIdsAreReturnedOnce() throws Exception {
+        JsonNode result = getByIds("/api/students", studentId, studentId, UNKNOWN_ID, UNKNOWN_ID);
+
+        assertEquals(Arrays.asList(studentId), idsOf(result.get("content")));
+        assertEquals(Arrays.asList(UNKNOWN_ID), longsOf(result.get("missingIds")));
+    }
+
+    @Test
+    void moreThanHundredIdsAreRejected() throws Exception {
+        StringBuilder ids = new StringBuilder();
+        for (long id = 1; id <= 101; id++) {
+            ids.append(id == 1 ? "" : ",").append(id);
+        }
+        mockMvc.perform(get("/api/students").param("ids", ids.toString())).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/courses").param("ids", ids.toString())).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/instructors").param("ids", ids.toString())).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listIsServedWithoutIds() throws Exception {
+        String response = mockMvc.perform(get("/api/students").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(1, objectMapper.readTree(response).get("content").size());
+    }
+
+    private JsonNode getByIds(String url, long... ids) throws Exception {
+        StringBuilder param = new StringBuilder();
+        for (long id : ids) {
+            param.append(param.length() == 0 ? "" : ",").append(id);
+        }
+        String response = mockMvc.perform(get(url).param("ids", param.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private List<Long> idsOf(JsonNode rows) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode row : rows) {
+            ids.add(row.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private List<Long> longsOf(JsonNode values) {
+        List<Long> longs = new ArrayList<>();
+        for (JsonNode value : values) {
+            longs.add(value.asLong());
+        }
+        return longs;
+    }
+
+    private long postForId(String url, String json) throws Exception {
+        String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        assertNull(node.get("message"));
+        return node.get("id").asLong();
+    }
+
+    private String studentJson(String firstName) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"" + LocalDate.now().minusYears(21) + "\",\"gender\":\"FEMALE\"}";
+    }
+
+    private String courseJson(long... courseStudentIds) {
+        StringBuilder ids = new StringBuilder();
+        for (long id : courseStudentIds) {
+            ids.append(ids.length() == 0 ? "" : ",").append(id);
+        }
+        return "{\"courseName\":\"Course\",\"courseCode\":\"M" + System.nanoTime() + "\",\"creditScore\":4," +
+                "\"instructorId\":" + permanentInstructorId + ",\"studentIds\":[" + ids + "]}";
+    }
+}
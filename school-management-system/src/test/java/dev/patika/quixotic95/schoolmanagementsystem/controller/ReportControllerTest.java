@@ -0,0 +1,165 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * checks the aggregated values of the report endpoints for Courses created by the test
+ * (other tests share the database, so rows are looked up by id instead of comparing whole reports)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private long instructorId;
+    private long youngStudentId;
+    private long studentId;
+    private long olderStudentId;
+    private long courseId;
+    private long otherCourseId;
+
+    @BeforeEach
+    void createData() throws Exception {
+        evictReports();
+
+        instructorId = postForId("/api/instructors/permanentInstructor", "{\"type\":\"PermanentInstructor\",\"firstName\":\"Koray\"," +
+                "\"lastName\":\"Güney\",\"address\":\"8 Hazine Street\",\"phoneNumber\":\"" + System.nanoTime() + "\",\"fixedSalary\":6000}");
+        youngStudentId = postForId("/api/students", studentJson("MALE", 19));
+        studentId = postForId("/api/students", studentJson("FEMALE", 23));
+        olderStudentId = postForId("/api/students", studentJson("FEMALE", 33));
+        courseId = postForId("/api/courses", courseJson(6, youngStudentId, studentId, olderStudentId));
+        otherCourseId = postForId("/api/courses", courseJson(4, studentId));
+    }
+
+    @Test
+    void courseEnrollments() throws Exception {
+        JsonNode report = getReport("course-enrollments");
+
+        assertEquals(3, rowOf(report, "courseId", courseId).get("studentCount").asLong());
+        assertEquals(1, rowOf(report, "courseId", otherCourseId).get("studentCount").asLong());
+    }
+
+    @Test
+    void studentCredits() throws Exception {
+        JsonNode row = rowOf(getReport("student-credits"), "studentId", studentId);
+
+        assertEquals(2, row.get("courseCount").asLong());
+        assertEquals(10.0, row.get("totalCredits").asDouble(), 0.001);
+    }
+
+    @Test
+    void instructorCourses() throws Exception {
+        JsonNode row = rowOf(getReport("instructor-courses"), "instructorId", instructorId);
+
+        assertEquals(2, row.get("courseCount").asLong());
+        assertEquals(10.0, row.get("totalCredits").asDouble(), 0.001);
+    }
+
+    @Test
+    void courseGenders() throws Exception {
+        JsonNode report = getReport("course-genders");
+
+        assertEquals(1, countOf(report, "gender", "MALE"));
+        assertEquals(2, countOf(report, "gender", "FEMALE"));
+        assertEquals(0, countOf(report, "gender", "OTHER"));
+    }
+
+    @Test
+    void courseAgeGroups() throws Exception {
+        JsonNode report = getReport("course-age-groups");
+
+        assertEquals(1, countOf(report, "ageGroup", "18-20"));
+        assertEquals(1, countOf(report, "ageGroup", "21-25"));
+        assertEquals(0, countOf(report, "ageGroup", "26-30"));
+        assertEquals(1, countOf(report, "ageGroup", "31-35"));
+    }
+
+    @Test
+    void reportsAreServedFromCacheUntilEvicted() throws Exception {
+        assertEquals(1, rowOf(getReport("course-enrollments"), "courseId", otherCourseId).get("studentCount").asLong());
+
+        mockMvc.perform(post("/api/courses/" + otherCourseId + "/students/" + youngStudentId)).andExpect(status().isOk());
+        assertEquals(1, rowOf(getReport("course-enrollments"), "courseId", otherCourseId).get("studentCount").asLong());
+
+        evictReports();
+        assertEquals(2, rowOf(getReport("course-enrollments"), "courseId", otherCourseId).get("studentCount").asLong());
+    }
+
+    private void evictReports() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private JsonNode getReport(String name) throws Exception {
+        String response = mockMvc.perform(get("/api/reports/" + name))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private JsonNode rowOf(JsonNode report, String idField, long id) {
+        for (JsonNode row : report) {
+            if (row.get(idField).asLong() == id) {
+                return row;
+            }
+        }
+        throw new AssertionError("no row with " + idField + " " + id + " in " + report);
+    }
+
+    // studentCount of the group of the test's first Course, 0 if the group is not listed
+    private long countOf(JsonNode report, String groupField, String group) {
+        for (JsonNode row : report) {
+            if (row.get("courseId").asLong() == courseId && row.get(groupField).asText().equals(group)) {
+                return row.get("studentCount").asLong();
+            }
+        }
+        return 0;
+    }
+
+    private long postForId(String url, String json) throws Exception {
+        String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        assertNull(node.get("message"));
+        return node.get("id").asLong();
+    }
+
+    private String studentJson(String gender, int age) {
+        return "{\"firstName\":\"Ahmet\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"" + LocalDate.now().minusYears(age).minusDays(1) + "\",\"gender\":\"" + gender + "\"}";
+    }
+
+    private String courseJson(double creditScore, long... courseStudentIds) {
+        StringBuilder ids = new StringBuilder();
+        for (long id : courseStudentIds) {
+            ids.append(ids.length() == 0 ? "" : ",").append(id);
+        }
+        return "{\"courseName\":\"Course\",\"courseCode\":\"C" + System.nanoTime() + "\",\"creditScore\":" + creditScore + "," +
+                "\"instructorId\":" + instructorId + ",\"studentIds\":[" + ids + "]}";
+    }
+}
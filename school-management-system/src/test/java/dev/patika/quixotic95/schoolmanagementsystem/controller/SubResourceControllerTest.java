@@ -0,0 +1,160 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * checks the paginated sub-resources of Courses, Students and Instructors created by the test:
+ * pages, next cursors, total counts and unknown parents
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SubResourceControllerTest {
+
+    // no entity has this id, ids are positive
+    private static final long UNKNOWN_ID = -1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long instructorId;
+    private long firstStudentId;
+    private long secondStudentId;
+    private long thirdStudentId;
+    private long courseId;
+    private long otherCourseId;
+
+    @BeforeEach
+    void createData() throws Exception {
+        instructorId = postForId("/api/instructors/permanentInstructor", "{\"type\":\"PermanentInstructor\",\"firstName\":\"Koray\"," +
+                "\"lastName\":\"Güney\",\"address\":\"8 Hazine Street\",\"phoneNumber\":\"" + System.nanoTime() + "\",\"fixedSalary\":6000}");
+        firstStudentId = postForId("/api/students", studentJson());
+        secondStudentId = postForId("/api/students", studentJson());
+        thirdStudentId = postForId("/api/students", studentJson());
+        courseId = postForId("/api/courses", courseJson(4, firstStudentId, secondStudentId, thirdStudentId));
+        otherCourseId = postForId("/api/courses", courseJson(6, firstStudentId));
+    }
+
+    @Test
+    void courseStudentsArePaginated() throws Exception {
+        JsonNode firstPage = getPage("/api/courses/" + courseId + "/students", 0, 2);
+
+        assertEquals(Arrays.asList(firstStudentId, secondStudentId), idsOf(firstPage));
+        assertEquals(secondStudentId, firstPage.get("nextCursor").asLong());
+        assertEquals(3, firstPage.get("totalCount").asLong());
+        assertEquals("Ahmet", firstPage.get("content").get(0).get("firstName").asText());
+
+        JsonNode lastPage = getPage("/api/courses/" + courseId + "/students", secondStudentId, 2);
+
+        assertEquals(Collections.singletonList(thirdStudentId), idsOf(lastPage));
+        assertTrue(lastPage.get("nextCursor").isNull());
+        assertEquals(3, lastPage.get("totalCount").asLong());
+    }
+
+    @Test
+    void studentCoursesArePaginated() throws Exception {
+        JsonNode page = getPage("/api/students/" + firstStudentId + "/courses", 0, 20);
+
+        assertEquals(Arrays.asList(courseId, otherCourseId), idsOf(page));
+        assertEquals(6, page.get("content").get(1).get("creditScore").asDouble(), 0.001);
+        assertTrue(page.get("nextCursor").isNull());
+        assertEquals(2, page.get("totalCount").asLong());
+
+        JsonNode otherPage = getPage("/api/students/" + secondStudentId + "/courses", 0, 20);
+
+        assertEquals(Collections.singletonList(courseId), idsOf(otherPage));
+        assertEquals(1, otherPage.get("totalCount").asLong());
+    }
+
+    @Test
+    void instructorCoursesArePaginated() throws Exception {
+        JsonNode firstPage = getPage("/api/instructors/" + instructorId + "/courses", 0, 1);
+
+        assertEquals(Collections.singletonList(courseId), idsOf(firstPage));
+        assertEquals(courseId, firstPage.get("nextCursor").asLong());
+        assertEquals(2, firstPage.get("totalCount").asLong());
+
+        JsonNode lastPage = getPage("/api/instructors/" + instructorId + "/courses", courseId, 1);
+
+        assertEquals(Collections.singletonList(otherCourseId), idsOf(lastPage));
+        assertTrue(lastPage.get("nextCursor").isNull());
+    }
+
+    @Test
+    void parentWithoutChildrenHasEmptyPage() throws Exception {
+        long studentWithoutCourses = postForId("/api/students", studentJson());
+
+        JsonNode page = getPage("/api/students/" + studentWithoutCourses + "/courses", 0, 20);
+
+        assertEquals(0, page.get("content").size());
+        assertEquals(0, page.get("totalCount").asLong());
+    }
+
+    @Test
+    void unknownParentIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/courses/" + UNKNOWN_ID + "/students")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/students/" + UNKNOWN_ID + "/courses")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/instructors/" + UNKNOWN_ID + "/courses")).andExpect(status().isNotFound());
+    }
+
+    private JsonNode getPage(String url, long after, int limit) throws Exception {
+        String response = mockMvc.perform(get(url).param("after", String.valueOf(after)).param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private List<Long> idsOf(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode row : page.get("content")) {
+            ids.add(row.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private long postForId(String url, String json) throws Exception {
+        String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        assertNull(node.get("message"));
+        return node.get("id").asLong();
+    }
+
+    private String studentJson() {
+        return "{\"firstName\":\"Ahmet\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"" + LocalDate.now().minusYears(21) + "\",\"gender\":\"MALE\"}";
+    }
+
+    private String courseJson(double creditScore, long... courseStudentIds) {
+        StringBuilder ids = new StringBuilder();
+        for (long id : courseStudentIds) {
+            ids.append(ids.length() == 0 ? "" : ",").append(id);
+        }
+        return "{\"courseName\":\"Course\",\"courseCode\":\"S" + System.nanoTime() + "\",\"creditScore\":" + creditScore + "," +
+                "\"instructorId\":" + instructorId + ",\"studentIds\":[" + ids + "]}";
+    }
+}
@@ -0,0 +1,321 @@
+package dev.patika.quixotic95.schoolmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.util.JsonMergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * counts the JDBC statements executed by each write endpoint (a JDBC batch counts as one)
+ * so write paths that load rows only to set a foreign key, or merge detached copies, show up as extra statements
+ * the read endpoints are counted too, they read DTO projections and must not load lazy associations row by row
+ * the prepared SQL is kept too, so partial updates can be checked for the columns they write
+ * the counting DataSource makes this an own context, so it runs on its own in-memory database
+ * instead of recreating the schema under the shared context of the other tests
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:writestatementcount;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class WriteStatementCountTest {
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+    private static final List<String> PREPARED_SQL = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long instructorId;
+    private long[] studentIds;
+
+    @BeforeEach
+    void createData() throws Exception {
+        instructorId = createInstructor();
+        studentIds = new long[12];
+        for (int i = 0; i < studentIds.length; i++) {
+            studentIds[i] = createStudent("Student" + i);
+        }
+    }
+
+    @Test
+    void saveCourse() throws Exception {
+        // student ids, instructor exists, insert course, insert student_course batch, credits
+        assertStatements(5, post("/api/courses").contentType(MediaType.APPLICATION_JSON)
+                .content(courseJson(studentIds[0], studentIds[1], studentIds[2])));
+    }
+
+    @Test
+    void updateCourse() throws Exception {
+        long courseId = createCourse(studentIds[0], studentIds[1], studentIds[2]);
+
+        // lock, student ids, course, current student ids, instructor exists,
+        // delete removed rows, their credits, insert added rows, their credits, credits of kept Students, update course
+        assertStatements(11, put("/api/courses/" + courseId).contentType(MediaType.APPLICATION_JSON)
+                .content(courseJson(studentIds[1], studentIds[2], studentIds[3]).replace("\"creditScore\":6", "\"creditScore\":8")));
+    }
+
+    @Test
+    void enrollStudentDoesNotDependOnCourseSize() throws Exception {
+        long smallCourseId = createCourse(studentIds[0]);
+        long largeCourseId = createCourse(studentIds[0], studentIds[1], studentIds[2], studentIds[3], studentIds[4],
+                studentIds[5], studentIds[6], studentIds[7], studentIds[8], studentIds[9]);
+
+        // seat reservation (enrollment count), student ids, enrolled ids, insert row, credits, course, course student ids
+        assertStatements(7, post("/api/courses/" + smallCourseId + "/students/" + studentIds[11]));
+        assertStatements(7, post("/api/courses/" + largeCourseId + "/students/" + studentIds[11]));
+    }
+
+    @Test
+    void updateStudent() throws Exception {
+        // student, update student
+        assertStatements(2, put("/api/students/" + studentIds[0]).contentType(MediaType.APPLICATION_JSON)
+                .content(studentJson("Updated")));
+    }
+
+    @Test
+    void updatePermanentInstructor() throws Exception {
+        // instructor, update instructor, update permanent_instructor
+        assertStatements(3, put("/api/instructors/permanentInstructor/" + instructorId).contentType(MediaType.APPLICATION_JSON)
+                .content(instructorJson("Updated", instructorId, 7000)));
+    }
+
+    @Test
+    void patchStudentUpdatesOnlyChangedColumns() throws Exception {
+        // student, update student
+        assertStatements(2, patch("/api/students/" + studentIds[0]).contentType(JsonMergePatch.MEDIA_TYPE)
+                .content("{\"address\":\"3 Kiptaş Street\"}"));
+
+        String update = preparedUpdateOf("student");
+        assertTrue(update.contains("address"));
+        assertFalse(update.contains("first_name"));
+        assertFalse(update.contains("birth_date"));
+    }
+
+    @Test
+    void patchInstructorUpdatesOnlyTablesOfChangedColumns() throws Exception {
+        // instructor, update instructor (permanent_instructor has no changed column)
+        assertStatements(2, patch("/api/instructors/" + instructorId).contentType(JsonMergePatch.MEDIA_TYPE)
+                .content("{\"address\":\"9 Hazine Street\"}"));
+
+        String update = preparedUpdateOf("instructor");
+        assertTrue(update.contains("address"));
+        assertFalse(update.contains("phone_number"));
+    }
+
+    @Test
+    void patchCourse() throws Exception {
+        long courseId = createCourse(studentIds[0], studentIds[1]);
+
+        // lock, course, current student ids, student ids, instructor exists, update course
+        assertStatements(6, patch("/api/courses/" + courseId).contentType(JsonMergePatch.MEDIA_TYPE)
+                .content("{\"courseName\":\"Patched\"}"));
+
+        String update = preparedUpdateOf("course");
+        assertTrue(update.contains("course_name"));
+        assertFalse(update.contains("course_code"));
+    }
+
+    @Test
+    void deleteCourse() throws Exception {
+        long courseId = createCourse(studentIds[0], studentIds[1], studentIds[2]);
+
+        // lock, course, course student ids, credits, delete student_course rows, delete course
+        assertStatements(6, delete("/api/courses/" + courseId));
+    }
+
+    @Test
+    void deleteInstructorDoesNotDependOnNumberOfCourses() throws Exception {
+        long otherInstructorId = createInstructor();
+        createCourse(studentIds[0], studentIds[1]);
+        for (int i = 0; i < 10; i++) {
+            createCourseOf(otherInstructorId, studentIds[i], studentIds[i + 1]);
+        }
+
+        // instructor, lock courses, credits, delete student_course rows, delete courses,
+        // delete permanent_instructor, delete instructor
+        assertStatements(7, delete("/api/instructors/" + instructorId));
+        assertStatements(7, delete("/api/instructors/" + otherInstructorId));
+    }
+
+    @Test
+    void findCourseDoesNotDependOnCourseSize() throws Exception {
+        long smallCourseId = createCourse(studentIds[0]);
+        long largeCourseId = createCourse(studentIds[0], studentIds[1], studentIds[2], studentIds[3], studentIds[4],
+                studentIds[5], studentIds[6], studentIds[7], studentIds[8], studentIds[9]);
+
+        // course, course student ids
+        assertStatements(2, get("/api/courses/" + smallCourseId));
+        assertStatements(2, get("/api/courses/" + largeCourseId));
+    }
+
+    @Test
+    void findAllCoursesDoesNotDependOnPageSize() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            createCourse(studentIds[i], studentIds[i + 1]);
+        }
+
+        // courses of the page, student ids of the page
+        assertStatements(2, get("/api/courses?limit=1"));
+        assertStatements(2, get("/api/courses?limit=10"));
+    }
+
+    @Test
+    void findStudent() throws Exception {
+        createCourse(studentIds[0], studentIds[1]);
+
+        // student
+        assertStatements(1, get("/api/students/" + studentIds[0]));
+        // students of the page
+        assertStatements(1, get("/api/students?limit=10"));
+    }
+
+    @Test
+    void findInstructor() throws Exception {
+        createCourse(studentIds[0], studentIds[1]);
+
+        // permanent instructor
+        assertStatements(1, get("/api/instructors/" + instructorId));
+    }
+
+    private void assertStatements(int expected, RequestBuilder request) throws Exception {
+        STATEMENTS.set(0);
+        PREPARED_SQL.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, STATEMENTS.get());
+    }
+
+    // the last UPDATE of the table is the one flushed for the entity (native lock statements come first)
+    private String preparedUpdateOf(String table) {
+        for (int i = PREPARED_SQL.size() - 1; i >= 0; i--) {
+            String lowerCaseSql = PREPARED_SQL.get(i).toLowerCase(Locale.ROOT);
+            if (lowerCaseSql.startsWith("update " + table + " ")) {
+                return lowerCaseSql;
+            }
+        }
+        throw new AssertionError("no update of " + table + " in " + PREPARED_SQL);
+    }
+
+    private long createInstructor() throws Exception {
+        return postForId("/api/instructors/permanentInstructor", instructorJson("Koray", System.nanoTime(), 6000));
+    }
+
+    private long createStudent(String firstName) throws Exception {
+        return postForId("/api/students", studentJson(firstName));
+    }
+
+    private long createCourse(long... courseStudentIds) throws Exception {
+        return postForId("/api/courses", courseJson(courseStudentIds));
+    }
+
+    private long createCourseOf(long courseInstructorId, long... courseStudentIds) throws Exception {
+        return postForId("/api/courses", courseJson(courseStudentIds).replace("\"instructorId\":" + instructorId + ",",
+                "\"instructorId\":" + courseInstructorId + ","));
+    }
+
+    private long postForId(String url, String json) throws Exception {
+        String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        return node.get("id").asLong();
+    }
+
+    private String studentJson(String firstName) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"1995-07-26\",\"gender\":\"MALE\"}";
+    }
+
+    private String instructorJson(String firstName, long phoneNumber, double fixedSalary) {
+        return "{\"type\":\"PermanentInstructor\",\"firstName\":\"" + firstName + "\",\"lastName\":\"Güney\"," +
+                "\"address\":\"8 Hazine Street\",\"phoneNumber\":\"" + phoneNumber + "\",\"fixedSalary\":" + fixedSalary + "}";
+    }
+
+    private String courseJson(long... courseStudentIds) {
+        StringBuilder ids = new StringBuilder();
+        for (long id : courseStudentIds) {
+            ids.append(ids.length() == 0 ? "" : ",").append(id);
+        }
+        return "{\"courseName\":\"Course\",\"courseCode\":\"C" + System.nanoTime() + "\",\"creditScore\":6," +
+                "\"instructorId\":" + instructorId + ",\"studentIds\":[" + ids + "]}";
+    }
+
+    /**
+     * wraps the DataSource, so every executed JDBC statement of the application is counted
+     */
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? counting(DataSource.class, bean) : bean;
+                }
+            };
+        }
+
+        private static <T> T counting(Class<T> type, Object target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException exc) {
+                    throw exc.getCause();
+                }
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    STATEMENTS.incrementAndGet();
+                }
+                if (target instanceof Connection && method.getName().equals("prepareStatement")) {
+                    PREPARED_SQL.add((String) args[0]);
+                }
+                if (result instanceof Connection && method.getName().equals("getConnection")) {
+                    return counting(Connection.class, result);
+                }
+                if (result instanceof CallableStatement) {
+                    return counting(CallableStatement.class, result);
+                }
+                if (result instanceof PreparedStatement) {
+                    return counting(PreparedStatement.class, result);
+                }
+                if (result instanceof Statement) {
+                    return counting(Statement.class, result);
+                }
+                return result;
+            }));
+        }
+    }
+}
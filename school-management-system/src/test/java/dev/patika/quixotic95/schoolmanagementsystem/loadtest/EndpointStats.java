@@ -0,0 +1,86 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * latencies and status codes of one endpoint (method and path template), recorded by one client and merged afterwards
+ * every latency is kept, so percentiles are exact
+ */
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    /**
+     * @param status        - HTTP status, 0 if no response was received
+     * @param latencyNanos  - time from the (scheduled) start of the request to the end of the response
+     */
+    void record(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+        if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        other.statuses.forEach((status, requests) -> statuses.merge(status, requests, Long::sum));
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    Map<Integer, Long> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * @return double[] - p50, p95, p99, max and mean latency in milliseconds (nearest rank percentiles)
+     */
+    double[] latencyMillis() {
+
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long latency : sorted) {
+            sum += latency;
+        }
+
+        return new double[]{
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+                millis(count == 0 ? 0 : sorted[count - 1]), count == 0 ? 0 : millis(sum / count)
+        };
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+}
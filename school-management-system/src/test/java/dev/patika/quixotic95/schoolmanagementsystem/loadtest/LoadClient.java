@@ -0,0 +1,232 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * one client of the load test, sends the requests of the mix one after another and records them per endpoint
+ * with a target rate the requests are sent on a fixed schedule and latency is measured from the scheduled start,
+ * so a slow response also counts against the requests which had to wait for it
+ */
+class LoadClient implements Runnable {
+
+    private static final int MAX_OWN_ENROLLMENTS = 10;
+
+    private final String baseUrl;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final SeedData seedData;
+    private final List<Long> ownStudentIds;
+    private final long intervalNanos;
+    private final long offsetNanos;
+
+    // courseId and studentId pairs enrolled by this client, oldest first
+    private final Deque<long[]> enrollments = new ArrayDeque<>();
+    private int nextOwnStudent;
+
+    private Map<String, EndpointStats> stats = new HashMap<>();
+    private volatile long deadline;
+
+    LoadClient(String baseUrl, LoadSettings settings, SeedData seedData, int clientIndex) {
+
+        this.baseUrl = baseUrl;
+        this.seedData = seedData;
+        this.ownStudentIds = seedData.studentIdsOfClient(clientIndex, settings.getClients());
+
+        Map<LoadOperation, Integer> mix = settings.getMix();
+        operations = mix.keySet().toArray(new LoadOperation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        intervalNanos = settings.getTargetRate() > 0 ? 1_000_000_000L * settings.getClients() / settings.getTargetRate() : 0;
+        offsetNanos = intervalNanos * clientIndex / settings.getClients();
+    }
+
+    /**
+     * starts a new phase, run() sends requests until the deadline and records them in new stats
+     */
+    void startPhase(long durationNanos) {
+        stats = new HashMap<>();
+        deadline = System.nanoTime() + durationNanos;
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+
+        long phaseStart = System.nanoTime();
+        long scheduled = phaseStart + offsetNanos;
+
+        while (true) {
+            long start = System.nanoTime();
+            if (intervalNanos > 0) {
+                if (scheduled > start) {
+                    LockSupport.parkNanos(scheduled - start);
+                }
+                start = scheduled;
+                scheduled += intervalNanos;
+            }
+            if (start >= deadline) {
+                return;
+            }
+            send(nextOperation(), start);
+        }
+    }
+
+    private LoadOperation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void send(LoadOperation operation, long start) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (operation) {
+            case listStudents:
+                call("GET /api/students", "GET", "/api/students?limit=20&after=" + random.nextLong(seedData.maxStudentId()), null, start);
+                break;
+            case getStudent:
+                call("GET /api/students/{id}", "GET", "/api/students/" + seedData.randomStudentId(), null, start);
+                break;
+            case createStudent:
+                call("POST /api/students", "POST", "/api/students", studentJson("Load"), start);
+                break;
+            case updateStudent:
+                call("PUT /api/students/{id}", "PUT", "/api/students/" + seedData.randomStudentId(), studentJson("Updated"), start);
+                break;
+            case listCourses:
+                call("GET /api/courses", "GET", "/api/courses?limit=20&after=" + random.nextLong(seedData.maxCourseId()), null, start);
+                break;
+            case getCourse:
+                call("GET /api/courses/{id}", "GET", "/api/courses/" + seedData.randomCourseId(), null, start);
+                break;
+            case enrollment:
+                sendEnrollment(start);
+                break;
+            case listInstructors:
+                call("GET /api/instructors", "GET", "/api/instructors?limit=20&after=" + random.nextLong(seedData.maxInstructorId()), null, start);
+                break;
+            case getInstructor:
+                call("GET /api/instructors/{id}", "GET", "/api/instructors/" + seedData.randomInstructorId(), null, start);
+                break;
+            case updateInstructor:
+                int instructor = random.nextInt(seedData.instructorCount());
+                call("PUT /api/instructors/permanentInstructor/{id}", "PUT",
+                        "/api/instructors/permanentInstructor/" + seedData.instructorId(instructor),
+                        SeedData.instructorJson(seedData.instructorPhoneNumber(instructor), 5000 + random.nextInt(1000)), start);
+                break;
+            case exceptionLogs:
+                call("GET /api/exceptionLogs", "GET", "/api/exceptionLogs?type=400&date=" + LocalDate.now(), null, start);
+                break;
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private void sendEnrollment(long start) {
+
+        if (enrollments.size() >= MAX_OWN_ENROLLMENTS || ownStudentIds.isEmpty()) {
+            long[] enrollment = enrollments.pollFirst();
+            if (enrollment != null) {
+                call("DELETE /api/courses/{id}/students/{id}", "DELETE",
+                        "/api/courses/" + enrollment[0] + "/students/" + enrollment[1], null, start);
+            }
+            return;
+        }
+
+        long courseId = seedData.randomCourseId();
+        long studentId = ownStudentIds.get(nextOwnStudent++ % ownStudentIds.size());
+        int status = call("POST /api/courses/{id}/students/{id}", "POST", "/api/courses/" + courseId + "/students/" + studentId, null, start);
+        if (status == 200) {
+            enrollments.addLast(new long[]{courseId, studentId});
+        }
+    }
+
+    private int call(String endpoint, String method, String path, String json, long start) {
+        int status = exchange(method, baseUrl + path, json).status;
+        stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(status, System.nanoTime() - start);
+        return status;
+    }
+
+    static String studentJson(String firstName) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Oğuz\",\"address\":\"2 Kiptaş Street\"," +
+                "\"birthDate\":\"" + LocalDate.now().minusYears(25) + "\",\"gender\":\"MALE\"}";
+    }
+
+    /**
+     * sends one request, the response is read to the end so the connection can be kept alive for the next request
+     *
+     * @return Response - status 0 if no response was received
+     */
+    static Response exchange(String method, String url, String json) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod(method);
+            if (json != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(json.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            return new Response(status, in == null ? "" : readFully(in));
+        } catch (IOException exc) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return new Response(0, exc.toString());
+        }
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static class Response {
+
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+}
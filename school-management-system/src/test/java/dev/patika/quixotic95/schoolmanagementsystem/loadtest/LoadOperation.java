@@ -0,0 +1,21 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+/**
+ * operations of the load mix, every operation sends one request (see LoadClient)
+ */
+enum LoadOperation {
+
+    listStudents,
+    getStudent,
+    createStudent,
+    updateStudent,
+    listCourses,
+    getCourse,
+    // enrolls one of the client's own Students to a random Course, or unenrolls its oldest enrollment
+    enrollment,
+    listInstructors,
+    getInstructor,
+    updateInstructor,
+    exceptionLogs
+
+}
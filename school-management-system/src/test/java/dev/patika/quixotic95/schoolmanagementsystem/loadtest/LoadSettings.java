@@ -0,0 +1,63 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * settings of a load test run, read from system properties (-Dloadtest.clients=32 ...)
+ */
+@Getter
+class LoadSettings {
+
+    static final String DEFAULT_MIX = "listStudents=15,getStudent=20,createStudent=5,updateStudent=5,listCourses=10,getCourse=15," +
+            "enrollment=10,listInstructors=5,getInstructor=10,updateInstructor=2,exceptionLogs=3";
+
+    // number of concurrent clients, every client sends one request at a time
+    private final int clients = Integer.getInteger("loadtest.clients", 16);
+
+    // seconds without recording before the measured run
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 5);
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 30);
+
+    // total requests per second of all clients, 0 sends as fast as responses come back
+    private final int targetRate = Integer.getInteger("loadtest.rate", 0);
+
+    // scale of a dataset generated with DatasetGeneratorService before the run, 0 creates the rows below through the API instead
+    private final double datasetScale = Double.parseDouble(System.getProperty("loadtest.dataset-scale", "0"));
+    private final long datasetSeed = Long.getLong("loadtest.dataset-seed", 42);
+
+    // rows created through the API before the run
+    private final int students = Integer.getInteger("loadtest.students", 1000);
+    private final int instructors = Integer.getInteger("loadtest.instructors", 40);
+    private final int courses = Integer.getInteger("loadtest.courses", 100);
+
+    private final String outputDirectory = System.getProperty("loadtest.output", "target/loadtest");
+
+    // operation name -> weight, see LoadOperation
+    private final Map<LoadOperation, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+
+        Map<LoadOperation, Integer> weights = new LinkedHashMap<>();
+
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix entries must look like name=weight: " + entry);
+            }
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.valueOf(nameAndWeight[0].trim()), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+}
@@ -0,0 +1,202 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.PermanentInstructorRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.service.DatasetGeneratorService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * load test of the REST endpoints through real HTTP connections, only runs with -Dloadtest=true
+ * the application is started on a random port against the test database (in-memory H2),
+ * or against a local MySQL database with -Dspring.profiles.active=loadtest-local (see application-loadtest-local.yml)
+ * <p>
+ * seeds data through the API (or generates a dataset with -Dloadtest.dataset-scale, into an empty database), runs the configured mix (see LoadSettings) with concurrent clients for a warm-up and a measured phase,
+ * then writes p50/p95/p99 latency, throughput and errors per endpoint as JSON to target/loadtest/loadtest-{time}.json
+ * <p>
+ * mvn test -Dtest=LoadTest -Dloadtest=true -Dloadtest.clients=32 -Dloadtest.rate=1000 -Dloadtest.duration=60
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTest {
+
+    static {
+        // HttpURLConnection keeps only 5 idle connections per host by default, every client needs its own
+        System.setProperty("http.maxConnections", Integer.toString(Math.max(5, Integer.getInteger("loadtest.clients", 16))));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.datasource.url}")
+    private String databaseUrl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private PermanentInstructorRepository permanentInstructorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runsLoadMix() throws Exception {
+
+        LoadSettings settings = new LoadSettings();
+        assertTrue(settings.getClients() > 0 && settings.getStudents() > 0 && settings.getInstructors() > 0 && settings.getCourses() > 0,
+                "clients, students, instructors and courses must be positive");
+
+        String baseUrl = "http://localhost:" + port;
+        SeedData seedData;
+        if (settings.getDatasetScale() > 0) {
+            datasetGeneratorService.generate(settings.getDatasetSeed(), settings.getDatasetScale(), LocalDate.now());
+            seedData = SeedData.load(jdbcTemplate, permanentInstructorRepository);
+        } else {
+            seedData = SeedData.create(baseUrl, settings, objectMapper);
+        }
+
+        List<LoadClient> clients = new ArrayList<>();
+        for (int i = 0; i < settings.getClients(); i++) {
+            clients.add(new LoadClient(baseUrl, settings, seedData, i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getClients());
+        try {
+            runPhase(clients, executor, settings.getWarmupSeconds());
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            runPhase(clients, executor, settings.getDurationSeconds());
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, EndpointStats> endpoints = mergeStats(clients);
+            File output = writeReport(settings, endpoints, startedAt, elapsedSeconds);
+
+            long requests = endpoints.values().stream().mapToLong(EndpointStats::getCount).sum();
+            assertTrue(requests > 0, "no request was sent");
+            log.info("Load test results written to {}", output.getAbsolutePath());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runPhase(List<LoadClient> clients, ExecutorService executor, int seconds) throws Exception {
+
+        List<Future<?>> running = new ArrayList<>();
+        for (LoadClient client : clients) {
+            client.startPhase(TimeUnit.SECONDS.toNanos(seconds));
+            running.add(executor.submit(client));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+    }
+
+    private static Map<String, EndpointStats> mergeStats(List<LoadClient> clients) {
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        for (LoadClient client : clients) {
+            client.getStats().forEach((endpoint, stats) -> endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(stats));
+        }
+        return endpoints;
+    }
+
+    private File writeReport(LoadSettings settings, Map<String, EndpointStats> endpoints, LocalDateTime startedAt,
+                             double elapsedSeconds) throws Exception {
+
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", startedAt.toString());
+        report.put("database", databaseUrl);
+
+        ObjectNode settingsNode = report.putObject("settings");
+        settingsNode.put("clients", settings.getClients());
+        settingsNode.put("targetRate", settings.getTargetRate());
+        settingsNode.put("warmupSeconds", settings.getWarmupSeconds());
+        settingsNode.put("durationSeconds", settings.getDurationSeconds());
+        settingsNode.put("datasetScale", settings.getDatasetScale());
+        settingsNode.put("datasetSeed", settings.getDatasetSeed());
+        settingsNode.put("students", settings.getStudents());
+        settingsNode.put("instructors", settings.getInstructors());
+        settingsNode.put("courses", settings.getCourses());
+        ObjectNode mixNode = settingsNode.putObject("mix");
+        settings.getMix().forEach((operation, weight) -> mixNode.put(operation.name(), weight));
+
+        long requests = 0;
+        long errors = 0;
+        ObjectNode endpointsNode = objectMapper.createObjectNode();
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            requests += stats.getCount();
+            errors += stats.getErrors();
+            writeEndpoint(endpointsNode, entry.getKey(), stats, elapsedSeconds);
+        }
+
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("throughput", round(requests / elapsedSeconds));
+        report.set("endpoints", endpointsNode);
+
+        File directory = new File(settings.getOutputDirectory());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("can not create " + directory);
+        }
+        File output = new File(directory, "loadtest-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+
+        log.info("{} requests in {} s ({} req/s), {} errors", requests, round(elapsedSeconds), round(requests / elapsedSeconds), errors);
+        return output;
+    }
+
+    private static void writeEndpoint(ObjectNode endpointsNode, String endpoint, EndpointStats stats, double elapsedSeconds) {
+
+        double[] latency = stats.latencyMillis();
+
+        ObjectNode endpointNode = endpointsNode.putObject(endpoint);
+
+        endpointNode.put("requests", stats.getCount());
+        endpointNode.put("errors", stats.getErrors());
+        endpointNode.put("throughput", round(stats.getCount() / elapsedSeconds));
+        ObjectNode latencyNode = endpointNode.putObject("latencyMillis");
+        latencyNode.put("p50", latency[0]);
+        latencyNode.put("p95", latency[1]);
+        latencyNode.put("p99", latency[2]);
+        latencyNode.put("max", latency[3]);
+        latencyNode.put("mean", latency[4]);
+        ObjectNode statusesNode = endpointNode.putObject("statuses");
+        stats.getStatuses().forEach((status, count) -> statusesNode.put(Integer.toString(status), count));
+
+        log.info("{}: {} requests, {} errors, p50 {} ms, p95 {} ms, p99 {} ms", endpoint,
+                stats.getCount(), stats.getErrors(), latency[0], latency[1], latency[2]);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+}
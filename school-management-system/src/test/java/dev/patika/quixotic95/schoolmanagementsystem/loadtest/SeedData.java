@@ -0,0 +1,126 @@
+package dev.patika.quixotic95.schoolmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.PermanentInstructorRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Students, PermanentInstructors and Courses used by a load test run, either created through the API before the run
+ * or read from a generated dataset
+ * phone numbers and course codes created through the API contain the start time of the run, so runs against a kept database do not collide
+ */
+class SeedData {
+
+    private final List<Long> studentIds = new ArrayList<>();
+    private final List<Long> instructorIds = new ArrayList<>();
+    private final List<String> instructorPhoneNumbers = new ArrayList<>();
+    private final List<Long> courseIds = new ArrayList<>();
+
+    static SeedData create(String baseUrl, LoadSettings settings, ObjectMapper objectMapper) throws IOException {
+
+        SeedData seedData = new SeedData();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        for (int i = 0; i < settings.getStudents(); i++) {
+            seedData.studentIds.add(post(baseUrl + "/api/students", LoadClient.studentJson("Seed"), objectMapper));
+        }
+        for (int i = 0; i < settings.getInstructors(); i++) {
+            String phoneNumber = run + "-" + i;
+            seedData.instructorIds.add(post(baseUrl + "/api/instructors/permanentInstructor", instructorJson(phoneNumber, 5000), objectMapper));
+            seedData.instructorPhoneNumbers.add(phoneNumber);
+        }
+        for (int i = 0; i < settings.getCourses(); i++) {
+            String courseJson = "{\"courseName\":\"Load Test\",\"courseCode\":\"LT-" + run + "-" + i + "\",\"creditScore\":4," +
+                    "\"instructorId\":" + seedData.instructorIds.get(i % seedData.instructorIds.size()) + ",\"studentIds\":[]}";
+            seedData.courseIds.add(post(baseUrl + "/api/courses", courseJson, objectMapper));
+        }
+        return seedData;
+    }
+
+    /**
+     * reads the ids of all Students, Courses and PermanentInstructors, e.g. of a dataset generated with DatasetGeneratorService
+     */
+    static SeedData load(JdbcTemplate jdbcTemplate, PermanentInstructorRepository permanentInstructorRepository) {
+
+        SeedData seedData = new SeedData();
+        seedData.studentIds.addAll(jdbcTemplate.queryForList("SELECT id FROM student ORDER BY id", Long.class));
+        seedData.courseIds.addAll(jdbcTemplate.queryForList("SELECT id FROM course ORDER BY id", Long.class));
+        for (PermanentInstructor instructor : permanentInstructorRepository.findAll()) {
+            seedData.instructorIds.add(instructor.getId());
+            seedData.instructorPhoneNumbers.add(instructor.getPhoneNumber());
+        }
+        return seedData;
+    }
+
+    static String instructorJson(String phoneNumber, int fixedSalary) {
+        return "{\"type\":\"PermanentInstructor\",\"firstName\":\"Koray\",\"lastName\":\"Güney\",\"address\":\"8 Hazine Street\"," +
+                "\"phoneNumber\":\"" + phoneNumber + "\",\"fixedSalary\":" + fixedSalary + "}";
+    }
+
+    private static long post(String url, String json, ObjectMapper objectMapper) throws IOException {
+        LoadClient.Response response = LoadClient.exchange("POST", url, json);
+        if (response.status != 200) {
+            throw new IllegalStateException("seeding " + url + " failed with " + response.status + ": " + response.body);
+        }
+        return objectMapper.readTree(response.body).get("id").asLong();
+    }
+
+    /**
+     * every client enrolls only its own Students, so the clients' enrollments do not conflict with each other
+     */
+    List<Long> studentIdsOfClient(int clientIndex, int clients) {
+        List<Long> ownStudentIds = new ArrayList<>();
+        for (int i = clientIndex; i < studentIds.size(); i += clients) {
+            ownStudentIds.add(studentIds.get(i));
+        }
+        return Collections.unmodifiableList(ownStudentIds);
+    }
+
+    long randomStudentId() {
+        return randomOf(studentIds);
+    }
+
+    long maxStudentId() {
+        return studentIds.get(studentIds.size() - 1);
+    }
+
+    long randomCourseId() {
+        return randomOf(courseIds);
+    }
+
+    long maxCourseId() {
+        return courseIds.get(courseIds.size() - 1);
+    }
+
+    long randomInstructorId() {
+        return randomOf(instructorIds);
+    }
+
+    long maxInstructorId() {
+        return instructorIds.get(instructorIds.size() - 1);
+    }
+
+    int instructorCount() {
+        return instructorIds.size();
+    }
+
+    long instructorId(int index) {
+        return instructorIds.get(index);
+    }
+
+    String instructorPhoneNumber(int index) {
+        return instructorPhoneNumbers.get(index);
+    }
+
+    private static long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+}
@@ -0,0 +1,153 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Course;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.PermanentInstructor;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Student;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * compares entity inserts with the ids of id_allocation (JDBC batches) and with IDENTITY ids (one statement per row)
+ * every round persists ROWS Students, ROWS ExceptionLoggers and ROWS / STUDENTS_PER_COURSE Courses with
+ * STUDENTS_PER_COURSE Students each, in transactions of CHUNK_SIZE entities, and logs the rows per second
+ * with the number of prepared JDBC statements (IDENTITY prepares one per row, batched inserts one per table and
+ * transaction, executed every hibernate.jdbc.batch_size rows), the in-memory database has no network round trips,
+ * so the statement count shows the difference a remote database makes better than the time
+ * the subclasses only run with -Dbenchmark=true, every subclass uses its own in-memory database
+ */
+@Slf4j
+abstract class EntityInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int STUDENTS_PER_COURSE = 10;
+
+    static final String STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * @return String - name of the id generation in the log
+     */
+    abstract String idGeneration();
+
+    @Test
+    void measuresEntityInserts() {
+
+        PermanentInstructor instructor = new PermanentInstructor();
+        instructor.setFirstName("First");
+        instructor.setLastName("Last");
+        instructor.setAddress("Address");
+        instructor.setPhoneNumber("5550000000");
+        instructor.setFixedSalary(5000);
+        transactionTemplate.executeWithoutResult(status -> entityManager.persist(instructor));
+
+        // the first round only warms up the JIT and the connection pool
+        insertRows(false, 0, instructor.getId());
+        insertRows(true, 1, instructor.getId());
+
+        assertEquals(2L * ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student", Long.class).longValue());
+        assertEquals(2L * ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_course", Long.class).longValue());
+    }
+
+    private void insertRows(boolean logged, int round, long instructorId) {
+
+        statistics().clear();
+        long start = System.nanoTime();
+        List<Student> students = persistInChunks(ROWS, i -> student(round, i));
+        log(logged, ROWS, "Student inserts", start);
+
+        start = System.nanoTime();
+        persistInChunks(ROWS, i -> new ExceptionLogger("Student with id: " + i + " can not be found!", HttpStatus.NOT_FOUND));
+        log(logged, ROWS, "ExceptionLogger inserts", start);
+
+        // the detached Students are only referenced by the student_course rows (proxies would be loaded by hashCode())
+        start = System.nanoTime();
+        persistInChunks(ROWS / STUDENTS_PER_COURSE, i -> {
+            Course course = new Course();
+            course.setCourseName("Course " + i);
+            course.setCourseCode("R" + round + "C" + i);
+            course.setCreditScore(4);
+            course.setCourseInstructor(entityManager.getReference(PermanentInstructor.class, instructorId));
+            for (int s = 0; s < STUDENTS_PER_COURSE; s++) {
+                course.getCourseStudents().add(students.get(i * STUDENTS_PER_COURSE + s));
+            }
+            return course;
+        });
+        log(logged, ROWS + ROWS / STUDENTS_PER_COURSE, "Course and student_course inserts", start);
+    }
+
+    /**
+     * persists count entities created by the factory, a transaction and a cleared persistence context every CHUNK_SIZE entities
+     */
+    private <T> List<T> persistInChunks(int count, IntFunction<T> factory) {
+        List<T> entities = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, count);
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < to; i++) {
+                    T entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    entities.add(entity);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return entities;
+    }
+
+    private static Student student(int round, int i) {
+        Student student = new Student();
+        student.setFirstName("First" + i);
+        student.setLastName("Last" + round);
+        student.setAddress("Address " + i);
+        student.setBirthDate(LocalDate.of(2000, 1, 1).plusDays(i % 1000));
+        student.setGender(i % 2 == 0 ? Gender.FEMALE : Gender.MALE);
+        return student;
+    }
+
+    private void log(boolean logged, long rows, String name, long start) {
+        if (!logged) {
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long statements = statistics().getPrepareStatementCount();
+        statistics().clear();
+        log.info("{} ids: {} {} in {} ms ({} rows per second, {} prepared statements)", idGeneration(), rows, name,
+                Math.round(seconds * 1000), Math.round(rows / seconds), statements);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,157 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * runs EXPLAIN on the SQL of every repository finder and fails if H2 plans a full table scan of any table
+ * the schema is created by the Flyway migrations and validated against the entities (ddl-auto validate),
+ * so a finder on a column without an index, or a migration which differs from the entities, fails the build
+ * the GROUP BY reports and findMaxId() read whole tables by design and are not checked
+ * every subclass uses its own in-memory database
+ */
+abstract class FinderIndexExplain {
+
+    static final String MIGRATED_SCHEMA = "spring.flyway.enabled=true";
+    static final String VALIDATED_SCHEMA = "spring.jpa.hibernate.ddl-auto=validate";
+    static final String CAPTURED_SQL = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+            "dev.patika.quixotic95.schoolmanagementsystem.repository.FinderIndexExplain$SqlCapture";
+
+    private static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PermanentInstructorRepository permanentInstructorRepository;
+
+    @Autowired
+    private VisitingResearcherRepository visitingResearcherRepository;
+
+    @Autowired
+    private ExceptionLoggerRepository exceptionLoggerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearSql() {
+        SQL.clear();
+    }
+
+    @Test
+    void studentFindersUseIndexes() {
+        assertNoTableScan("findStudentByFirstNameAndLastNameAndAddressAndGender",
+                () -> studentRepository.findStudentByFirstNameAndLastNameAndAddressAndGender("First", "Last", "Address", Gender.MALE));
+        assertNoTableScan("findStudentDTOsAfter", () -> studentRepository.findStudentDTOsAfter(0, PageRequest.of(0, 20)));
+        assertNoTableScan("findStudentDTOById", () -> studentRepository.findStudentDTOById(1));
+        assertNoTableScan("findStudentDTOsByIds", () -> studentRepository.findStudentDTOsByIds(Arrays.asList(1L, 2L)));
+        assertNoTableScan("findExistingIds", () -> studentRepository.findExistingIds(Arrays.asList(1L, 2L, 3L)));
+        assertNoTableScan("subtractCreditsOfCourse", () -> studentRepository.subtractCreditsOfCourse(1));
+        assertNoTableScan("subtractCreditsOfInstructorCourses", () -> studentRepository.subtractCreditsOfInstructorCourses(1));
+        assertNoTableScan("reconcileTotalCredits", () -> studentRepository.reconcileTotalCredits(1, 1000));
+    }
+
+    @Test
+    void courseFindersUseIndexes() {
+        assertNoTableScan("findCourseIdByCourseCode", () -> courseRepository.findCourseIdByCourseCode("CODE"));
+        assertNoTableScan("findCourseIdsByCourseCodes", () -> courseRepository.findCourseIdsByCourseCodes(Arrays.asList("A", "B")));
+        assertNoTableScan("findCourseDTOsAfter", () -> courseRepository.findCourseDTOsAfter(0, PageRequest.of(0, 20)));
+        assertNoTableScan("findCourseDTOById", () -> courseRepository.findCourseDTOById(1));
+        assertNoTableScan("findCourseDTOsByIds", () -> courseRepository.findCourseDTOsByIds(Arrays.asList(1L, 2L)));
+        assertNoTableScan("findCourseStudentIds", () -> courseRepository.findCourseStudentIds(Arrays.asList(1L, 2L)));
+        assertNoTableScan("findEnrolledStudentIds", () -> courseRepository.findEnrolledStudentIds(1, Arrays.asList(1L, 2L)));
+        assertNoTableScan("countCourseStudents", () -> courseRepository.countCourseStudents(1));
+        assertNoTableScan("lockCourses", () -> courseRepository.lockCourses(Arrays.asList(1L, 2L)));
+        assertNoTableScan("addEnrollmentCountIfSeatsAvailable", () -> courseRepository.addEnrollmentCountIfSeatsAvailable(1, 1, 20));
+        assertNoTableScan("findStudentSummariesOfCourseAfter",
+                () -> courseRepository.findStudentSummariesOfCourseAfter(1, 0, PageRequest.of(0, 20)));
+        assertNoTableScan("countCoursesOfStudent", () -> courseRepository.countCoursesOfStudent(1));
+        assertNoTableScan("findCourseSummariesOfStudentAfter",
+                () -> courseRepository.findCourseSummariesOfStudentAfter(1, 0, PageRequest.of(0, 20)));
+        assertNoTableScan("countCoursesOfInstructor", () -> courseRepository.countCoursesOfInstructor(1));
+        assertNoTableScan("findCourseSummariesOfInstructorAfter",
+                () -> courseRepository.findCourseSummariesOfInstructorAfter(1, 0, PageRequest.of(0, 20)));
+        assertNoTableScan("decrementEnrollmentCountsOfStudent", () -> courseRepository.decrementEnrollmentCountsOfStudent(1));
+        assertNoTableScan("reconcileEnrollmentCounts", () -> courseRepository.reconcileEnrollmentCounts(1, 1000));
+        assertNoTableScan("lockCoursesOfInstructor", () -> courseRepository.lockCoursesOfInstructor(1));
+        assertNoTableScan("deleteEnrollmentsOfInstructorCourses", () -> courseRepository.deleteEnrollmentsOfInstructorCourses(1));
+        assertNoTableScan("deleteCoursesOfInstructor", () -> courseRepository.deleteCoursesOfInstructor(1));
+    }
+
+    @Test
+    void instructorFindersUseIndexes() {
+        assertNoTableScan("findPermanentInstructorByPhoneNumber",
+                () -> permanentInstructorRepository.findPermanentInstructorByPhoneNumber("5550000000"));
+        assertNoTableScan("findPermanentInstructorDTOsAfter",
+                () -> permanentInstructorRepository.findPermanentInstructorDTOsAfter(0, PageRequest.of(0, 20)));
+        assertNoTableScan("findPermanentInstructorDTOById", () -> permanentInstructorRepository.findPermanentInstructorDTOById(1));
+        assertNoTableScan("findPermanentInstructorDTOsByIds",
+                () -> permanentInstructorRepository.findPermanentInstructorDTOsByIds(Arrays.asList(1L, 2L)));
+        assertNoTableScan("findVisitingResearcherByPhoneNumber",
+                () -> visitingResearcherRepository.findVisitingResearcherByPhoneNumber("5550000000"));
+        assertNoTableScan("findVisitingResearcherDTOsAfter",
+                () -> visitingResearcherRepository.findVisitingResearcherDTOsAfter(0, PageRequest.of(0, 20)));
+        assertNoTableScan("findVisitingResearcherDTOById", () -> visitingResearcherRepository.findVisitingResearcherDTOById(1));
+        assertNoTableScan("findVisitingResearcherDTOsByIds",
+                () -> visitingResearcherRepository.findVisitingResearcherDTOsByIds(Arrays.asList(1L, 2L)));
+    }
+
+    @Test
+    void exceptionLoggerFindersUseIndexes() {
+        LocalDateTime from = LocalDateTime.of(2021, 9, 6, 0, 0);
+        assertNoTableScan("findByStatusCode", () -> exceptionLoggerRepository.findByStatusCode("404 NOT_FOUND"));
+        assertNoTableScan("findByStatusCodeAndTimestampBetween",
+                () -> exceptionLoggerRepository.findByStatusCodeAndTimestampBetween("404 NOT_FOUND", from, from.plusDays(1)));
+    }
+
+    /**
+     * calls the finder in a rolled back transaction, then runs EXPLAIN on every statement it sent
+     */
+    private void assertNoTableScan(String finder, Runnable call) {
+        SQL.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        });
+        List<String> statements = new ArrayList<>(SQL);
+        assertFalse(statements.isEmpty(), finder + " sent no statement");
+
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            assertFalse(plan.contains("tableScan"), finder + " scans a whole table:\n" + plan);
+        }
+    }
+
+    /**
+     * keeps the SQL of every statement prepared by Hibernate (see CAPTURED_SQL)
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
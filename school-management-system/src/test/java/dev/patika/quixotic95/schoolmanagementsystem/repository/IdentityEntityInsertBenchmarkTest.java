@@ -0,0 +1,18 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * entity inserts with IDENTITY ids (META-INF/orm-identity-ids.xml), one statement per row (see EntityInsertBenchmark)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:identitybenchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.mapping-resources=META-INF/orm-identity-ids.xml", EntityInsertBenchmark.STATISTICS})
+class IdentityEntityInsertBenchmarkTest extends EntityInsertBenchmark {
+
+    @Override
+    String idGeneration() {
+        return "IDENTITY";
+    }
+}
@@ -0,0 +1,125 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.Instructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * compares the reads of the Instructor hierarchy with the JOINED mapping and the single table mapping
+ * INSTRUCTORS Instructors (every even id a PermanentInstructor, every odd id a VisitingResearcher) are inserted with
+ * INSERT ... SELECT statements, then the same reads are timed and logged for both mappings
+ * the subclasses only run with -Dbenchmark=true, every subclass uses its own in-memory database
+ */
+@Slf4j
+abstract class InstructorInheritanceBenchmark {
+
+    static final int INSTRUCTORS = 100_000;
+    private static final int LOOKUPS = 20_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private InstructorRepository<?> instructorRepository;
+
+    @Autowired
+    private PermanentInstructorRepository permanentInstructorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * @return String - name of the mapping in the log
+     */
+    abstract String mapping();
+
+    /**
+     * inserts INSTRUCTORS Instructors into the tables of the mapping
+     */
+    abstract void insertInstructors(JdbcTemplate jdbcTemplate);
+
+    @Test
+    void measuresInstructorReads() {
+
+        long start = System.nanoTime();
+        insertInstructors(jdbcTemplate);
+        log(true, INSTRUCTORS, "inserts", start);
+
+        // the first round only warms up the JIT and the connection pool, so the order of the benchmarks does not matter
+        readInstructors(false);
+        readInstructors(true);
+    }
+
+    private void readInstructors(boolean logged) {
+
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertTrue(instructorRepository.findById(1L + random.nextInt(INSTRUCTORS)).isPresent());
+        }
+        log(logged, LOOKUPS, "polymorphic findById", start);
+
+        random = new Random(42);
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertTrue(permanentInstructorRepository.findById(2L + 2L * random.nextInt(INSTRUCTORS / 2 - 1)).isPresent());
+        }
+        log(logged, LOOKUPS, "PermanentInstructor findById", start);
+
+        start = System.nanoTime();
+        long read = 0;
+        long after = 0;
+        List<PermanentInstructorDTO> page;
+        do {
+            page = permanentInstructorRepository.findPermanentInstructorDTOsAfter(after, PageRequest.of(0, PAGE_SIZE));
+            read += page.size();
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == PAGE_SIZE);
+        assertEquals(INSTRUCTORS / 2, read);
+        log(logged, read, "PermanentInstructorDTO keyset pages", start);
+
+        start = System.nanoTime();
+        Long streamed = transactionTemplate.execute(status -> {
+            try (Stream<Instructor> instructors = instructorRepository.streamInstructorsAfter(0)) {
+                return instructors.count();
+            }
+        });
+        assertEquals(INSTRUCTORS, streamed.longValue());
+        log(logged, streamed, "polymorphic stream", start);
+    }
+
+    /**
+     * inserts INSTRUCTORS rows with the columns every mapping has in the instructor table
+     * ids are X of SYSTEM_RANGE() (1 to INSTRUCTORS in the new database), only read afterwards, so none is reserved in id_allocation
+     *
+     * @param extraColumns - additional columns of the mapping, starting with a comma
+     * @param extraValues  - SQL expressions of the additional columns (X is the id), starting with a comma
+     */
+    static void insertInstructorRows(JdbcTemplate jdbcTemplate, String extraColumns, String extraValues) {
+        jdbcTemplate.update("INSERT INTO instructor (id, created_date, last_modified_date, first_name, last_name, address, phone_number" + extraColumns + ") " +
+                "SELECT X, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'First' || X, 'Last' || X, 'Address ' || X, 'P' || X" + extraValues + " " +
+                "FROM SYSTEM_RANGE(1, " + INSTRUCTORS + ")");
+    }
+
+    private void log(boolean logged, long operations, String name, long start) {
+        if (!logged) {
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} mapping: {} {} in {} ms ({} per second)", mapping(), operations, name,
+                Math.round(seconds * 1000), Math.round(operations / seconds));
+    }
+}
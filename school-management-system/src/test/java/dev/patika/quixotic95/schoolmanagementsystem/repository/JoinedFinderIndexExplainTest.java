@@ -0,0 +1,11 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * finder plans on the schema of db/migration/joined (see FinderIndexExplain)
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:joinedexplain;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        FinderIndexExplain.MIGRATED_SCHEMA, FinderIndexExplain.VALIDATED_SCHEMA, FinderIndexExplain.CAPTURED_SQL})
+class JoinedFinderIndexExplainTest extends FinderIndexExplain {
+}
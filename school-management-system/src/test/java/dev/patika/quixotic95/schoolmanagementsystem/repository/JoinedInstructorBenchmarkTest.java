@@ -0,0 +1,27 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Instructor reads with the JOINED mapping of the entity annotations (see InstructorInheritanceBenchmark)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:joinedbenchmark;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class JoinedInstructorBenchmarkTest extends InstructorInheritanceBenchmark {
+
+    @Override
+    String mapping() {
+        return "JOINED";
+    }
+
+    @Override
+    void insertInstructors(JdbcTemplate jdbcTemplate) {
+        insertInstructorRows(jdbcTemplate, "", "");
+        jdbcTemplate.update("INSERT INTO permanent_instructor (id, fixed_salary) " +
+                "SELECT id, 5000 FROM instructor WHERE MOD(id, 2) = 0");
+        jdbcTemplate.update("INSERT INTO visiting_researcher (id, hourly_salary) " +
+                "SELECT id, 50 FROM instructor WHERE MOD(id, 2) = 1");
+    }
+}
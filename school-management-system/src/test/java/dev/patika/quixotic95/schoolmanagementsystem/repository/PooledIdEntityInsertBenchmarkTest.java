@@ -0,0 +1,18 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * entity inserts with the ids of id_allocation, sent as JDBC batches (see EntityInsertBenchmark)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:pooledidbenchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        EntityInsertBenchmark.STATISTICS})
+class PooledIdEntityInsertBenchmarkTest extends EntityInsertBenchmark {
+
+    @Override
+    String idGeneration() {
+        return "pooled-lo";
+    }
+}
@@ -0,0 +1,13 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * finder plans on the schema of db/migration/single-table, the "single-table" profile (see FinderIndexExplain)
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:singletableexplain;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        FinderIndexExplain.MIGRATED_SCHEMA, FinderIndexExplain.VALIDATED_SCHEMA, FinderIndexExplain.CAPTURED_SQL})
+@ActiveProfiles("single-table")
+class SingleTableFinderIndexExplainTest extends FinderIndexExplain {
+}
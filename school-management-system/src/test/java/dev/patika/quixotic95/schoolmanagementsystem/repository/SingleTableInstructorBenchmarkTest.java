@@ -0,0 +1,27 @@
+package dev.patika.quixotic95.schoolmanagementsystem.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Instructor reads with the single table mapping of the "single-table" profile (see InstructorInheritanceBenchmark)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:singletablebenchmark;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("single-table")
+class SingleTableInstructorBenchmarkTest extends InstructorInheritanceBenchmark {
+
+    @Override
+    String mapping() {
+        return "SINGLE_TABLE";
+    }
+
+    @Override
+    void insertInstructors(JdbcTemplate jdbcTemplate) {
+        insertInstructorRows(jdbcTemplate, ", instructor_type, fixed_salary, hourly_salary",
+                ", CASE WHEN MOD(X, 2) = 0 THEN 'PermanentInstructor' ELSE 'VisitingResearcher' END" +
+                        ", CASE WHEN MOD(X, 2) = 0 THEN 5000 END, CASE WHEN MOD(X, 2) = 1 THEN 50 END");
+    }
+}
@@ -0,0 +1,169 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * checks the denormalized counters (Course.enrollmentCount and Student.totalCredits) against the student_course rows:
+ * every write path keeps them equal to a COUNT / SUM over student_course, and drifted counters are repaired by the reconciliation
+ * the context runs on its own in-memory database, so the checks can cover every row of both tables
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:counterreconciliation;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class CounterReconciliationServiceTest {
+
+    private static final double CREDIT_SCORE = 6;
+    private static final double OTHER_CREDIT_SCORE = 4;
+
+    @Autowired
+    private CounterReconciliationService counterReconciliationService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long instructorId;
+
+    @BeforeEach
+    void createData() {
+        instructorId = createInstructor();
+    }
+
+    @Test
+    void driftedCountersAreRepaired() {
+        List<Long> studentIds = createStudents(3);
+        CourseDTO course = createCourse(instructorId, CREDIT_SCORE, studentIds.get(0), studentIds.get(1));
+        CourseDTO otherCourse = createCourse(instructorId, OTHER_CREDIT_SCORE, studentIds.get(1));
+        assertCountersConsistent();
+
+        jdbcTemplate.update("UPDATE course SET enrollment_count = 7 WHERE id = ?", course.getId());
+        jdbcTemplate.update("UPDATE course SET enrollment_count = 0 WHERE id = ?", otherCourse.getId());
+        jdbcTemplate.update("UPDATE student SET total_credits = 100 WHERE id = ?", studentIds.get(1));
+        jdbcTemplate.update("UPDATE student SET total_credits = 3 WHERE id = ?", studentIds.get(2));
+
+        assertEquals(2, counterReconciliationService.reconcileEnrollmentCounts());
+        assertEquals(2, counterReconciliationService.reconcileTotalCredits());
+
+        assertCountersConsistent();
+        assertEquals(2, enrollmentCount(course.getId()));
+        assertEquals(1, enrollmentCount(otherCourse.getId()));
+        assertEquals(CREDIT_SCORE + OTHER_CREDIT_SCORE, totalCredits(studentIds.get(1)), 0.001);
+        assertEquals(0, totalCredits(studentIds.get(2)), 0.001);
+
+        // nothing is left to repair
+        assertEquals(0, counterReconciliationService.reconcileEnrollmentCounts());
+        assertEquals(0, counterReconciliationService.reconcileTotalCredits());
+    }
+
+    @Test
+    void writePathsKeepCountersConsistent() {
+        List<Long> studentIds = createStudents(4);
+        CourseDTO course = createCourse(instructorId, CREDIT_SCORE, studentIds.get(0));
+        CourseDTO otherCourse = createCourse(instructorId, OTHER_CREDIT_SCORE, studentIds.get(0), studentIds.get(1));
+        long otherInstructorId = createInstructor();
+        CourseDTO courseOfOtherInstructor = createCourse(otherInstructorId, CREDIT_SCORE, studentIds.get(1), studentIds.get(2));
+        assertCountersConsistent();
+
+        courseService.enrollStudent(course.getId(), studentIds.get(1));
+        assertCountersConsistent();
+        assertEquals(2, enrollmentCount(course.getId()));
+
+        courseService.enrollStudents(course.getId(), Arrays.asList(studentIds.get(2), studentIds.get(3)));
+        assertCountersConsistent();
+        assertEquals(4, enrollmentCount(course.getId()));
+
+        courseService.unenrollStudent(course.getId(), studentIds.get(3));
+        assertCountersConsistent();
+        assertEquals(3, enrollmentCount(course.getId()));
+
+        courseService.unenrollStudents(course.getId(), Arrays.asList(studentIds.get(1), studentIds.get(2)));
+        assertCountersConsistent();
+        assertEquals(1, enrollmentCount(course.getId()));
+
+        courseService.updateCourse(new CourseDTO(course.getId(), course.getCourseName(), course.getCourseCode(), CREDIT_SCORE + 2,
+                instructorId, new ArrayList<>(Arrays.asList(studentIds.get(0), studentIds.get(3))), 0), course.getId());
+        assertCountersConsistent();
+        assertEquals(CREDIT_SCORE + 2 + OTHER_CREDIT_SCORE, totalCredits(studentIds.get(0)), 0.001);
+
+        courseService.deleteCourseById(otherCourse.getId());
+        assertCountersConsistent();
+        assertEquals(CREDIT_SCORE + 2, totalCredits(studentIds.get(0)), 0.001);
+        assertEquals(CREDIT_SCORE, totalCredits(studentIds.get(1)), 0.001);
+
+        instructorService.deleteInstructorById(otherInstructorId);
+        assertCountersConsistent();
+        assertEquals(0, totalCredits(studentIds.get(1)), 0.001);
+        assertEquals(0, countRows("SELECT COUNT(*) FROM course WHERE id = ?", courseOfOtherInstructor.getId()));
+
+        studentService.deleteStudentById(studentIds.get(3));
+        assertCountersConsistent();
+        assertEquals(1, enrollmentCount(course.getId()));
+
+        // the write paths left no drift behind
+        assertEquals(0, counterReconciliationService.reconcileEnrollmentCounts());
+        assertEquals(0, counterReconciliationService.reconcileTotalCredits());
+    }
+
+    private long createInstructor() {
+        return instructorService.savePermanentInstructor(
+                new PermanentInstructorDTO(0, "Koray", "Guney", "8 Hazine Street", "CR" + System.nanoTime(), 6000)).getId();
+    }
+
+    private CourseDTO createCourse(long courseInstructorId, double creditScore, Long... studentIds) {
+        return courseService.saveCourse(new CourseDTO(0, "Counted Course", "CR" + System.nanoTime(), creditScore, courseInstructorId,
+                new ArrayList<>(Arrays.asList(studentIds)), 0));
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(studentService.saveStudent(
+                    new StudentDTO(0, "Student" + i, "Counter", "2 Kiptas Street", LocalDate.of(1995, 7, 26), Gender.MALE, 0)).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * enrollmentCount of every Course and totalCredits of every Student must match the student_course rows
+     */
+    private void assertCountersConsistent() {
+        assertEquals(0, countRows("SELECT COUNT(*) FROM course c " +
+                "WHERE c.enrollment_count <> (SELECT COUNT(*) FROM student_course sc WHERE sc.course_id = c.id)"), "courses with drifted enrollmentCount");
+        assertEquals(0, countRows("SELECT COUNT(*) FROM student s " +
+                "WHERE ABS(s.total_credits - (SELECT COALESCE(SUM(c.credit_score), 0) FROM student_course sc JOIN course c ON c.id = sc.course_id " +
+                "WHERE sc.student_id = s.id)) > 0.001"), "students with drifted totalCredits");
+    }
+
+    private int enrollmentCount(long courseId) {
+        return jdbcTemplate.queryForObject("SELECT enrollment_count FROM course WHERE id = ?", Integer.class, courseId);
+    }
+
+    private double totalCredits(long studentId) {
+        return jdbcTemplate.queryForObject("SELECT total_credits FROM student WHERE id = ?", Double.class, studentId);
+    }
+
+    private int countRows(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,159 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.StudentNumberForOneCourseExceededException;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * stress tests for enrolling Students to one hot Course from many threads at the same time
+ */
+@Slf4j
+@SpringBootTest
+class CourseEnrollmentConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void concurrentEnrollmentsNeverPassCourseCapacity() throws Exception {
+
+        long courseId = createCourse("HOT101", "555-0101");
+        List<Long> studentIds = createStudents(3 * MAX_STUDENTS_PER_COURSE);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long studentId : studentIds) {
+            tasks.add(() -> {
+                try {
+                    courseService.enrollStudent(courseId, studentId);
+                    enrolled.incrementAndGet();
+                } catch (StudentNumberForOneCourseExceededException exc) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runTogether(tasks);
+
+        assertEquals(MAX_STUDENTS_PER_COURSE, enrolled.get());
+        assertEquals(studentIds.size() - MAX_STUDENTS_PER_COURSE, rejected.get());
+        assertEquals(MAX_STUDENTS_PER_COURSE, courseRepository.countCourseStudents(courseId));
+        assertEquals(MAX_STUDENTS_PER_COURSE, courseRepository.findEnrollmentCountById(courseId));
+    }
+
+    @Test
+    void measuresEnrollmentThroughputOfOneHotCourse() throws Exception {
+
+        long courseId = createCourse("HOT102", "555-0102");
+        List<Long> studentIds = createStudents(2 * THREADS);
+        int rounds = 25;
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger maxStudents = new AtomicInteger();
+
+        // every task enrolls and removes its own Student again and again, so the Course is always near its capacity
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long studentId : studentIds) {
+            tasks.add(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    try {
+                        CourseDTO course = courseService.enrollStudent(courseId, studentId);
+                        enrolled.incrementAndGet();
+                        maxStudents.accumulateAndGet(course.getStudentIds().size(), Math::max);
+                        courseService.unenrollStudent(courseId, studentId);
+                    } catch (StudentNumberForOneCourseExceededException exc) {
+                        // course is full at the moment, try again
+                    }
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        runTogether(tasks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("{} enrollments of one course from {} threads in {} s: {} enrollments/s",
+                enrolled.get(), THREADS, String.format("%.2f", seconds), String.format("%.0f", enrolled.get() / seconds));
+
+        assertTrue(enrolled.get() > 0);
+        assertTrue(maxStudents.get() <= MAX_STUDENTS_PER_COURSE);
+        assertEquals(0, courseRepository.countCourseStudents(courseId));
+        assertEquals(0, courseRepository.findEnrollmentCountById(courseId));
+    }
+
+    /**
+     * helper method for starting all tasks at the same moment on THREADS threads
+     * rethrows the first unexpected exception of the tasks
+     */
+    private void runTogether(List<Callable<Void>> tasks) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    startSignal.await();
+                    return task.call();
+                }));
+            }
+            startSignal.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long createCourse(String courseCode, String phoneNumber) {
+        long instructorId = instructorService.savePermanentInstructor(
+                new PermanentInstructorDTO(0, "Koray", "Güney", "8 Hazine Street", phoneNumber, 6000)).getId();
+        return courseService.saveCourse(
+                new CourseDTO(0, "Hot Course", courseCode, 6, instructorId, new ArrayList<>(), 0)).getId();
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(studentService.saveStudent(
+                    new StudentDTO(0, "Student" + i, "Hot", "2 Kiptaş Street", LocalDate.of(1995, 7, 26), Gender.MALE, 0)).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.DatasetReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * generates small datasets into an own in-memory database, which is emptied before every test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datasetgenerator;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class DatasetGeneratorServiceTest {
+
+    private static final double SCALE = 0.02;
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2021, 9, 1);
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private CounterReconciliationService counterReconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyDatabase() {
+        for (String table : new String[]{"student_course", "course", "permanent_instructor", "visiting_researcher", "instructor",
+                "student", "exception_logger"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void generatesSameRowsForSameSeed() {
+        datasetGeneratorService.generate(42, SCALE, REFERENCE_DATE);
+        List<String> first = rows();
+
+        emptyDatabase();
+        datasetGeneratorService.generate(42, SCALE, REFERENCE_DATE);
+        assertEquals(first, rows());
+
+        emptyDatabase();
+        datasetGeneratorService.generate(43, SCALE, REFERENCE_DATE);
+        assertNotEquals(first, rows());
+    }
+
+    @Test
+    void keepsDomainRules() {
+        DatasetReportDTO report = datasetGeneratorService.generate(42, SCALE, REFERENCE_DATE);
+
+        assertEquals(2000, report.getStudents());
+        assertEquals(100, report.getCourses());
+        assertEquals(20, report.getPermanentInstructors() + report.getVisitingResearchers());
+        assertEquals(4000, report.getExceptionLogs());
+        assertEquals(report.getPermanentInstructors(), count("SELECT COUNT(*) FROM permanent_instructor"));
+        assertEquals(report.getEnrollments(), count("SELECT COUNT(*) FROM student_course"));
+
+        // ages 18 to 40 at the reference date
+        Date oldest = jdbcTemplate.queryForObject("SELECT MIN(birth_date) FROM student", Date.class);
+        Date youngest = jdbcTemplate.queryForObject("SELECT MAX(birth_date) FROM student", Date.class);
+        assertTrue(oldest.toLocalDate().isAfter(REFERENCE_DATE.minusYears(41)));
+        assertTrue(!youngest.toLocalDate().isAfter(REFERENCE_DATE.minusYears(18)));
+
+        assertTrue(count("SELECT COALESCE(MAX(enrollment_count), 0) FROM course") <= CourseService.MAX_STUDENTS_PER_COURSE);
+        assertEquals(0, counterReconciliationService.reconcileEnrollmentCounts());
+        assertEquals(0, counterReconciliationService.reconcileTotalCredits());
+    }
+
+    @Test
+    void refusesDatabaseWithRows() {
+        datasetGeneratorService.generate(42, SCALE, REFERENCE_DATE);
+
+        assertThrows(IllegalStateException.class, () -> datasetGeneratorService.generate(42, SCALE, REFERENCE_DATE));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    // every generated row without its generated id, enrollments refer to Students by their position
+    private List<String> rows() {
+        List<String> rows = new ArrayList<>();
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT_WS('|', first_name, last_name, address, phone_number) FROM instructor ORDER BY id",
+                String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT_WS('|', c.course_name, c.course_code, c.credit_score, c.enrollment_count, i.phone_number) " +
+                "FROM course c JOIN instructor i ON i.id = c.instructor_id ORDER BY c.id", String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT_WS('|', first_name, last_name, address, birth_date, gender, total_credits) " +
+                "FROM student ORDER BY id", String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT_WS('|', c.course_code, sc.student_id - (SELECT MIN(id) FROM student)) " +
+                "FROM student_course sc JOIN course c ON c.id = sc.course_id ORDER BY c.id, sc.student_id", String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT_WS('|', timestamp, status_code, message) FROM exception_logger ORDER BY id",
+                String.class));
+        return rows;
+    }
+}
@@ -0,0 +1,272 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportRowErrorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.ImportFileNotValidException;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * imports enrollment CSV files with EnrollmentImportService and checks the report, the student_course rows
+ * and the counters (enrollmentCount of the Courses, totalCredits of the Students) maintained by the import
+ */
+@SpringBootTest
+class EnrollmentImportServiceTest {
+
+    private static final String HEADER = "courseCode,studentId\n";
+
+    private static final double CREDIT_SCORE = 6;
+    private static final double OTHER_CREDIT_SCORE = 4;
+
+    @Autowired
+    private EnrollmentImportService enrollmentImportService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long instructorId;
+
+    @BeforeEach
+    void createInstructor() {
+        instructorId = instructorService.savePermanentInstructor(
+                new PermanentInstructorDTO(0, "Koray", "Guney", "8 Hazine Street", "EI" + System.nanoTime(), 6000)).getId();
+    }
+
+    @Test
+    void courseCapacityIsCheckedAcrossRowsOfOneFile() throws IOException {
+        List<Long> enrolledIds = createStudents(MAX_STUDENTS_PER_COURSE - 2);
+        CourseDTO course = createCourse(CREDIT_SCORE, enrolledIds);
+        List<Long> newIds = createStudents(4);
+
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (long studentId : newIds) {
+            csv.append(course.getCourseCode()).append(',').append(studentId).append('\n');
+        }
+        ImportReportDTO report = importCsv(csv.toString());
+
+        assertReport(report, 4, 2);
+        assertEquals(Arrays.asList(
+                new ImportRowErrorDTO(4, "Course can maximum have 20 students!"),
+                new ImportRowErrorDTO(5, "Course can maximum have 20 students!")), report.getErrors());
+
+        assertEquals(MAX_STUDENTS_PER_COURSE, courseRepository.countCourseStudents(course.getId()));
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(newIds.get(0), CREDIT_SCORE);
+        assertTotalCredits(newIds.get(1), CREDIT_SCORE);
+        assertTotalCredits(newIds.get(2), 0);
+        assertTotalCredits(newIds.get(3), 0);
+    }
+
+    @Test
+    void fullCourseRejectsAllRows() throws IOException {
+        CourseDTO course = createCourse(CREDIT_SCORE, createStudents(MAX_STUDENTS_PER_COURSE));
+        long studentId = createStudents(1).get(0);
+
+        ImportReportDTO report = importCsv(HEADER + course.getCourseCode() + "," + studentId + "\n");
+
+        assertReport(report, 1, 0);
+        assertEquals("Course can maximum have 20 students!", report.getErrors().get(0).getMessage());
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(studentId, 0);
+    }
+
+    @Test
+    void duplicateRowsAreImportedOnce() throws IOException {
+        CourseDTO course = createCourse(CREDIT_SCORE, new ArrayList<>());
+        long studentId = createStudents(1).get(0);
+
+        String row = course.getCourseCode() + "," + studentId + "\n";
+        ImportReportDTO report = importCsv(HEADER + row + row + row);
+
+        assertReport(report, 3, 1);
+        String message = "Student with id: " + studentId + " is already enrolled in course " + course.getCourseCode() + "!";
+        assertEquals(Arrays.asList(new ImportRowErrorDTO(3, message), new ImportRowErrorDTO(4, message)), report.getErrors());
+
+        assertEquals(1, courseRepository.countCourseStudents(course.getId()));
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(studentId, CREDIT_SCORE);
+    }
+
+    @Test
+    void existingEnrollmentsAreNotImportedAgain() throws IOException {
+        List<Long> studentIds = createStudents(2);
+        CourseDTO course = createCourse(CREDIT_SCORE, Collections.singletonList(studentIds.get(0)));
+
+        ImportReportDTO report = importCsv(HEADER +
+                course.getCourseCode() + "," + studentIds.get(0) + "\n" +
+                course.getCourseCode() + "," + studentIds.get(1) + "\n");
+
+        assertReport(report, 2, 1);
+        assertEquals(Collections.singletonList(new ImportRowErrorDTO(2,
+                "Student with id: " + studentIds.get(0) + " is already enrolled in course " + course.getCourseCode() + "!")), report.getErrors());
+
+        assertEquals(2, courseRepository.countCourseStudents(course.getId()));
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(studentIds.get(0), CREDIT_SCORE);
+        assertTotalCredits(studentIds.get(1), CREDIT_SCORE);
+    }
+
+    @Test
+    void unknownCoursesAndStudentsAreReported() throws IOException {
+        CourseDTO course = createCourse(CREDIT_SCORE, new ArrayList<>());
+        long studentId = createStudents(1).get(0);
+        long unknownStudentId = studentId + 1_000_000;
+        String unknownCourseCode = "NONE" + System.nanoTime();
+
+        ImportReportDTO report = importCsv(HEADER +
+                unknownCourseCode + "," + studentId + "\n" +
+                course.getCourseCode() + "," + unknownStudentId + "\n" +
+                course.getCourseCode() + ",abc\n" +
+                "," + studentId + "\n" +
+                course.getCourseCode() + "\n" +
+                course.getCourseCode() + "," + studentId + "\n");
+
+        assertReport(report, 6, 1);
+        assertEquals(Arrays.asList(
+                new ImportRowErrorDTO(4, "student id must be a number!"),
+                new ImportRowErrorDTO(5, "course code is required!"),
+                new ImportRowErrorDTO(6, "student id must be a number!"),
+                new ImportRowErrorDTO(2, "Course with code: " + unknownCourseCode + " can not be found!"),
+                new ImportRowErrorDTO(3, "Student with id: " + unknownStudentId + " can not be found!")), report.getErrors());
+
+        assertEquals(1, courseRepository.countCourseStudents(course.getId()));
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(studentId, CREDIT_SCORE);
+    }
+
+    @Test
+    void countersMatchEnrollmentsOfSeveralCourses() throws IOException {
+        List<Long> studentIds = createStudents(3);
+        CourseDTO course = createCourse(CREDIT_SCORE, Collections.singletonList(studentIds.get(0)));
+        CourseDTO otherCourse = createCourse(OTHER_CREDIT_SCORE, new ArrayList<>());
+
+        ImportReportDTO report = importCsv("studentId,courseCode\n" +
+                studentIds.get(1) + "," + course.getCourseCode() + "\n" +
+                studentIds.get(0) + "," + otherCourse.getCourseCode() + "\n" +
+                studentIds.get(1) + "," + otherCourse.getCourseCode() + "\n" +
+                studentIds.get(2) + "," + otherCourse.getCourseCode() + "\n");
+
+        assertReport(report, 4, 4);
+        assertEquals(2, courseRepository.findEnrollmentCountById(course.getId()));
+        assertEquals(3, courseRepository.findEnrollmentCountById(otherCourse.getId()));
+        assertCountersConsistent(course.getId());
+        assertCountersConsistent(otherCourse.getId());
+
+        assertTotalCredits(studentIds.get(0), CREDIT_SCORE + OTHER_CREDIT_SCORE);
+        assertTotalCredits(studentIds.get(1), CREDIT_SCORE + OTHER_CREDIT_SCORE);
+        assertTotalCredits(studentIds.get(2), OTHER_CREDIT_SCORE);
+
+        // the course endpoints read the maintained counter
+        assertEquals(2, courseService.findCourseById(course.getId()).getEnrollmentCount());
+        assertEquals(CREDIT_SCORE + OTHER_CREDIT_SCORE, studentService.findStudentById(studentIds.get(0)).getTotalCredits());
+    }
+
+    @Test
+    void failedChunkReportsAcceptedRowsAsNotSaved() throws IOException {
+        CourseDTO course = createCourse(CREDIT_SCORE, new ArrayList<>());
+        List<Long> studentIds = createStudents(2);
+        long unknownStudentId = studentIds.get(1) + 1_000_000;
+
+        // totalCredits of the second Student can not be raised, so the counter update fails and the chunk is rolled back
+        String constraint = "CREDIT_LIMIT_" + studentIds.get(1);
+        jdbcTemplate.execute("ALTER TABLE student ADD CONSTRAINT " + constraint +
+                " CHECK (id <> " + studentIds.get(1) + " OR total_credits < 1)");
+        ImportReportDTO report;
+        try {
+            report = importCsv(HEADER +
+                    course.getCourseCode() + "," + studentIds.get(0) + "\n" +
+                    course.getCourseCode() + "," + unknownStudentId + "\n" +
+                    course.getCourseCode() + "," + studentIds.get(1) + "\n");
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE student DROP CONSTRAINT " + constraint);
+        }
+
+        assertReport(report, 3, 0);
+        assertEquals(Arrays.asList(
+                new ImportRowErrorDTO(2, "Enrollment was not saved, its chunk failed on database!"),
+                new ImportRowErrorDTO(3, "Student with id: " + unknownStudentId + " can not be found!"),
+                new ImportRowErrorDTO(4, "Enrollment was not saved, its chunk failed on database!")), report.getErrors());
+
+        assertEquals(0, courseRepository.countCourseStudents(course.getId()));
+        assertCountersConsistent(course.getId());
+        assertTotalCredits(studentIds.get(0), 0);
+        assertTotalCredits(studentIds.get(1), 0);
+    }
+
+    @Test
+    void missingColumnRejectsFile() {
+        assertThrows(ImportFileNotValidException.class, () -> importCsv("courseCode,student\nCSE101,1\n"));
+    }
+
+    private ImportReportDTO importCsv(String content) throws IOException {
+        return enrollmentImportService.importEnrollments(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private CourseDTO createCourse(double creditScore, List<Long> studentIds) {
+        return courseService.saveCourse(new CourseDTO(0, "Imported Course", "EI" + System.nanoTime(), creditScore, instructorId,
+                new ArrayList<>(studentIds), 0));
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(studentService.saveStudent(
+                    new StudentDTO(0, "Student" + i, "Import", "2 Kiptas Street", LocalDate.of(1995, 7, 26), Gender.MALE, 0)).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * enrollmentCount of the Course and totalCredits of its Students must match the student_course rows
+     */
+    private void assertCountersConsistent(long courseId) {
+        assertEquals(courseRepository.countCourseStudents(courseId), courseRepository.findEnrollmentCountById(courseId), "enrollmentCount");
+        assertEquals(0, (int) jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student s " +
+                "WHERE s.id IN (SELECT sc.student_id FROM student_course sc WHERE sc.course_id = ?) " +
+                "AND ABS(s.total_credits - (SELECT COALESCE(SUM(c.credit_score), 0) FROM student_course sc JOIN course c ON c.id = sc.course_id " +
+                "WHERE sc.student_id = s.id)) > 0.001", Integer.class, courseId), "students with drifted totalCredits");
+    }
+
+    private void assertTotalCredits(long studentId, double expected) {
+        assertEquals(expected, jdbcTemplate.queryForObject("SELECT total_credits FROM student WHERE id = ?", Double.class, studentId), 0.001);
+    }
+
+    private static void assertReport(ImportReportDTO report, long processed, long imported) {
+        assertEquals(processed, report.getProcessedRows(), "processed");
+        assertEquals(imported, report.getImportedRows(), "imported");
+        assertEquals(processed - imported, report.getFailedRows(), "failed");
+    }
+}
@@ -0,0 +1,284 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.CourseDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.PermanentInstructorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.StudentDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.enumeration.Gender;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.EnrollmentQueueFullException;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.CourseRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.EnrollmentJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.ENROLLED;
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.PENDING;
+import static dev.patika.quixotic95.schoolmanagementsystem.dto.EnrollmentTicketDTO.Status.REJECTED;
+import static dev.patika.quixotic95.schoolmanagementsystem.service.CourseService.MAX_STUDENTS_PER_COURSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * enrolls Students in surge mode: POST /courses/{courseId}/students/{studentId} returns 202 with a ticket,
+ * the ticket is polled until a worker has applied the request, then the student_course rows and the counters are checked
+ * the queue capacity, the ticket cleanup and the shutdown are checked on own EnrollmentQueueService instances
+ * the context runs on its own in-memory database, the surge mode workers don't touch the database of the other tests
+ */
+@SpringBootTest(properties = {
+        "enrollment.surge-mode=true",
+        "spring.datasource.url=jdbc:h2:mem:enrollmentqueue;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"})
+@AutoConfigureMockMvc
+class EnrollmentQueueServiceTest {
+
+    private static final double CREDIT_SCORE = 6;
+
+    // upper limit for a ticket to be finished by a worker
+    private static final long TICKET_TIMEOUT_MILLIS = 10000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentJdbcRepository enrollmentJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long instructorId;
+
+    @BeforeEach
+    void createInstructor() {
+        instructorId = instructorService.savePermanentInstructor(
+                new PermanentInstructorDTO(0, "Koray", "Guney", "8 Hazine Street", "EQ" + System.nanoTime(), 6000)).getId();
+    }
+
+    @Test
+    void queuedEnrollmentsAreAppliedUpToCourseCapacity() throws Exception {
+        List<Long> enrolledIds = createStudents(MAX_STUDENTS_PER_COURSE - 2);
+        CourseDTO course = createCourse(enrolledIds);
+        List<Long> newIds = createStudents(4);
+        long unknownStudentId = newIds.get(3) + 1_000_000;
+
+        // one Course, so all requests are applied by the same worker in this order
+        List<String> locations = new ArrayList<>();
+        locations.add(enroll(course.getId(), newIds.get(0)));
+        locations.add(enroll(course.getId(), enrolledIds.get(0)));
+        locations.add(enroll(course.getId(), unknownStudentId));
+        locations.add(enroll(course.getId(), newIds.get(1)));
+        locations.add(enroll(course.getId(), newIds.get(2)));
+        locations.add(enroll(course.getId(), newIds.get(3)));
+
+        assertTicket(awaitTicket(locations.get(0)), ENROLLED, null);
+        assertTicket(awaitTicket(locations.get(1)), REJECTED,
+                "Student with id: " + enrolledIds.get(0) + " is already enrolled in course with id: " + course.getId() + "!");
+        assertTicket(awaitTicket(locations.get(2)), REJECTED, "Student with id: " + unknownStudentId + " can not be found!");
+        assertTicket(awaitTicket(locations.get(3)), ENROLLED, null);
+        assertTicket(awaitTicket(locations.get(4)), REJECTED, "Course can maximum have 20 students!");
+        assertTicket(awaitTicket(locations.get(5)), REJECTED, "Course can maximum have 20 students!");
+
+        assertEquals(MAX_STUDENTS_PER_COURSE, courseRepository.countCourseStudents(course.getId()));
+        assertEquals(MAX_STUDENTS_PER_COURSE, courseRepository.findEnrollmentCountById(course.getId()));
+        assertTotalCredits(newIds.get(0), CREDIT_SCORE);
+        assertTotalCredits(newIds.get(1), CREDIT_SCORE);
+        assertTotalCredits(newIds.get(2), 0);
+        assertTotalCredits(enrolledIds.get(0), CREDIT_SCORE);
+    }
+
+    @Test
+    void unknownCourseIsRejected() throws Exception {
+        long studentId = createStudents(1).get(0);
+        long unknownCourseId = createCourse(new ArrayList<>()).getId() + 1_000_000;
+
+        assertTicket(awaitTicket(enroll(unknownCourseId, studentId)), REJECTED,
+                "Course with id: " + unknownCourseId + " can not be found!");
+        assertTotalCredits(studentId, 0);
+    }
+
+    @Test
+    void unknownTicketIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/courses/enrollments/tickets/unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void fullQueueRejectsNewRequests() {
+        // workers are not started, so the queue keeps its requests
+        EnrollmentQueueService queue = newQueue(1, 0, 0);
+        long courseId = createCourse(new ArrayList<>()).getId();
+        List<Long> studentIds = createStudents(2);
+
+        EnrollmentTicketDTO ticket = queue.submit(courseId, studentIds.get(0));
+        assertEquals(PENDING, ticket.getStatus());
+
+        assertThrows(EnrollmentQueueFullException.class, () -> queue.submit(courseId, studentIds.get(1)));
+    }
+
+    @Test
+    void stoppedQueueAppliesQueuedRequests() throws Exception {
+        EnrollmentQueueService queue = newQueue(100, 0, 10000);
+        CourseDTO course = createCourse(new ArrayList<>());
+        List<Long> studentIds = createStudents(5);
+
+        List<String> ticketIds = new ArrayList<>();
+        for (long studentId : studentIds) {
+            ticketIds.add(queue.submit(course.getId(), studentId).getTicketId());
+        }
+        queue.startWorkers();
+        queue.stopWorkers();
+
+        for (String ticketId : ticketIds) {
+            assertEquals(ENROLLED, queue.findTicketById(ticketId).getStatus());
+        }
+        assertEquals(studentIds.size(), courseRepository.countCourseStudents(course.getId()));
+        assertEquals(studentIds.size(), courseRepository.findEnrollmentCountById(course.getId()));
+
+        assertThrows(EnrollmentQueueFullException.class, () -> queue.submit(course.getId(), studentIds.get(0)));
+    }
+
+    @Test
+    void requestsLeftOnShutdownAreRejected() throws Exception {
+        // workers are not started, so nothing is applied until the shutdown timeout is over
+        EnrollmentQueueService queue = newQueue(100, 0, 0);
+        CourseDTO course = createCourse(new ArrayList<>());
+        long studentId = createStudents(1).get(0);
+
+        String ticketId = queue.submit(course.getId(), studentId).getTicketId();
+        queue.stopWorkers();
+
+        assertTicket(queue.findTicketById(ticketId), REJECTED, "Enrollment queue was stopped before the request was applied!");
+        assertEquals(0, courseRepository.countCourseStudents(course.getId()));
+    }
+
+    @Test
+    void finishedTicketsAreRemovedAfterRetention() throws Exception {
+        EnrollmentQueueService queue = newQueue(100, 0, 10000);
+        CourseDTO course = createCourse(new ArrayList<>());
+        long studentId = createStudents(1).get(0);
+
+        String ticketId = queue.submit(course.getId(), studentId).getTicketId();
+        String rejectedTicketId = queue.submit(course.getId() + 1_000_000, studentId).getTicketId();
+
+        // pending tickets are kept
+        queue.removeFinishedTickets();
+        assertEquals(PENDING, queue.findTicketById(ticketId).getStatus());
+
+        queue.startWorkers();
+        queue.stopWorkers();
+        assertEquals(ENROLLED, queue.findTicketById(ticketId).getStatus());
+        assertEquals(REJECTED, queue.findTicketById(rejectedTicketId).getStatus());
+
+        // retention is 0 minutes, so every ticket finished before now is removed
+        Thread.sleep(5);
+        queue.removeFinishedTickets();
+        assertThrows(EntityNotFoundException.class, () -> queue.findTicketById(ticketId));
+        assertThrows(EntityNotFoundException.class, () -> queue.findTicketById(rejectedTicketId));
+    }
+
+    /**
+     * sends the enrollment request, checks the 202 response and its ticket
+     *
+     * @return String - Location of the ticket
+     */
+    private String enroll(long courseId, long studentId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/courses/" + courseId + "/students/" + studentId))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        EnrollmentTicketDTO ticket = objectMapper.readValue(result.getResponse().getContentAsString(), EnrollmentTicketDTO.class);
+        assertEquals(courseId, ticket.getCourseId());
+        assertEquals(studentId, ticket.getStudentId());
+        assertNotNull(ticket.getTicketId());
+
+        String location = result.getResponse().getHeader("Location");
+        assertEquals("/api/courses/enrollments/tickets/" + ticket.getTicketId(), location);
+        return location;
+    }
+
+    /**
+     * polls the ticket at given Location until it is finished
+     */
+    private EnrollmentTicketDTO awaitTicket(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + TICKET_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            String json = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            EnrollmentTicketDTO ticket = objectMapper.readValue(json, EnrollmentTicketDTO.class);
+            if (ticket.getStatus() != PENDING) {
+                return ticket;
+            }
+            Thread.sleep(10);
+        }
+        return fail("ticket at " + location + " is still pending");
+    }
+
+    /**
+     * EnrollmentQueueService with one partition, its workers are started by the test
+     */
+    private EnrollmentQueueService newQueue(int queueCapacity, long ticketRetentionMinutes, long shutdownTimeoutMillis) {
+        return new EnrollmentQueueService(courseRepository, studentRepository, enrollmentJdbcRepository, transactionTemplate,
+                true, 1, queueCapacity, 200, ticketRetentionMinutes, shutdownTimeoutMillis);
+    }
+
+    private CourseDTO createCourse(List<Long> studentIds) {
+        return courseService.saveCourse(new CourseDTO(0, "Queued Course", "EQ" + System.nanoTime(), CREDIT_SCORE, instructorId,
+                new ArrayList<>(studentIds), 0));
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(studentService.saveStudent(
+                    new StudentDTO(0, "Student" + i, "Queue", "2 Kiptas Street", LocalDate.of(1995, 7, 26), Gender.MALE, 0)).getId());
+        }
+        return ids;
+    }
+
+    private void assertTotalCredits(long studentId, double expected) {
+        assertEquals(expected, jdbcTemplate.queryForObject("SELECT total_credits FROM student WHERE id = ?", Double.class, studentId), 0.001);
+    }
+
+    private static void assertTicket(EnrollmentTicketDTO ticket, EnrollmentTicketDTO.Status status, String message) {
+        assertEquals(status, ticket.getStatus(), ticket.getMessage());
+        assertEquals(message, ticket.getMessage());
+    }
+}
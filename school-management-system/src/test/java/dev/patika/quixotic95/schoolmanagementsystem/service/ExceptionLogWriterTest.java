@@ -0,0 +1,169 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ExceptionLogWriterStatsDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.entity.ExceptionLogger;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.ExceptionLoggerJdbcRepository;
+import dev.patika.quixotic95.schoolmanagementsystem.repository.IdAllocationJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * checks the overflow policies, the batches and the drain on shutdown of ExceptionLogWriter without a database:
+ * ids come from a counter and the inserted batches are recorded
+ */
+class ExceptionLogWriterTest {
+
+    private final IdAllocationJdbcRepository idAllocationJdbcRepository = mock(IdAllocationJdbcRepository.class);
+    private final ExceptionLoggerJdbcRepository exceptionLoggerJdbcRepository = mock(ExceptionLoggerJdbcRepository.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    private final List<List<ExceptionLogger>> insertedBatches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void recordInserts() {
+        AtomicLong lastId = new AtomicLong();
+        when(idAllocationJdbcRepository.allocate(eq("exception_logger"), anyInt()))
+                .thenAnswer(invocation -> lastId.getAndAdd(invocation.<Integer>getArgument(1)) + 1);
+        doAnswer(invocation -> insertedBatches.add(new ArrayList<>((List<ExceptionLogger>) invocation.getArgument(0))))
+                .when(exceptionLoggerJdbcRepository).insertAll(anyList());
+    }
+
+    @Test
+    void dropOldestKeepsNewestEvents() {
+        ExceptionLogWriter writer = writer("drop-oldest", 3, 100, 60000, 0, 1);
+
+        submit(writer, 5);
+        writer.flush();
+
+        assertEquals(Arrays.asList("3", "4", "5"), insertedMessages());
+        assertStats(writer.getStats(), 5, 3, 2, 0);
+    }
+
+    @Test
+    void sampleKeepsEveryNthEventOnceHalfFull() {
+        ExceptionLogWriter writer = writer("sample", 10, 100, 60000, 0, 2);
+
+        submit(writer, 20);
+        writer.flush();
+
+        // 1-5 fill the buffer to half, then every second event is taken until it is full
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6", "8", "10", "12", "14"), insertedMessages());
+        assertStats(writer.getStats(), 20, 10, 10, 0);
+    }
+
+    @Test
+    void blockDropsAfterTimeoutWithoutWriter() {
+        ExceptionLogWriter writer = writer("block", 1, 100, 60000, 10, 1);
+
+        submit(writer, 2);
+        writer.flush();
+
+        assertEquals(Arrays.asList("1"), insertedMessages());
+        assertStats(writer.getStats(), 2, 1, 1, 0);
+    }
+
+    @Test
+    void blockWaitsForWriter() throws InterruptedException {
+        ExceptionLogWriter writer = writer("block", 2, 2, 60000, 10000, 1);
+        writer.startWriter();
+
+        // the flush interval is never reached, the writer is woken up by the full buffer
+        submit(writer, 10);
+        writer.stopWriter();
+
+        assertEquals(10, insertedMessages().size());
+        assertStats(writer.getStats(), 10, 10, 0, 0);
+    }
+
+    @Test
+    void stopWriterDrainsBuffer() throws InterruptedException {
+        ExceptionLogWriter writer = writer("drop-oldest", 1000, 100, 60000, 0, 1);
+        writer.startWriter();
+
+        // less than a batch, so the writer is still waiting for the flush interval when it is stopped
+        submit(writer, 99);
+        writer.stopWriter();
+
+        assertEquals(99, insertedMessages().size());
+        assertStats(writer.getStats(), 99, 99, 0, 0);
+    }
+
+    @Test
+    void bufferIsWrittenInBatches() {
+        ExceptionLogWriter writer = writer("drop-oldest", 1000, 100, 60000, 0, 1);
+
+        submit(writer, 250);
+        writer.flush();
+
+        List<Integer> batchSizes = new ArrayList<>();
+        HashSet<Long> ids = new HashSet<>();
+        for (List<ExceptionLogger> batch : insertedBatches) {
+            batchSizes.add(batch.size());
+            batch.forEach(exceptionLogger -> ids.add(exceptionLogger.getId()));
+        }
+        assertEquals(Arrays.asList(100, 100, 50), batchSizes);
+        assertEquals(250, ids.size());
+        assertStats(writer.getStats(), 250, 250, 0, 0);
+    }
+
+    @Test
+    void failedBatchIsCounted() {
+        doThrow(new DataAccessResourceFailureException("database is down")).when(exceptionLoggerJdbcRepository).insertAll(anyList());
+        ExceptionLogWriter writer = writer("drop-oldest", 10, 100, 60000, 0, 1);
+
+        submit(writer, 3);
+        writer.flush();
+
+        assertStats(writer.getStats(), 3, 0, 0, 3);
+        assertEquals(0, writer.getStats().getBuffered());
+    }
+
+    private ExceptionLogWriter writer(String policy, int capacity, int batchSize, long flushIntervalMillis,
+                                      long blockTimeoutMillis, int sampleRate) {
+        return new ExceptionLogWriter(idAllocationJdbcRepository, exceptionLoggerJdbcRepository, transactionTemplate,
+                policy, capacity, batchSize, flushIntervalMillis, blockTimeoutMillis, sampleRate, 10000);
+    }
+
+    // the messages are the numbers 1 to count in submission order
+    private void submit(ExceptionLogWriter writer, int count) {
+        for (int i = 1; i <= count; i++) {
+            writer.submit(new ExceptionLogger(String.valueOf(i), HttpStatus.NOT_FOUND));
+        }
+    }
+
+    private List<String> insertedMessages() {
+        List<String> messages = new ArrayList<>();
+        for (List<ExceptionLogger> batch : insertedBatches) {
+            batch.forEach(exceptionLogger -> messages.add(exceptionLogger.getMessage()));
+        }
+        return messages;
+    }
+
+    private void assertStats(ExceptionLogWriterStatsDTO stats, long submitted, long flushed, long dropped, long failed) {
+        assertEquals(submitted, stats.getSubmitted(), "submitted");
+        assertEquals(flushed, stats.getFlushed(), "flushed");
+        assertEquals(dropped, stats.getDropped(), "dropped");
+        assertEquals(failed, stats.getFailed(), "failed");
+    }
+}
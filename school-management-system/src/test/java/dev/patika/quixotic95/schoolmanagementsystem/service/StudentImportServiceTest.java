@@ -0,0 +1,174 @@
+package dev.patika.quixotic95.schoolmanagementsystem.service;
+
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportReportDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.dto.ImportRowErrorDTO;
+import dev.patika.quixotic95.schoolmanagementsystem.exception.ImportFileNotValidException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * imports CSV files with StudentImportService and checks the report against the rows in the database
+ * every test marks its Students with an own last name, so rows of other tests do not count
+ */
+@SpringBootTest
+class StudentImportServiceTest {
+
+    // rows of one chunk, see StudentImportService
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String HEADER = "firstName,lastName,address,birthDate,gender\n";
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String lastName;
+
+    @BeforeEach
+    void createLastName() {
+        lastName = "Import" + System.nanoTime();
+    }
+
+    @Test
+    void quotedFieldsAreImported() throws IOException {
+        ImportReportDTO report = importCsv(HEADER +
+                "\"Ahmet, Emre\"," + lastName + ",\"2 \"\"Kiptas\"\" Street, Istanbul\"," + birthDate(21) + ",MALE\n" +
+                "Ayse," + lastName + ",8 Hazine Street," + birthDate(30) + ",female\n");
+
+        assertReport(report, 2, 2);
+        Map<String, Object> student = jdbcTemplate.queryForMap(
+                "SELECT first_name, address, gender, total_credits FROM student WHERE last_name = ? AND first_name LIKE 'Ahmet%'", lastName);
+        assertEquals("Ahmet, Emre", student.get("FIRST_NAME"));
+        assertEquals("2 \"Kiptas\" Street, Istanbul", student.get("ADDRESS"));
+        assertEquals("MALE", student.get("GENDER"));
+        assertEquals(0.0, ((Number) student.get("TOTAL_CREDITS")).doubleValue());
+        assertEquals(2, countStudents());
+    }
+
+    @Test
+    void reorderedAndExtraColumnsAreImported() throws IOException {
+        ImportReportDTO report = importCsv("gender,birthDate,note,address,lastName,firstName\n" +
+                "OTHER," + birthDate(25) + ",ignored,2 Kiptas Street," + lastName + ",Deniz\n");
+
+        assertReport(report, 1, 1);
+        Map<String, Object> student = jdbcTemplate.queryForMap(
+                "SELECT first_name, address, birth_date, gender FROM student WHERE last_name = ?", lastName);
+        assertEquals("Deniz", student.get("FIRST_NAME"));
+        assertEquals("2 Kiptas Street", student.get("ADDRESS"));
+        assertEquals(birthDate(25), student.get("BIRTH_DATE").toString());
+        assertEquals("OTHER", student.get("GENDER"));
+    }
+
+    @Test
+    void missingColumnRejectsFile() {
+        ImportFileNotValidException exc = assertThrows(ImportFileNotValidException.class, () -> importCsv(
+                "firstName,lastName,birthDate,gender\n" +
+                        "Ahmet," + lastName + "," + birthDate(21) + ",MALE\n"));
+
+        assertTrue(exc.getMessage().startsWith("CSV header must have the columns"));
+        assertEquals(0, countStudents());
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        assertThrows(ImportFileNotValidException.class, () -> importCsv(""));
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLines() throws IOException {
+        ImportReportDTO report = importCsv(HEADER +
+                "Valid," + lastName + ",2 Kiptas Street," + birthDate(18) + ",MALE\n" +
+                "Young," + lastName + ",2 Kiptas Street," + LocalDate.now().minusYears(18).plusDays(1) + ",MALE\n" +
+                "Old," + lastName + ",2 Kiptas Street," + birthDate(41) + ",FEMALE\n" +
+                "Gender," + lastName + ",2 Kiptas Street," + birthDate(21) + ",UNKNOWN\n" +
+                "\n" +
+                "Date," + lastName + ",2 Kiptas Street,26.07.1995,MALE\n" +
+                "," + lastName + ",2 Kiptas Street," + birthDate(21) + ",MALE\n" +
+                "NoAddress," + lastName + ",  ," + birthDate(21) + ",MALE\n" +
+                "Oldest," + lastName + ",2 Kiptas Street," + birthDate(40) + ",OTHER\n");
+
+        assertReport(report, 8, 2);
+        assertEquals(Arrays.asList(
+                new ImportRowErrorDTO(3, "Student age must be between 18 and 40!"),
+                new ImportRowErrorDTO(4, "Student age must be between 18 and 40!"),
+                new ImportRowErrorDTO(5, "gender must be MALE, FEMALE or OTHER!"),
+                new ImportRowErrorDTO(7, "birth date must be formatted as YYYY-MM-DD!"),
+                new ImportRowErrorDTO(8, "first name is required!"),
+                new ImportRowErrorDTO(9, "address is required!")), report.getErrors());
+        assertEquals(Arrays.asList("Oldest", "Valid"), jdbcTemplate.queryForList(
+                "SELECT first_name FROM student WHERE last_name = ? ORDER BY first_name", String.class, lastName));
+    }
+
+    @Test
+    void failedChunkDoesNotRollBackCommittedChunks() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            csv.append("First").append(i).append(',').append(lastName).append(",2 Kiptas Street,").append(birthDate(21)).append(",MALE\n");
+        }
+        // the address is valid for StudentDTO but too long for the address column, so the insert of the second chunk fails
+        csv.append("TooLong,").append(lastName).append(',').append(repeat('x', 300)).append(',').append(birthDate(21)).append(",MALE\n");
+        csv.append("Second,").append(lastName).append(",2 Kiptas Street,").append(birthDate(21)).append(",FEMALE\n");
+        csv.append("Invalid,").append(lastName).append(",2 Kiptas Street,").append(birthDate(21)).append(",NONE\n");
+
+        ImportReportDTO report = importCsv(csv.toString());
+
+        assertEquals(CHUNK_SIZE + 3, report.getProcessedRows());
+        assertEquals(CHUNK_SIZE, report.getImportedRows());
+        assertEquals(3, report.getFailedRows());
+
+        // the invalid row is reported while reading, the rows of the failed chunk when the last chunk is inserted
+        List<Long> lines = new ArrayList<>();
+        for (ImportRowErrorDTO error : report.getErrors()) {
+            lines.add(error.getLine());
+        }
+        assertEquals(Arrays.asList(CHUNK_SIZE + 4L, CHUNK_SIZE + 2L, CHUNK_SIZE + 3L), lines);
+        assertEquals("gender must be MALE, FEMALE or OTHER!", report.getErrors().get(0).getMessage());
+        assertTrue(report.getErrors().get(1).getMessage().startsWith("Student could not be saved: "));
+
+        assertEquals(CHUNK_SIZE, countStudents());
+        assertEquals(0, (int) jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student WHERE last_name = ? AND first_name IN ('TooLong', 'Second')", Integer.class, lastName));
+    }
+
+    private ImportReportDTO importCsv(String content) throws IOException {
+        return studentImportService.importStudents(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private int countStudents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student WHERE last_name = ?", Integer.class, lastName);
+    }
+
+    private static void assertReport(ImportReportDTO report, long processed, long imported) {
+        assertEquals(processed, report.getProcessedRows(), "processed");
+        assertEquals(imported, report.getImportedRows(), "imported");
+        assertEquals(processed - imported, report.getFailedRows(), "failed");
+    }
+
+    private static String birthDate(int age) {
+        return LocalDate.now().minusYears(age).toString();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,97 @@
+package dev.patika.quixotic95.schoolmanagementsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * checks the field splitting, the header lookup and the line numbers of CsvReader
+ */
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() throws IOException {
+        try (CsvReader csv = reader("name,address\n" +
+                "\"Oguz, Ahmet\",\"2 \"\"Kiptas\"\" Street\"\n" +
+                "\"\",plain\n")) {
+
+            List<String> row = csv.next();
+            assertEquals(Arrays.asList("Oguz, Ahmet", "2 \"Kiptas\" Street"), row);
+            assertEquals("Oguz, Ahmet", csv.get(row, "name"));
+            assertEquals("2 \"Kiptas\" Street", csv.get(row, "address"));
+
+            assertEquals(Arrays.asList("", "plain"), csv.next());
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void emptyFieldsAreKept() throws IOException {
+        try (CsvReader csv = reader("a,b,c\n,,\nx,,z\n")) {
+            assertEquals(Arrays.asList("", "", ""), csv.next());
+            assertEquals(Arrays.asList("x", "", "z"), csv.next());
+        }
+    }
+
+    @Test
+    void columnsAreFoundByHeaderName() throws IOException {
+        try (CsvReader csv = reader(" gender , birthDate,firstName\nMALE,1995-07-26, Ahmet \n")) {
+
+            assertTrue(csv.hasColumn("firstName"));
+            assertTrue(csv.hasColumn("gender"));
+            assertFalse(csv.hasColumn("lastName"));
+
+            List<String> row = csv.next();
+            assertEquals("Ahmet", csv.get(row, "firstName"));
+            assertEquals("1995-07-26", csv.get(row, "birthDate"));
+            assertEquals("MALE", csv.get(row, "gender"));
+        }
+    }
+
+    @Test
+    void shortRowHasNullForMissingColumns() throws IOException {
+        try (CsvReader csv = reader("firstName,lastName,address\nAhmet\n")) {
+            List<String> row = csv.next();
+            assertEquals("Ahmet", csv.get(row, "firstName"));
+            assertNull(csv.get(row, "lastName"));
+            assertNull(csv.get(row, "address"));
+        }
+    }
+
+    @Test
+    void emptyLinesAreSkippedAndCounted() throws IOException {
+        try (CsvReader csv = reader("a\n\nfirst\n   \n\r\nsecond\n")) {
+            assertEquals(1, csv.getLineNumber());
+
+            assertEquals(Collections.singletonList("first"), csv.next());
+            assertEquals(3, csv.getLineNumber());
+
+            assertEquals(Collections.singletonList("second"), csv.next());
+            assertEquals(6, csv.getLineNumber());
+
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void emptyFileHasNoColumns() throws IOException {
+        try (CsvReader csv = reader("")) {
+            assertFalse(csv.hasColumn("firstName"));
+            assertNull(csv.next());
+        }
+    }
+
+    private static CsvReader reader(String content) throws IOException {
+        return new CsvReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}